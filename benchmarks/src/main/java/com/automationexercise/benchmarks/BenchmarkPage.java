@@ -0,0 +1,41 @@
+package com.automationexercise.benchmarks;
+
+import com.automationexercise.base.BasePage;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+
+/**
+ * Page object over the local storefront's search results exposing the {@link BasePage} interaction helpers.
+ */
+public class BenchmarkPage extends BasePage {
+
+    @FindBy(id = "search_product")
+    private WebElement searchInput;
+
+    @FindBy(xpath = "//h2[contains(text(),'Searched Products')]")
+    private WebElement searchedProductsHeader;
+
+    public BenchmarkPage(WebDriver driver) {
+        super(driver);
+    }
+
+    /**
+     * Clicks the search input, which focuses it without navigating.
+     */
+    public void clickSearchInput() {
+        click(searchInput);
+    }
+
+    public void typeSearch(String text) {
+        sendKeys(searchInput, text);
+    }
+
+    public String readHeader() {
+        return getText(searchedProductsHeader);
+    }
+
+    public boolean isHeaderVisible() {
+        return isElementVisible(searchedProductsHeader);
+    }
+}
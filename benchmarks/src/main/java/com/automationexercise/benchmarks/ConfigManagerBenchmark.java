@@ -0,0 +1,49 @@
+package com.automationexercise.benchmarks;
+
+import com.automationexercise.utils.ConfigManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link ConfigManager} lookups, which run on every page construction and wait.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class ConfigManagerBenchmark {
+
+    private final ConfigManager config = ConfigManager.getInstance();
+
+    @Benchmark
+    public String stringProperty() {
+        return config.getBaseUrl();
+    }
+
+    @Benchmark
+    public int intProperty() {
+        return config.getExplicitTimeout();
+    }
+
+    @Benchmark
+    public boolean booleanProperty() {
+        return config.isDriverPoolEnabled();
+    }
+
+    @Benchmark
+    public List<String> listProperty() {
+        return config.getNetworkBlockingDenyList();
+    }
+}
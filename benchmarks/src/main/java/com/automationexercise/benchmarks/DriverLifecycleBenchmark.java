@@ -0,0 +1,32 @@
+package com.automationexercise.benchmarks;
+
+import com.automationexercise.utils.DriverFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cycle time of {@link DriverFactory#createDriver} followed by {@link DriverFactory#quitDriver()},
+ * i.e. pool acquire and reset with {@code driver.pool.enabled=true}, or a full browser launch and quit otherwise.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class DriverLifecycleBenchmark {
+
+    @Benchmark
+    public WebDriver createAndQuit() {
+        WebDriver driver = DriverFactory.createDriver(Storefront.browser(), Storefront.profile());
+        DriverFactory.quitDriver();
+        return driver;
+    }
+}
@@ -0,0 +1,55 @@
+package com.automationexercise.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round-trip time of the {@link com.automationexercise.base.BasePage} interaction helpers,
+ * including their waits, against the local storefront's search results.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@State(Scope.Thread)
+public class InteractionBenchmark {
+
+    private BenchmarkPage page;
+
+    @Setup(Level.Trial)
+    public void openPage(Storefront storefront) {
+        page = new BenchmarkPage(storefront.driver);
+    }
+
+    @Benchmark
+    public void click() {
+        page.clickSearchInput();
+    }
+
+    @Benchmark
+    public void sendKeys() {
+        page.typeSearch("T-shirt");
+    }
+
+    @Benchmark
+    public String getText() {
+        return page.readHeader();
+    }
+
+    @Benchmark
+    public boolean isElementVisible() {
+        return page.isHeaderVisible();
+    }
+}
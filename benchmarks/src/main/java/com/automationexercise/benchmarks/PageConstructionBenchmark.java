@@ -0,0 +1,46 @@
+package com.automationexercise.benchmarks;
+
+import com.automationexercise.pages.CartPage;
+import com.automationexercise.pages.HomePage;
+import com.automationexercise.pages.NavigationBar;
+import com.automationexercise.pages.ProductsPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of constructing page objects: element binding plus wait engine and element cache creation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PageConstructionBenchmark {
+
+    @Benchmark
+    public HomePage homePage(Storefront storefront) {
+        return new HomePage(storefront.driver);
+    }
+
+    @Benchmark
+    public ProductsPage productsPage(Storefront storefront) {
+        return new ProductsPage(storefront.driver);
+    }
+
+    @Benchmark
+    public CartPage cartPage(Storefront storefront) {
+        return new CartPage(storefront.driver);
+    }
+
+    @Benchmark
+    public NavigationBar navigationBar(Storefront storefront) {
+        return new NavigationBar(storefront.driver);
+    }
+}
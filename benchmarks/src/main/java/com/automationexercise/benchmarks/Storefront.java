@@ -0,0 +1,56 @@
+package com.automationexercise.benchmarks;
+
+import com.automationexercise.storefront.LocalStorefront;
+import com.automationexercise.utils.BrowserProfile;
+import com.automationexercise.utils.ConfigManager;
+import com.automationexercise.utils.DriverFactory;
+import org.openqa.selenium.WebDriver;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * A headless browser session, owned by the benchmark thread, showing the search results page of the
+ * framework's {@link LocalStorefront}, started once per benchmark JVM. The browser and profile follow
+ * {@code -Dbrowser} and {@code -Dbrowser.profile} (default {@code headless-fast}), as in the test suites.
+ */
+@State(Scope.Thread)
+public class Storefront {
+    private static final String SEARCH_PAGE = "/products?search=T-shirt";
+
+    WebDriver driver;
+
+    @Setup(Level.Trial)
+    public void start() {
+        driver = DriverFactory.createDriver(browser(), profile());
+        driver.get(Server.INSTANCE.getBaseUrl() + SEARCH_PAGE);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        DriverFactory.quitDriver();
+    }
+
+    static String browser() {
+        return System.getProperty("browser", ConfigManager.getInstance().getBrowser());
+    }
+
+    static BrowserProfile profile() {
+        return BrowserProfile.fromName(System.getProperty("browser.profile", "headless-fast"));
+    }
+
+    /**
+     * Lazily started local storefront, stopped when the JVM exits.
+     */
+    private static final class Server {
+        private static final LocalStorefront INSTANCE = start();
+
+        private static LocalStorefront start() {
+            LocalStorefront storefront = new LocalStorefront(0);
+            Runtime.getRuntime().addShutdownHook(new Thread(storefront::close, "local-storefront-shutdown"));
+            return storefront;
+        }
+    }
+}
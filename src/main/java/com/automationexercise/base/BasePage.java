@@ -1,31 +1,47 @@
 package com.automationexercise.base;
 
+import com.automationexercise.utils.CommandMetrics;
 import com.automationexercise.utils.ConfigManager;
+import com.automationexercise.utils.TestEventLog;
 import org.openqa.selenium.*;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Base page class implementing Page Object Model with Page Factory
- * All page classes should extend this class
+ * All page classes should extend this class.
+ * Every wait goes through the shared {@link WaitEngine}; implicit waits are disabled.
+ * {@code @FindBy} fields are bound to {@link CachedElement}s, so each element is found once per navigation,
+ * by binders generated at compile time (see {@link PageBinder}). {@code @FindBy} fields must not be private.
+ * Each helper below marks the page object method calling it as the current page action, for the latency
+ * metrics (see {@link CommandMetrics#enterPageMethod(String)}) and as a step of the test report
+ * (see {@link TestEventLog#step(String)}), so page methods should interact through them.
  */
 public abstract class BasePage {
     protected static final Logger logger = LoggerFactory.getLogger(BasePage.class);
+    private static final StackWalker stackWalker = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    private static final Map<Class<?>, Map<String, String>> pageMethodNames = new ConcurrentHashMap<>();
     protected WebDriver driver;
-    protected WebDriverWait wait;
+    protected WaitEngine waits;
+    protected ElementCache elements;
 
     public BasePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(
-                ConfigManager.getInstance().getExplicitTimeout()));
-        PageFactory.initElements(driver, this);
+        this.waits = new WaitEngine(driver);
+        this.elements = new ElementCache(driver);
+        PageBinders.bind(this, elements);
 
         logger.debug("Initialized page: {}", this.getClass().getSimpleName());
     }
@@ -38,8 +54,9 @@ public abstract class BasePage {
      * @throws RuntimeException if the element cannot be clicked
      */
     protected void click(WebElement element) {
+        enterPageMethod();
         try {
-            WebElement clickableElement = wait.until(ExpectedConditions.elementToBeClickable(element));
+            WebElement clickableElement = waits.until("clickable", ExpectedConditions.elementToBeClickable(element));
             clickableElement.click();
             logger.debug("Clicked element: {}", element);
         } catch (TimeoutException e) {
@@ -47,6 +64,7 @@ public abstract class BasePage {
             // try JS click fallback
             try {
                 ((JavascriptExecutor) driver).executeScript("arguments[0].click();", element);
+                elements.navigated();
                 logger.debug("Clicked element via JS: {}", element);
             } catch (Exception jsEx) {
                 throw new RuntimeException("Failed to click element via JS: " + element, jsEx);
@@ -56,6 +74,7 @@ public abstract class BasePage {
             // try JS click fallback
             try {
                 ((JavascriptExecutor) driver).executeScript("arguments[0].click();", element);
+                elements.navigated();
                 logger.debug("Clicked element via JS after error: {}", element);
             } catch (Exception jsEx) {
                 throw new RuntimeException("Failed to click element via JS: " + element, jsEx);
@@ -73,8 +92,9 @@ public abstract class BasePage {
      * @throws RuntimeException if unable to send keys
      */
     protected void sendKeys(WebElement element, String text) {
+        enterPageMethod();
         try {
-            WebElement visibleElement = wait.until(ExpectedConditions.visibilityOf(element));
+            WebElement visibleElement = waits.until("visible", ExpectedConditions.visibilityOf(element));
             visibleElement.clear();
             visibleElement.sendKeys(text);
             logger.debug("Sent keys '{}' to element: {}", text, element);
@@ -95,8 +115,9 @@ public abstract class BasePage {
      * @throws RuntimeException if unable to retrieve text
      */
     protected String getText(WebElement element) {
+        enterPageMethod();
         try {
-            WebElement visibleElement = wait.until(ExpectedConditions.visibilityOf(element));
+            WebElement visibleElement = waits.until("visible", ExpectedConditions.visibilityOf(element));
             String text = visibleElement.getText();
             logger.debug("Got text '{}' from element: {}", text, element);
             return text;
@@ -116,9 +137,10 @@ public abstract class BasePage {
      * @return true if visible, false otherwise
      */
     protected boolean isElementVisible(WebElement element) {
+        enterPageMethod();
         try {
-            wait.until(ExpectedConditions.visibilityOf(element));
-            return element.isDisplayed();
+            waits.until("visible", ExpectedConditions.visibilityOf(element));
+            return true;
         } catch (TimeoutException e) {
             logger.debug("Element not visible: {}", element);
             return false;
@@ -128,6 +150,237 @@ public abstract class BasePage {
         }
     }
 
+    /**
+     * Checks if a web element becomes visible within the given timeout instead of the explicit timeout.
+     * Use for optional elements, such as dialogs that may not be shown at all.
+     *
+     * @param element the {@link WebElement} to check
+     * @param timeout how long to wait for the element
+     * @return true if visible, false otherwise
+     */
+    protected boolean isElementVisible(WebElement element, Duration timeout) {
+        enterPageMethod();
+        try {
+            waits.until("visible", ExpectedConditions.visibilityOf(element), timeout);
+            return true;
+        } catch (TimeoutException e) {
+            logger.debug("Element not visible within {}: {}", timeout, element);
+            return false;
+        } catch (Exception e) {
+            logger.debug("Error checking element visibility: {}", element);
+            return false;
+        }
+    }
+
+    /**
+     * Outcome a caller expects from a visibility check, used to decide how long the check may take.
+     */
+    protected enum Expectation {
+        /**
+         * The element is expected to show up: wait up to the full {@code visible} budget, or until
+         * a competing marker is visible.
+         */
+        VISIBLE,
+        /**
+         * The element is expected to stay absent: settle as soon as the page is loaded and either
+         * a competing marker is visible (after {@code wait.settle.grace.ms}) or the same loaded document
+         * stayed at the same URL for {@code wait.settle.stability.ms}. A navigation restarts that window,
+         * but one that has not committed yet is not seen, so checks right after a slow submit should
+         * expect {@link #VISIBLE}.
+         */
+        ABSENT
+    }
+
+    private enum Settled {
+        SHOWN, NOT_SHOWN
+    }
+
+    /**
+     * Checks if a web element is visible, taking only as long as the expected outcome requires.
+     * With {@link Expectation#ABSENT}, negative answers come back within a short settle window
+     * instead of the full timeout; an element that does appear is still reported as visible.
+     *
+     * @param element          the {@link WebElement} to check
+     * @param expectation      the outcome the caller expects
+     * @param competingMarkers elements that are only shown when {@code element} will not be,
+     *                         e.g. a success marker when checking for an error message
+     * @return true if visible, false otherwise
+     */
+    protected boolean isElementVisible(WebElement element, Expectation expectation, WebElement... competingMarkers) {
+        enterPageMethod();
+        if (expectation == Expectation.VISIBLE) {
+            return competingMarkers.length == 0
+                    ? isElementVisible(element)
+                    : isElementVisibleUnless(element, competingMarkers);
+        }
+
+        ConfigManager config = ConfigManager.getInstance();
+        long graceNanos = TimeUnit.MILLISECONDS.toNanos(config.getWaitSettleGraceMillis());
+        long stabilityNanos = TimeUnit.MILLISECONDS.toNanos(config.getWaitSettleStabilityMillis());
+        long start = System.nanoTime();
+        String[] loadedDocument = {null};
+        long[] loadedSince = {-1};
+
+        try {
+            Settled settled = waits.until("settled", d -> {
+                if (isDisplayedNow(element)) {
+                    return Settled.SHOWN;
+                }
+                long now = System.nanoTime();
+                String document = loadedDocument();
+                if (document == null) {
+                    loadedDocument[0] = null;
+                    return null;
+                }
+                if (!document.equals(loadedDocument[0])) {
+                    // a new document or URL restarts the stability window
+                    loadedDocument[0] = document;
+                    loadedSince[0] = now;
+                }
+                if (now - start >= graceNanos && isAnyDisplayedNow(competingMarkers)) {
+                    return Settled.NOT_SHOWN;
+                }
+                return now - loadedSince[0] >= stabilityNanos ? Settled.NOT_SHOWN : null;
+            });
+            logger.debug("Element {} settled as {}", element, settled);
+            return settled == Settled.SHOWN;
+        } catch (TimeoutException e) {
+            logger.debug("Element not visible and page did not settle: {}", element);
+            return false;
+        }
+    }
+
+    private boolean isElementVisibleUnless(WebElement element, WebElement... competingMarkers) {
+        try {
+            Settled settled = waits.until("visible", d -> isDisplayedNow(element) ? Settled.SHOWN
+                    : isAnyDisplayedNow(competingMarkers) ? Settled.NOT_SHOWN : null);
+            logger.debug("Element {} settled as {}", element, settled);
+            return settled == Settled.SHOWN;
+        } catch (TimeoutException e) {
+            logger.debug("Element not visible: {}", element);
+            return false;
+        }
+    }
+
+    /**
+     * Identifies the current document and URL once the document and any pending jQuery requests have
+     * finished loading; null while loading.
+     */
+    private String loadedDocument() {
+        Object document = ((JavascriptExecutor) driver).executeScript(LOADED_DOCUMENT_SCRIPT);
+        return document != null ? document.toString() : null;
+    }
+
+    private static final String LOADED_DOCUMENT_SCRIPT =
+            "if (document.readyState !== 'complete' || (window.jQuery && window.jQuery.active !== 0)) { return null; }"
+            + "if (!document.__settleId) { document.__settleId = Math.random().toString(36).slice(2); }"
+            + "return document.__settleId + ' ' + location.href;";
+
+    private static boolean isAnyDisplayedNow(WebElement... elements) {
+        for (WebElement element : elements) {
+            if (isDisplayedNow(element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isDisplayedNow(WebElement element) {
+        try {
+            return element.isDisplayed();
+        } catch (NoSuchElementException | StaleElementReferenceException e) {
+            return false;
+        }
+    }
+
+    private static final String SNAPSHOT_SCRIPT =
+            "if (document.readyState !== 'complete') { return null; }"
+            + "var cells = arguments[1];"
+            + "return Array.prototype.map.call(document.querySelectorAll(arguments[0]), function (row) {"
+            + "  var values = {};"
+            + "  Object.keys(cells).forEach(function (key) {"
+            + "    var cell = cells[key] ? row.querySelector(cells[key]) : row;"
+            + "    values[key] = cell ? cell.innerText.trim() : null;"
+            + "  });"
+            + "  return values;"
+            + "});";
+
+    /**
+     * Reads a structured model of the page in a single script round-trip once the document has loaded.
+     * For every element matching {@code rowSelector}, the visible text of each cell selector
+     * (relative to the row; an empty selector means the row itself) is extracted and mapped.
+     *
+     * @param rowSelector   CSS selector of the repeated elements, e.g. cart rows or product cards
+     * @param cellSelectors field name to CSS selector, relative to the row
+     * @param mapper        converts one row's extracted texts (null for missing cells) into a typed model
+     * @return the mapped rows in document order; empty if no row matches
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> List<T> snapshot(String rowSelector, Map<String, String> cellSelectors,
+                                   Function<Map<String, String>, T> mapper) {
+        enterPageMethod();
+        List<Map<String, String>> rows = waits.until("snapshot", d -> (List<Map<String, String>>)
+                ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT, rowSelector, cellSelectors));
+        logger.debug("Snapshot of '{}' returned {} rows", rowSelector, rows.size());
+        return rows.stream().map(mapper).collect(Collectors.toList());
+    }
+
+    private static final String FILL_FORM_SCRIPT =
+            "if (document.readyState !== 'complete') { return null; }"
+            + "var values = arguments[0], problems = [];"
+            + "function fire(el, type) { el.dispatchEvent(new Event(type, { bubbles: true })); }"
+            + "Object.keys(values).forEach(function (selector) {"
+            + "  var el = document.querySelector(selector), value = values[selector];"
+            + "  if (!el) { problems.push('no element ' + selector); return; }"
+            + "  if (el.tagName === 'SELECT') {"
+            + "    var option = Array.prototype.find.call(el.options, function (o) { return o.value === value; })"
+            + "      || Array.prototype.find.call(el.options, function (o) { return o.text.trim() === value; });"
+            + "    if (!option) { problems.push('no option \"' + value + '\" in ' + selector); return; }"
+            + "    el.value = option.value; fire(el, 'input'); fire(el, 'change');"
+            + "  } else if (el.type === 'checkbox' || el.type === 'radio') {"
+            + "    if (el.checked !== (value === 'true')) { el.click(); }"
+            + "  } else {"
+            + "    el.focus();"
+            + "    Object.getOwnPropertyDescriptor(Object.getPrototypeOf(el), 'value').set.call(el, value);"
+            + "    fire(el, 'input'); fire(el, 'change'); el.blur();"
+            + "  }"
+            + "});"
+            + "return problems;";
+
+    /**
+     * Fills many form fields in a single script dispatch, firing the input/change events the
+     * site's validation listens to. Text inputs get their value set, selects get the option whose
+     * value or visible text matches, checkboxes and radios are clicked into the {@code "true"}/{@code "false"}
+     * state. Fields listed in {@code keystrokeFields} are typed with real keystrokes afterwards instead.
+     * Null or blank values are skipped, like {@link #sendKeysIfPresent(WebElement, String)}.
+     *
+     * @param values          CSS selector to value, in fill order
+     * @param keystrokeFields selectors of fields that need real keystrokes
+     * @throws RuntimeException if a field or select option does not exist
+     */
+    @SuppressWarnings("unchecked")
+    protected void fillForm(Map<String, String> values, Set<String> keystrokeFields) {
+        enterPageMethod();
+        Map<String, String> scripted = new LinkedHashMap<>();
+        Map<String, String> typed = new LinkedHashMap<>();
+        values.forEach((selector, value) -> {
+            if (value != null && !value.isBlank()) {
+                (keystrokeFields.contains(selector) ? typed : scripted).put(selector, value);
+            }
+        });
+
+        if (!scripted.isEmpty()) {
+            List<String> problems = waits.until("visible", d -> (List<String>)
+                    ((JavascriptExecutor) driver).executeScript(FILL_FORM_SCRIPT, scripted));
+            if (!problems.isEmpty()) {
+                throw new RuntimeException("Failed to fill form: " + String.join(", ", problems));
+            }
+            logger.debug("Filled {} fields in one dispatch: {}", scripted.size(), scripted.keySet());
+        }
+
+        typed.forEach((selector, value) -> sendKeys(driver.findElement(By.cssSelector(selector)), value));
+    }
+
     /**
      * Sends keys to an element only if the provided value is not null or blank.
      *
@@ -135,6 +388,7 @@ public abstract class BasePage {
      * @param value   the text to send, or skipped if null/blank
      */
     protected void sendKeysIfPresent(WebElement element, String value) {
+        enterPageMethod();
         if (value != null && !value.isBlank()) {
             element.clear();
             element.sendKeys(value);
@@ -151,6 +405,7 @@ public abstract class BasePage {
      * @param value         the visible text to select, or skipped if null/blank
      */
     protected void selectByVisibleTextIfPresent(WebElement selectElement, String value) {
+        enterPageMethod();
         if (value != null && !value.isBlank()) {
             new Select(selectElement).selectByVisibleText(value);
             logger.debug("Selected '{}' from dropdown: {}", value, selectElement);
@@ -166,6 +421,7 @@ public abstract class BasePage {
      * @param value         the value attribute to select, or skipped if null/blank
      */
     protected void selectByValueIfPresent(WebElement selectElement, String value) {
+        enterPageMethod();
         if (value != null && !value.isBlank()) {
             new Select(selectElement).selectByValue(value);
             logger.debug("Selected value '{}' from dropdown: {}", value, selectElement);
@@ -175,6 +431,25 @@ public abstract class BasePage {
     }
 
 
+    /**
+     * Marks the page object method that called the current helper as the thread's page action.
+     * Only the few frames up to the caller are walked, once per helper call rather than per command.
+     */
+    private static void enterPageMethod() {
+        stackWalker.walk(frames -> frames
+                        .filter(frame -> frame.getDeclaringClass() != BasePage.class
+                                && !frame.getClassName().startsWith("java."))
+                        .findFirst())
+                .ifPresent(frame -> {
+                    String pageMethod = pageMethodNames
+                            .computeIfAbsent(frame.getDeclaringClass(), type -> new ConcurrentHashMap<>())
+                            .computeIfAbsent(frame.getMethodName(),
+                                    name -> frame.getDeclaringClass().getSimpleName() + "." + name);
+                    CommandMetrics.enterPageMethod(pageMethod);
+                    TestEventLog.getInstance().step(pageMethod);
+                });
+    }
+
     /**
      * Gets the current page URL.
      *
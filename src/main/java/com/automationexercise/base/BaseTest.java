@@ -1,46 +1,65 @@
 package com.automationexercise.base;
 
+import com.automationexercise.utils.ArtifactWriter;
+import com.automationexercise.utils.AuthSessionCache;
+import com.automationexercise.utils.BrowserProfile;
+import com.automationexercise.utils.CommandMetrics;
 import com.automationexercise.utils.ConfigManager;
 import com.automationexercise.utils.DriverFactory;
+import com.automationexercise.utils.NetworkBlocker;
+import com.automationexercise.utils.TestEventLog;
+import com.automationexercise.utils.TestLogAppender;
+import com.automationexercise.utils.UserCredentials;
 import org.openqa.selenium.WebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.testng.ITestResult;
+import org.testng.Reporter;
 import org.testng.annotations.*;
 
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 /**
  * Base test class for all test classes
- * Provides manual setup and teardown methods
+ * Provides manual setup and teardown methods.
+ * The WebDriver is owned by the executing thread, so test methods of one instance
+ * can safely run in parallel.
  */
 public abstract class BaseTest {
     protected static final Logger logger = LoggerFactory.getLogger(BaseTest.class);
-    protected WebDriver driver;
-    protected ConfigManager config;
+    protected final ConfigManager config = ConfigManager.getInstance();
 
 
     /**
      * Initializes the WebDriver and navigates to the base URL for test execution.
      * Supports browser selection through multiple configuration sources with priority order:
-     * System Property (-Dbrowser=firefox) > Method Parameter > Config File.
+     * System Property (-Dbrowser=firefox) or environment > Method Parameter > Suite Parameter > Config File.
+     * The launch profile comes from the {@code browser.profile}/{@code headless} configuration.
      *
      * @param browser the browser type to use for this test (chrome, firefox, edge).
      *                If null, uses browser from config file or system property.
      * @throws RuntimeException if WebDriver creation fails or navigation to base URL fails
      * @see DriverFactory#createDriver(String)
-     * @see ConfigManager#getBrowser()
+     * @see ConfigManager#getBrowser(String)
      */
     protected void setUp(String browser) {
         logger.info("Setting up test with browser: {}", browser != null ? browser : "default");
 
-        config = ConfigManager.getInstance();
-
-        // Priority: System Property > Parameter > Config File
-        String browserToUse = System.getProperty("browser",
-                browser != null ? browser : config.getBrowser());
+        String browserToUse = config.getBrowser(browser);
+        BrowserProfile profile = BrowserProfile.resolve();
 
-        logger.info("Using browser: {}", browserToUse);
+        logger.info("Using browser: {} with profile: {}", browserToUse, profile.getProfileName());
 
-        driver = DriverFactory.createDriver(browserToUse);
+        ITestResult result = Reporter.getCurrentTestResult();
+        if (result != null) {
+            CommandMetrics.startTest(result.getTestClass().getRealClass().getSimpleName()
+                    + "." + result.getMethod().getMethodName());
+        }
+        WebDriver driver = DriverFactory.createDriver(browserToUse, profile);
         driver.get(config.getBaseUrl());
 
         logger.info("Navigated to: {}", config.getBaseUrl());
@@ -57,20 +76,100 @@ public abstract class BaseTest {
         setUp(null);
     }
 
+    /**
+     * Authenticates the current driver as the given user by injecting cached session cookies,
+     * bypassing the login form. Call after {@link #setUp(String)}; leaves the driver on the home page.
+     *
+     * @param user the account to log in as
+     * @throws RuntimeException if the user cannot be logged in
+     * @see AuthSessionCache#loginAs(WebDriver, UserCredentials)
+     */
+    protected void loginAs(UserCredentials user) {
+        AuthSessionCache.getInstance().loginAs(getDriver(), user);
+        ElementCache.invalidate(getDriver());
+        logger.info("Logged in as: {}", user.getEmail());
+    }
+
+    /**
+     * Returns the WebDriver owned by the current test thread.
+     *
+     * @return the current thread's {@link WebDriver}, or null if {@link #setUp(String)} was not called
+     */
+    protected WebDriver getDriver() {
+        return DriverFactory.getDriver();
+    }
+
     /**
      * Cleans up WebDriver resources after each test method execution.
      * This method is automatically called by TestNG after each test method.
-     * Logs test execution status and ensures proper WebDriver cleanup to prevent memory leaks.
+     * Logs test execution status, queues failure artifacts (screenshot, DOM, console log, URL) for the
+     * background {@link ArtifactWriter} and hands the WebDriver back to the session pool,
+     * which resets it for the next test (or quits it when pooling is disabled).
+     * When the test is about to be retried, the reset session stays with the thread for the retry instead.
      *
      * @param result the TestNG result object containing test execution information
      */
     @AfterMethod
     public void tearDown(ITestResult result) {
         String testName = result.getMethod().getMethodName();
-        String status = result.isSuccess() ? "PASSED" : "FAILED";
+        String status = result.isSuccess() ? "PASSED" : result.wasRetried() ? "RETRYING" : "FAILED";
 
         logger.info("Tearing down test: {} - Status: {}", testName, status);
-        DriverFactory.quitDriver();
+
+        boolean failed = result.getStatus() == ITestResult.FAILURE || result.wasRetried();
+        WebDriver driver = getDriver();
+        if (driver != null && failed) {
+            ArtifactWriter.getInstance().captureFailure(driver,
+                    result.getTestClass().getRealClass().getSimpleName() + "." + testName, result.getStartMillis());
+        }
+        if (driver != null) {
+            NetworkBlocker.Stats network = NetworkBlocker.takeStats(driver);
+            logger.info("Blocked {} third-party requests in {} (~{} KB saved)",
+                    network.getBlockedRequests(), testName, network.getEstimatedBytesSaved() / 1024);
+            logger.debug("HTTP cache: {} hits, {} misses, {} KB served locally",
+                    network.getCacheHits(), network.getCacheMisses(), network.getCacheBytesServed() / 1024);
+        }
+        logger.debug("Element cache hit rate: {}% ({} hits, {} finds, {} stale evictions)",
+                Math.round(ElementCache.getHitRate() * 100), ElementCache.getHits(),
+                ElementCache.getMisses(), ElementCache.getStaleEvictions());
+        CommandMetrics.endTest();
+        if (result.wasRetried()) {
+            logger.info("Keeping the browser session for the retry of {}", testName);
+            DriverFactory.retainDriver();
+        } else {
+            DriverFactory.quitDriver();
+        }
+        finishTestLog(result.getTestClass().getRealClass().getSimpleName() + "." + testName, failed);
+    }
+
+    /**
+     * Starts buffering the log output of the test about to run on this thread (see {@link TestLogAppender}).
+     */
+    @BeforeMethod(alwaysRun = true)
+    public void startTestLog(Method method) {
+        TestLogAppender.discard();
+        MDC.put(TestLogAppender.MDC_KEY, getClass().getSimpleName() + "." + method.getName());
+    }
+
+    /**
+     * Writes the buffered log output of a failed test to {@code logs.output.dir} and drops that of a passed one.
+     */
+    private void finishTestLog(String testName, boolean failed) {
+        try {
+            if (failed) {
+                Path file = TestLogAppender.flush(Paths.get(config.getLogsOutputDir()), testName);
+                if (file != null) {
+                    TestEventLog.getInstance().artifact(file);
+                    logger.info("Saved the log of {} to {}", testName, file);
+                }
+            } else {
+                TestLogAppender.discard();
+            }
+        } catch (IOException e) {
+            logger.error("Failed to write the log of {}", testName, e);
+        } finally {
+            MDC.remove(TestLogAppender.MDC_KEY);
+        }
     }
 
 }
\ No newline at end of file
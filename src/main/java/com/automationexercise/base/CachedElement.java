@@ -0,0 +1,206 @@
+package com.automationexercise.base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Coordinates;
+import org.openqa.selenium.interactions.Locatable;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Page object element backed by an {@link ElementCache}: the remote handle is resolved once and reused
+ * until the page navigates. A {@link StaleElementReferenceException} evicts the handle and the call is
+ * retried once against a freshly found element. Clicks and submits mark a possible navigation.
+ */
+public class CachedElement implements WebElement, WrapsElement, Locatable {
+    private final ElementCache cache;
+    private final By by;
+    /** Position in the list found by {@code by}, or -1 for the first match. */
+    private final int index;
+    private final String description;
+
+    public CachedElement(ElementCache cache, By by, String description) {
+        this(cache, by, -1, description);
+    }
+
+    /**
+     * An element of a {@link CachedElementList}: recovers from staleness by finding the whole list again.
+     */
+    CachedElement(ElementCache cache, By by, int index, String description) {
+        this.cache = cache;
+        this.by = by;
+        this.index = index;
+        this.description = description;
+    }
+
+    @Override
+    public WebElement getWrappedElement() {
+        return resolve();
+    }
+
+    @Override
+    public void click() {
+        run(WebElement::click);
+        cache.navigated();
+    }
+
+    @Override
+    public void submit() {
+        run(WebElement::submit);
+        cache.navigated();
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        run(element -> element.sendKeys(keysToSend));
+    }
+
+    @Override
+    public void clear() {
+        run(WebElement::clear);
+    }
+
+    @Override
+    public String getTagName() {
+        return call(WebElement::getTagName);
+    }
+
+    @Override
+    public String getDomProperty(String name) {
+        return call(element -> element.getDomProperty(name));
+    }
+
+    @Override
+    public String getDomAttribute(String name) {
+        return call(element -> element.getDomAttribute(name));
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        return call(element -> element.getAttribute(name));
+    }
+
+    @Override
+    public String getAriaRole() {
+        return call(WebElement::getAriaRole);
+    }
+
+    @Override
+    public String getAccessibleName() {
+        return call(WebElement::getAccessibleName);
+    }
+
+    @Override
+    public boolean isSelected() {
+        return call(WebElement::isSelected);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return call(WebElement::isEnabled);
+    }
+
+    @Override
+    public String getText() {
+        return call(WebElement::getText);
+    }
+
+    @Override
+    public List<WebElement> findElements(By locator) {
+        return call(element -> element.findElements(locator));
+    }
+
+    @Override
+    public WebElement findElement(By locator) {
+        return call(element -> element.findElement(locator));
+    }
+
+    @Override
+    public SearchContext getShadowRoot() {
+        return call(WebElement::getShadowRoot);
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        return call(WebElement::isDisplayed);
+    }
+
+    @Override
+    public Point getLocation() {
+        return call(WebElement::getLocation);
+    }
+
+    @Override
+    public Dimension getSize() {
+        return call(WebElement::getSize);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return call(WebElement::getRect);
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        return call(element -> element.getCssValue(propertyName));
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        return call(element -> element.getScreenshotAs(target));
+    }
+
+    @Override
+    public Coordinates getCoordinates() {
+        return call(element -> ((Locatable) element).getCoordinates());
+    }
+
+    /**
+     * Describes the element by its page field and locator without a remote call.
+     */
+    @Override
+    public String toString() {
+        return description + " (" + by + ")";
+    }
+
+    private <T> T call(Function<WebElement, T> action) {
+        try {
+            return action.apply(resolve());
+        } catch (StaleElementReferenceException e) {
+            if (index < 0) {
+                cache.evictStale(by);
+            } else {
+                cache.evictStaleList(by);
+            }
+            return action.apply(resolve());
+        }
+    }
+
+    private WebElement resolve() {
+        if (index < 0) {
+            return cache.find(by);
+        }
+        List<WebElement> found = cache.findAll(by);
+        if (index >= found.size()) {
+            throw new NoSuchElementException("No element " + index + " left in " + by);
+        }
+        return found.get(index);
+    }
+
+    private void run(Consumer<WebElement> action) {
+        call(element -> {
+            action.accept(element);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,40 @@
+package com.automationexercise.base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.AbstractList;
+import java.util.Objects;
+
+/**
+ * Page object element list backed by an {@link ElementCache}; the elements are found once per navigation epoch.
+ * Each element is a {@link CachedElement} that finds the list again when its handle turns stale,
+ * e.g. after an AJAX re-render or a history navigation, which do not go through the page objects.
+ */
+public class CachedElementList extends AbstractList<WebElement> {
+    private final ElementCache cache;
+    private final By by;
+    private final String description;
+
+    public CachedElementList(ElementCache cache, By by, String description) {
+        this.cache = cache;
+        this.by = by;
+        this.description = description;
+    }
+
+    @Override
+    public WebElement get(int index) {
+        Objects.checkIndex(index, size());
+        return new CachedElement(cache, by, index, description + "[" + index + "]");
+    }
+
+    @Override
+    public int size() {
+        return cache.findAll(by).size();
+    }
+
+    @Override
+    public String toString() {
+        return description + " (" + by + ")";
+    }
+}
@@ -0,0 +1,50 @@
+package com.automationexercise.base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.FieldDecorator;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * PageFactory field decorator that binds {@code @FindBy} fields to {@link CachedElement}s
+ * and {@link CachedElementList}s sharing the page's {@link ElementCache}.
+ */
+public class CachingFieldDecorator implements FieldDecorator {
+    private final ElementCache cache;
+
+    public CachingFieldDecorator(ElementCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public Object decorate(ClassLoader loader, Field field) {
+        if (!field.isAnnotationPresent(FindBy.class) && !field.isAnnotationPresent(FindBys.class)
+                && !field.isAnnotationPresent(FindAll.class)) {
+            return null;
+        }
+
+        By by = new Annotations(field).buildBy();
+        String description = field.getDeclaringClass().getSimpleName() + "." + field.getName();
+
+        if (WebElement.class.equals(field.getType())) {
+            return new CachedElement(cache, by, description);
+        }
+        if (List.class.equals(field.getType()) && isListOfWebElements(field.getGenericType())) {
+            return new CachedElementList(cache, by, description);
+        }
+        return null;
+    }
+
+    private static boolean isListOfWebElements(Type type) {
+        return type instanceof ParameterizedType
+                && WebElement.class.equals(((ParameterizedType) type).getActualTypeArguments()[0]);
+    }
+}
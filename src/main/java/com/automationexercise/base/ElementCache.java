@@ -0,0 +1,138 @@
+package com.automationexercise.base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-page cache of resolved element handles.
+ * Entries are tagged with the driver's navigation epoch, which is bumped by every click made through
+ * the page objects (and by {@link #invalidate(WebDriver)}), so handles resolved before a possible
+ * navigation are looked up again. Handles that turn stale in between are evicted by {@link CachedElement}.
+ */
+public class ElementCache {
+    private static final Map<WebDriver, AtomicLong> epochs = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder staleEvictions = new LongAdder();
+
+    private final WebDriver driver;
+    private final AtomicLong epoch;
+    private final Map<By, Entry<WebElement>> elements = new ConcurrentHashMap<>();
+    private final Map<By, Entry<List<WebElement>>> lists = new ConcurrentHashMap<>();
+
+    public ElementCache(WebDriver driver) {
+        this.driver = driver;
+        this.epoch = epochs.computeIfAbsent(driver, d -> new AtomicLong());
+    }
+
+    /**
+     * Returns the cached handle for the locator, finding it if there is none for the current epoch.
+     *
+     * @throws org.openqa.selenium.NoSuchElementException if the element is not on the page
+     */
+    public WebElement find(By by) {
+        long current = epoch.get();
+        Entry<WebElement> entry = elements.get(by);
+        if (entry != null && entry.epoch == current) {
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        WebElement element = driver.findElement(by);
+        elements.put(by, new Entry<>(element, current));
+        return element;
+    }
+
+    /**
+     * Returns the cached handles for the locator, finding them if there are none for the current epoch.
+     * Empty results are not cached, since the elements may just not have rendered yet.
+     */
+    public List<WebElement> findAll(By by) {
+        long current = epoch.get();
+        Entry<List<WebElement>> entry = lists.get(by);
+        if (entry != null && entry.epoch == current) {
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        List<WebElement> found = driver.findElements(by);
+        if (!found.isEmpty()) {
+            lists.put(by, new Entry<>(found, current));
+        }
+        return found;
+    }
+
+    /**
+     * Drops a handle that turned out to be stale.
+     */
+    void evictStale(By by) {
+        staleEvictions.increment();
+        elements.remove(by);
+    }
+
+    /**
+     * Drops a list whose handles turned out to be stale.
+     */
+    void evictStaleList(By by) {
+        staleEvictions.increment();
+        lists.remove(by);
+    }
+
+    /**
+     * Marks that the page may have navigated or re-rendered, invalidating every handle cached for this driver.
+     */
+    void navigated() {
+        epoch.incrementAndGet();
+    }
+
+    /**
+     * Invalidates every handle cached for the driver, e.g. after {@code driver.get(...)}.
+     */
+    public static void invalidate(WebDriver driver) {
+        AtomicLong driverEpoch = epochs.get(driver);
+        if (driverEpoch != null) {
+            driverEpoch.incrementAndGet();
+        }
+    }
+
+    /**
+     * Share of element lookups answered from the cache, across all pages and threads.
+     */
+    public static double getHitRate() {
+        long hitCount = hits.sum();
+        long lookups = hitCount + misses.sum();
+        return lookups == 0 ? 0 : (double) hitCount / lookups;
+    }
+
+    public static long getHits() {
+        return hits.sum();
+    }
+
+    public static long getMisses() {
+        return misses.sum();
+    }
+
+    public static long getStaleEvictions() {
+        return staleEvictions.sum();
+    }
+
+    private static final class Entry<T> {
+        private final T value;
+        private final long epoch;
+
+        private Entry(T value, long epoch) {
+            this.value = value;
+            this.epoch = epoch;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.automationexercise.base;
+
+/**
+ * Binds the {@code @FindBy} fields of one page class to {@link CachedElement}s without reflection.
+ * Implementations are generated at compile time by
+ * {@link com.automationexercise.processor.PageLocatorProcessor} as {@code <Page>_Locators}.
+ *
+ * @param <T> the page class whose own (not inherited) fields are bound
+ */
+public interface PageBinder<T> {
+
+    Class<T> pageType();
+
+    void bind(T page, ElementCache cache);
+}
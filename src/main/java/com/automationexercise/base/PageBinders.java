@@ -0,0 +1,52 @@
+package com.automationexercise.base;
+
+import org.openqa.selenium.support.PageFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * Registry of the generated {@link PageBinder}s, loaded once per JVM.
+ * Pages compiled without the annotation processor fall back to PageFactory.
+ */
+final class PageBinders {
+    private static final Logger logger = LoggerFactory.getLogger(PageBinders.class);
+
+    private static final Map<Class<?>, PageBinder<?>> binders = load();
+
+    private PageBinders() {
+    }
+
+    /**
+     * Binds the {@code @FindBy} fields of the page and of its superclasses up to {@link BasePage}.
+     */
+    @SuppressWarnings("unchecked")
+    static void bind(BasePage page, ElementCache cache) {
+        boolean bound = false;
+        for (Class<?> type = page.getClass(); type != BasePage.class; type = type.getSuperclass()) {
+            PageBinder<Object> binder = (PageBinder<Object>) binders.get(type);
+            if (binder != null) {
+                binder.bind(page, cache);
+                bound = true;
+            }
+        }
+
+        if (!bound) {
+            logger.debug("No generated binder for {}, falling back to PageFactory", page.getClass().getSimpleName());
+            PageFactory.initElements(new CachingFieldDecorator(cache), page);
+        }
+    }
+
+    private static Map<Class<?>, PageBinder<?>> load() {
+        Map<Class<?>, PageBinder<?>> loaded = new HashMap<>();
+        for (PageBinder<?> binder : ServiceLoader.load(PageBinder.class, PageBinders.class.getClassLoader())) {
+            loaded.put(binder.pageType(), binder);
+        }
+        logger.debug("Loaded {} generated page binders", loaded.size());
+        return Collections.unmodifiableMap(loaded);
+    }
+}
@@ -0,0 +1,199 @@
+package com.automationexercise.base;
+
+import com.automationexercise.utils.CommandMetrics;
+import com.automationexercise.utils.ConfigManager;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Explicit wait engine used by {@link BasePage} in place of implicit waits and per-page WebDriverWaits.
+ * Polls with adaptive backoff (starting at {@code wait.poll.initial.ms} and growing by
+ * {@code wait.poll.factor} up to {@code wait.poll.max.ms}), gives the {@code clickable}, {@code visible} and
+ * {@code settled} conditions their own timeout budget ({@code wait.budget.<condition>} in seconds; other
+ * conditions wait up to {@code explicit.timeout}) and records how long every condition actually took.
+ */
+public class WaitEngine {
+    private static final Logger logger = LoggerFactory.getLogger(WaitEngine.class);
+
+    private static final Map<String, ConditionStats> stats = new ConcurrentHashMap<>();
+
+    private final WebDriver driver;
+    private final long initialPollNanos;
+    private final long maxPollNanos;
+    private final double pollFactor;
+
+    public WaitEngine(WebDriver driver) {
+        ConfigManager config = ConfigManager.getInstance();
+        this.driver = driver;
+        this.initialPollNanos = TimeUnit.MILLISECONDS.toNanos(config.getWaitPollInitialMillis());
+        this.maxPollNanos = TimeUnit.MILLISECONDS.toNanos(config.getWaitPollMaxMillis());
+        this.pollFactor = config.getWaitPollFactor();
+    }
+
+    /**
+     * Waits for a condition within the budget configured for its name.
+     *
+     * @param conditionName name used for the budget lookup and timing statistics, e.g. {@code visible}
+     * @param condition     returns a non-null, non-false value once satisfied
+     * @return the value returned by the condition
+     * @throws TimeoutException if the condition is not met within the budget
+     */
+    public <T> T until(String conditionName, Function<WebDriver, T> condition) {
+        return until(conditionName, condition, budgetFor(conditionName));
+    }
+
+    /**
+     * Waits for a condition within an explicit budget.
+     *
+     * @param conditionName name used for timing statistics
+     * @param condition     returns a non-null, non-false value once satisfied
+     * @param budget        the maximum time to wait
+     * @return the value returned by the condition
+     * @throws TimeoutException if the condition is not met within the budget
+     */
+    public <T> T until(String conditionName, Function<WebDriver, T> condition, Duration budget) {
+        long start = System.nanoTime();
+        long deadline = start + budget.toNanos();
+        long poll = initialPollNanos;
+        RuntimeException lastError = null;
+
+        while (true) {
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    long elapsed = System.nanoTime() - start;
+                    statsFor(conditionName).recordMet(elapsed);
+                    logger.trace("Condition '{}' met in {} ms", conditionName, TimeUnit.NANOSECONDS.toMillis(elapsed));
+                    return value;
+                }
+            } catch (NoSuchElementException | StaleElementReferenceException e) {
+                lastError = e;
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                statsFor(conditionName).recordTimeout(System.nanoTime() - start);
+                throw new TimeoutException("Condition '" + conditionName + "' not met within "
+                        + budget.toMillis() + " ms", lastError);
+            }
+
+            sleep(Math.min(poll, remaining));
+            poll = Math.min((long) (poll * pollFactor), maxPollNanos);
+        }
+    }
+
+    /**
+     * Returns the budget for a condition from the current configuration: {@code wait.budget.<condition>}
+     * seconds for the budgeted conditions, otherwise {@code explicit.timeout}.
+     */
+    public static Duration budgetFor(String conditionName) {
+        ConfigManager config = ConfigManager.getInstance();
+        switch (conditionName) {
+            case "clickable":
+                return Duration.ofSeconds(config.getWaitBudgetClickable());
+            case "visible":
+                return Duration.ofSeconds(config.getWaitBudgetVisible());
+            case "settled":
+                return Duration.ofSeconds(config.getWaitBudgetSettled());
+            default:
+                return Duration.ofSeconds(config.getExplicitTimeout());
+        }
+    }
+
+    /**
+     * Returns a one-line-per-condition summary of the recorded wait times, ordered by condition name.
+     */
+    public static String summary() {
+        StringBuilder summary = new StringBuilder();
+        new TreeMap<>(stats).forEach((name, conditionStats) ->
+                summary.append(name).append(": ").append(conditionStats).append(System.lineSeparator()));
+        return summary.toString();
+    }
+
+    /**
+     * Recorded timings of every condition, keyed by condition name.
+     */
+    public static Map<String, ConditionStats> getStats() {
+        return stats;
+    }
+
+    private static ConditionStats statsFor(String conditionName) {
+        return stats.computeIfAbsent(conditionName, name -> new ConditionStats(name));
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting", e);
+        }
+    }
+
+    /**
+     * Thread-safe timing statistics of one named condition.
+     */
+    public static final class ConditionStats {
+        private final LongAdder met = new LongAdder();
+        private final LongAdder timedOut = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final String conditionName;
+
+        ConditionStats(String conditionName) {
+            this.conditionName = conditionName;
+        }
+
+        void recordMet(long nanos) {
+            met.increment();
+            record(nanos);
+        }
+
+        void recordTimeout(long nanos) {
+            timedOut.increment();
+            record(nanos);
+        }
+
+        private void record(long nanos) {
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            CommandMetrics.record(CommandMetrics.Category.WAIT, conditionName, nanos);
+        }
+
+        public long getMetCount() {
+            return met.sum();
+        }
+
+        public long getTimeoutCount() {
+            return timedOut.sum();
+        }
+
+        public double getAverageMillis() {
+            long count = met.sum() + timedOut.sum();
+            return count == 0 ? 0 : totalNanos.sum() / 1_000_000.0 / count;
+        }
+
+        public double getMaxMillis() {
+            return maxNanos.get() / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("met=%d timedOut=%d avg=%.1fms max=%.1fms",
+                    getMetCount(), getTimeoutCount(), getAverageMillis(), getMaxMillis());
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.automationexercise.listeners;
+
+import com.automationexercise.utils.DurationHistory;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestNGMethod;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estimates test method durations for scheduling and sharding. Tests with history use their recorded average.
+ * Tests without history are estimated from the page object methods they call (read from their bytecode):
+ * every known test's duration is spread over its page object calls, and an unseen test costs the sum of the
+ * average share of each page object method it calls. Tests without page object calls get the median.
+ */
+final class DurationEstimator {
+    private static final Logger logger = LoggerFactory.getLogger(DurationEstimator.class);
+
+    private static final String PAGE_PACKAGE = "com/automationexercise/pages/";
+
+    /** Page object calls per test method, keyed by {@code Class#method}; bytecode does not change during a run. */
+    private static final Map<String, List<String>> pageCallsCache = new ConcurrentHashMap<>();
+
+    private final DurationHistory history;
+    private final double medianMillis;
+    private final Map<String, Double> callCosts = new HashMap<>();
+    private final double averageCallCost;
+
+    DurationEstimator(DurationHistory history, Collection<ITestNGMethod> methods, double defaultMillis) {
+        this.history = history;
+        this.medianMillis = history.medianMillis(defaultMillis);
+
+        Map<String, double[]> shares = new HashMap<>();
+        double shareSum = 0;
+        int shareCount = 0;
+        for (ITestNGMethod method : methods) {
+            String name = method.getQualifiedName();
+            List<String> calls = pageCalls(method);
+            if (!history.contains(name) || calls.isEmpty()) {
+                continue;
+            }
+            double share = history.estimateMillis(name, medianMillis) / calls.size();
+            for (String call : calls) {
+                double[] total = shares.computeIfAbsent(call, ignored -> new double[2]);
+                total[0] += share;
+                total[1]++;
+            }
+            shareSum += share * calls.size();
+            shareCount += calls.size();
+        }
+        shares.forEach((call, total) -> callCosts.put(call, total[0] / total[1]));
+        this.averageCallCost = shareCount > 0 ? shareSum / shareCount : 0;
+    }
+
+    /**
+     * Returns the recorded or estimated duration of a test method in milliseconds.
+     */
+    double estimateMillis(ITestNGMethod method) {
+        String name = method.getQualifiedName();
+        if (history.contains(name)) {
+            return history.estimateMillis(name, medianMillis);
+        }
+
+        List<String> calls = pageCalls(method);
+        if (calls.isEmpty() || averageCallCost == 0) {
+            return medianMillis;
+        }
+        double estimate = 0;
+        for (String call : calls) {
+            estimate += callCosts.getOrDefault(call, averageCallCost);
+        }
+        logger.debug("Estimated {} at {} ms from {} page object calls", name, Math.round(estimate), calls.size());
+        return estimate;
+    }
+
+    /**
+     * Returns the page object methods ({@code Page.method}) a test method calls, directly or through
+     * helper methods and lambdas of its own class, once per call site. Page constructors are not counted.
+     */
+    static List<String> pageCalls(ITestNGMethod method) {
+        Class<?> testClass = method.getRealClass();
+        return pageCallsCache.computeIfAbsent(testClass.getName() + "#" + method.getMethodName(),
+                ignored -> scan(testClass, method.getMethodName()));
+    }
+
+    private static List<String> scan(Class<?> testClass, String methodName) {
+        Map<String, List<String[]>> invocations = new HashMap<>();
+        String owner = testClass.getName().replace('.', '/');
+        try (InputStream bytecode = testClass.getClassLoader().getResourceAsStream(owner + ".class")) {
+            if (bytecode == null) {
+                return Collections.emptyList();
+            }
+            new ClassReader(bytecode).accept(new InvocationCollector(invocations), ClassReader.SKIP_DEBUG);
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Could not read the bytecode of {}", testClass.getName(), e);
+            return Collections.emptyList();
+        }
+
+        List<String> calls = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        invocations.keySet().stream().filter(key -> key.startsWith(methodName + "(")).forEach(pending::add);
+        while (!pending.isEmpty()) {
+            String current = pending.pop();
+            if (!visited.add(current)) {
+                continue;
+            }
+            for (String[] call : invocations.getOrDefault(current, Collections.emptyList())) {
+                if (call[0].startsWith(PAGE_PACKAGE) && !"<init>".equals(call[1])) {
+                    calls.add(call[0].substring(call[0].lastIndexOf('/') + 1) + "." + call[1]);
+                } else if (call[0].equals(owner)) {
+                    pending.push(call[1] + call[2]);
+                }
+            }
+        }
+        return calls;
+    }
+
+    /**
+     * Collects the {@code [owner, name, descriptor]} of every method invoked by each method of a class,
+     * including lambda bodies referenced through invokedynamic.
+     */
+    private static final class InvocationCollector extends ClassVisitor {
+        private final Map<String, List<String[]>> invocations;
+
+        InvocationCollector(Map<String, List<String[]>> invocations) {
+            super(Opcodes.ASM9);
+            this.invocations = invocations;
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature,
+                                         String[] exceptions) {
+            List<String[]> calls = invocations.computeIfAbsent(name + descriptor, ignored -> new ArrayList<>());
+            return new MethodVisitor(Opcodes.ASM9) {
+                @Override
+                public void visitMethodInsn(int opcode, String owner, String method, String desc, boolean isInterface) {
+                    calls.add(new String[]{owner, method, desc});
+                }
+
+                @Override
+                public void visitInvokeDynamicInsn(String method, String desc, Handle bootstrap, Object... arguments) {
+                    for (Object argument : arguments) {
+                        if (argument instanceof Handle) {
+                            Handle handle = (Handle) argument;
+                            calls.add(new String[]{handle.getOwner(), handle.getName(), handle.getDesc()});
+                        }
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.automationexercise.listeners;
+
+import com.automationexercise.utils.CommandMetrics;
+import com.automationexercise.utils.ConfigManager;
+import com.automationexercise.utils.LatencyHistogram;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Exports the {@link CommandMetrics} histograms at suite end as {@code latency-<suite>.json} and
+ * {@code latency-<suite>.csv} (count, total, p50, p95, p99 and max per command, page object method, test,
+ * wait condition and lifecycle step) into {@code metrics.output.dir}. The histograms are reset when a suite
+ * starts, so each export covers one suite; suites in one JVM are expected to run one after another.
+ */
+public class LatencyReportListener implements ISuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(LatencyReportListener.class);
+
+    private static final String CSV_HEADER = "category,name,count,total_ms,p50_ms,p95_ms,p99_ms,max_ms";
+
+    @Override
+    public void onStart(ISuite suite) {
+        CommandMetrics.reset();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        ConfigManager config = ConfigManager.getInstance();
+        if (!config.isMetricsEnabled()) {
+            return;
+        }
+
+        List<Map<String, Object>> rows = toRows(CommandMetrics.snapshot());
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        Path outputDir = Paths.get(config.getMetricsOutputDir());
+        try {
+            Files.createDirectories(outputDir);
+            String fileName = "latency-" + suite.getName().replaceAll("[^\\w.-]", "_");
+            writeJson(outputDir.resolve(fileName + ".json"), suite.getName(), rows);
+            writeCsv(outputDir.resolve(fileName + ".csv"), rows);
+            logger.info("Wrote latency metrics for {} entries to {}", rows.size(), outputDir.toAbsolutePath());
+        } catch (IOException e) {
+            logger.error("Failed to write latency metrics to {}", outputDir, e);
+        }
+    }
+
+    static List<Map<String, Object>> toRows(Map<CommandMetrics.Category, Map<String, LatencyHistogram>> snapshot) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        snapshot.forEach((category, histograms) -> histograms.forEach((name, histogram) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("category", category.name().toLowerCase(Locale.ROOT));
+            row.put("name", name);
+            row.put("count", histogram.getCount());
+            row.put("totalMs", round(histogram.getTotalMillis()));
+            row.put("p50Ms", round(histogram.getPercentileMillis(0.50)));
+            row.put("p95Ms", round(histogram.getPercentileMillis(0.95)));
+            row.put("p99Ms", round(histogram.getPercentileMillis(0.99)));
+            row.put("maxMs", round(histogram.getMaxMillis()));
+            rows.add(row);
+        }));
+        return rows;
+    }
+
+    private static void writeJson(Path file, String suiteName, List<Map<String, Object>> rows) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("suite", suiteName);
+        report.put("metrics", rows);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+    }
+
+    private static void writeCsv(Path file, List<Map<String, Object>> rows) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write(CSV_HEADER);
+            out.write(System.lineSeparator());
+            for (Map<String, Object> row : rows) {
+                List<String> values = new ArrayList<>();
+                for (Object value : row.values()) {
+                    values.add(csvValue(String.valueOf(value)));
+                }
+                out.write(String.join(",", values));
+                out.write(System.lineSeparator());
+            }
+        }
+    }
+
+    private static String csvValue(String value) {
+        return value.contains(",") || value.contains("\"")
+                ? "\"" + value.replace("\"", "\"\"") + "\""
+                : value;
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 100) / 100.0;
+    }
+}
@@ -0,0 +1,36 @@
+package com.automationexercise.listeners;
+
+import com.automationexercise.storefront.LocalStorefront;
+import com.automationexercise.utils.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * Starts the embedded {@link LocalStorefront} before the first suite when {@code storefront.local.enabled=true}
+ * (the {@code local} config profile) and points {@code base.url}/{@code api.url} at it.
+ * The server is shared by every suite of the run and stopped when the JVM exits.
+ */
+public class LocalStorefrontListener implements ISuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(LocalStorefrontListener.class);
+
+    private static LocalStorefront storefront;
+
+    @Override
+    public void onStart(ISuite suite) {
+        ConfigManager config = ConfigManager.getInstance();
+        if (!config.isLocalStorefrontEnabled()) {
+            return;
+        }
+
+        synchronized (LocalStorefrontListener.class) {
+            if (storefront == null) {
+                storefront = new LocalStorefront(config.getLocalStorefrontPort());
+                config.overrideBaseUrl(storefront.getBaseUrl());
+                Runtime.getRuntime().addShutdownHook(new Thread(storefront::close, "local-storefront-shutdown"));
+            }
+        }
+        logger.info("Suite '{}' runs against the local storefront at {}", suite.getName(), storefront.getBaseUrl());
+    }
+}
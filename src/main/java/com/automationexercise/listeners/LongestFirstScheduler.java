@@ -0,0 +1,130 @@
+package com.automationexercise.listeners;
+
+import com.automationexercise.utils.ConfigManager;
+import com.automationexercise.utils.DurationHistory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.xml.XmlSuite;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Orders test methods longest first so that parallel workers do not idle while a slow flow like the
+ * registration test runs last. Methods are ordered by {@code priority} first, then by the longest chain
+ * of work they start: their own estimated duration plus that of the slowest chain of methods depending on them
+ * ({@code dependsOnMethods}/{@code dependsOnGroups}). TestNG still holds dependents back until their
+ * dependencies pass. Durations come from {@link DurationHistory}, estimated via {@link DurationEstimator}
+ * for methods without history. Register after {@link ShardingListener} so only the shard's methods are ordered.
+ */
+public class LongestFirstScheduler implements IMethodInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(LongestFirstScheduler.class);
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (methods.size() < 2) {
+            return methods;
+        }
+
+        List<ITestNGMethod> testMethods = methods.stream().map(IMethodInstance::getMethod).collect(Collectors.toList());
+        DurationEstimator estimator = new DurationEstimator(DurationHistory.getInstance(), testMethods,
+                ConfigManager.getInstance().getTestDurationDefaultMillis());
+        Map<ITestNGMethod, Double> chains = chainMillis(testMethods, estimator::estimateMillis);
+
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        ordered.sort(Comparator.<IMethodInstance>comparingInt(instance -> instance.getMethod().getPriority())
+                .thenComparing(instance -> -chains.get(instance.getMethod()))
+                .thenComparing(instance -> instance.getMethod().getQualifiedName()));
+
+        int threads = isParallel(context) ? Math.max(1, context.getSuite().getXmlSuite().getThreadCount()) : 1;
+        double total = testMethods.stream().mapToDouble(estimator::estimateMillis).sum();
+        double longest = testMethods.stream().mapToDouble(estimator::estimateMillis).max().orElse(0);
+        logger.info("Scheduled {} methods of '{}' longest first, estimated makespan {}s on {} threads (ideal {}s)",
+                ordered.size(), context.getName(),
+                Math.round(makespanMillis(ordered, estimator, threads) / 1000),
+                threads, Math.round(Math.max(total / threads, longest) / 1000));
+        if (logger.isDebugEnabled()) {
+            ordered.forEach(instance -> logger.debug("  {} ~{} ms", instance.getMethod().getQualifiedName(),
+                    Math.round(estimator.estimateMillis(instance.getMethod()))));
+        }
+        return ordered;
+    }
+
+    /**
+     * Returns, per method, its duration plus the longest chain of methods that depend on it.
+     */
+    static Map<ITestNGMethod, Double> chainMillis(List<ITestNGMethod> methods,
+                                                  ToDoubleFunction<ITestNGMethod> duration) {
+        Map<ITestNGMethod, List<ITestNGMethod>> dependents = new HashMap<>();
+        for (ITestNGMethod method : methods) {
+            Set<String> dependsOnMethods = new HashSet<>(Arrays.asList(method.getMethodsDependedUpon()));
+            Set<String> dependsOnGroups = new HashSet<>(Arrays.asList(method.getGroupsDependedUpon()));
+            for (ITestNGMethod candidate : methods) {
+                if (candidate != method && (dependsOnMethods.contains(candidate.getQualifiedName())
+                        || Arrays.stream(candidate.getGroups()).anyMatch(dependsOnGroups::contains))) {
+                    dependents.computeIfAbsent(candidate, ignored -> new ArrayList<>()).add(method);
+                }
+            }
+        }
+
+        Map<ITestNGMethod, Double> chains = new HashMap<>();
+        for (ITestNGMethod method : methods) {
+            chainOf(method, dependents, duration, chains, new HashSet<>());
+        }
+        return chains;
+    }
+
+    private static double chainOf(ITestNGMethod method, Map<ITestNGMethod, List<ITestNGMethod>> dependents,
+                                  ToDoubleFunction<ITestNGMethod> duration,
+                                  Map<ITestNGMethod, Double> chains, Set<ITestNGMethod> visiting) {
+        Double known = chains.get(method);
+        if (known != null) {
+            return known;
+        }
+        if (!visiting.add(method)) {
+            // TestNG rejects cyclic dependencies itself
+            return 0;
+        }
+        double longestDependent = 0;
+        for (ITestNGMethod dependent : dependents.getOrDefault(method, List.of())) {
+            longestDependent = Math.max(longestDependent, chainOf(dependent, dependents, duration, chains, visiting));
+        }
+        double chain = duration.applyAsDouble(method) + longestDependent;
+        chains.put(method, chain);
+        return chain;
+    }
+
+    /**
+     * Simulates the workers taking methods in order, ignoring dependencies.
+     */
+    private static double makespanMillis(List<IMethodInstance> ordered, DurationEstimator estimator, int threads) {
+        double[] finish = new double[threads];
+        for (IMethodInstance instance : ordered) {
+            int first = 0;
+            for (int i = 1; i < threads; i++) {
+                if (finish[i] < finish[first]) {
+                    first = i;
+                }
+            }
+            finish[first] += estimator.estimateMillis(instance.getMethod());
+        }
+        return Arrays.stream(finish).max().orElse(0);
+    }
+
+    private static boolean isParallel(ITestContext context) {
+        XmlSuite.ParallelMode mode = context.getSuite().getXmlSuite().getParallel();
+        return mode != null && mode != XmlSuite.ParallelMode.NONE;
+    }
+}
@@ -0,0 +1,61 @@
+package com.automationexercise.listeners;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * Applies the parallel mode and thread count given as system properties
+ * ({@code -Dtest.parallel=methods -Dtest.thread.count=16}) to every suite,
+ * overriding the values declared in the suite XML.
+ */
+public class ParallelSuiteListener implements IAlterSuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(ParallelSuiteListener.class);
+
+    static final String PARALLEL_PROPERTY = "test.parallel";
+    static final String THREAD_COUNT_PROPERTY = "test.thread.count";
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        String parallel = System.getProperty(PARALLEL_PROPERTY);
+        String threadCount = System.getProperty(THREAD_COUNT_PROPERTY);
+
+        for (XmlSuite suite : suites) {
+            if (parallel != null && !parallel.isBlank()) {
+                XmlSuite.ParallelMode mode = XmlSuite.ParallelMode.getValidParallel(parallel.trim());
+                if (mode == null) {
+                    throw new IllegalArgumentException("Invalid " + PARALLEL_PROPERTY + ": " + parallel);
+                }
+                suite.setParallel(mode);
+            }
+
+            if (threadCount != null && !threadCount.isBlank()) {
+                suite.setThreadCount(parseThreadCount(threadCount.trim()));
+            }
+
+            logger.info("Suite '{}' runs with parallel={} thread-count={}",
+                    suite.getName(), suite.getParallel(), suite.getThreadCount());
+        }
+    }
+
+    /**
+     * Parses the thread count; {@code auto} uses one thread per available processor.
+     */
+    private static int parseThreadCount(String value) {
+        if ("auto".equalsIgnoreCase(value)) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        try {
+            int count = Integer.parseInt(value);
+            if (count < 1) {
+                throw new IllegalArgumentException("Invalid " + THREAD_COUNT_PROPERTY + ": " + value);
+            }
+            return count;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + THREAD_COUNT_PROPERTY + ": " + value, e);
+        }
+    }
+}
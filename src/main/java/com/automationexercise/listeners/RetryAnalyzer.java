@@ -0,0 +1,103 @@
+package com.automationexercise.listeners;
+
+import com.automationexercise.utils.ConfigManager;
+import org.openqa.selenium.InvalidArgumentException;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+import org.testng.xml.XmlTest;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Retries a failed test up to {@code test.retry.max} times, but only when the failure comes from the
+ * infrastructure (browser, driver, network, timeouts). Assertion failures and test code errors fail right away.
+ * {@link com.automationexercise.base.BaseTest} keeps the browser session warm between attempts.
+ */
+public class RetryAnalyzer implements IRetryAnalyzer {
+    private static final Logger logger = LoggerFactory.getLogger(RetryAnalyzer.class);
+
+    /** Retries per suite and test invocation, keyed by suite name, then by {@link #testName(ITestResult)}. */
+    private static final Map<String, Map<String, AtomicInteger>> retries = new ConcurrentHashMap<>();
+
+    public enum FailureType {
+        INFRASTRUCTURE, ASSERTION, TEST_ERROR
+    }
+
+    private int attempts;
+
+    @Override
+    public boolean retry(ITestResult result) {
+        int maxRetries = ConfigManager.getInstance().getTestRetryMax();
+        FailureType type = classify(result.getThrowable());
+        if (type != FailureType.INFRASTRUCTURE || attempts >= maxRetries) {
+            return false;
+        }
+
+        attempts++;
+        retries.computeIfAbsent(suiteName(result), ignored -> new ConcurrentHashMap<>())
+                .computeIfAbsent(testName(result), ignored -> new AtomicInteger()).incrementAndGet();
+        logger.warn("Retrying {} after infrastructure failure ({}), retry {} of {}", testName(result),
+                result.getThrowable().getClass().getSimpleName(), attempts, maxRetries);
+        return true;
+    }
+
+    /**
+     * Classifies a test failure by walking its cause chain.
+     * Selenium and I/O errors count as infrastructure, except invalid selectors and arguments which are test bugs.
+     *
+     * @param failure the exception the test failed with, may be null
+     * @return the failure type
+     */
+    public static FailureType classify(Throwable failure) {
+        if (failure instanceof AssertionError) {
+            return FailureType.ASSERTION;
+        }
+        for (Throwable cause = failure; cause != null; cause = cause.getCause() != cause ? cause.getCause() : null) {
+            if (cause instanceof InvalidSelectorException || cause instanceof InvalidArgumentException) {
+                return FailureType.TEST_ERROR;
+            }
+            if (cause instanceof WebDriverException || cause instanceof IOException
+                    || cause instanceof java.util.concurrent.TimeoutException) {
+                return FailureType.INFRASTRUCTURE;
+            }
+        }
+        return FailureType.TEST_ERROR;
+    }
+
+    /**
+     * Returns the number of retries per test of a suite since the start of the run.
+     *
+     * @param suite the suite name
+     */
+    public static Map<String, Integer> getRetryCounts(String suite) {
+        Map<String, Integer> counts = new TreeMap<>();
+        retries.getOrDefault(suite, Collections.emptyMap()).forEach((name, count) -> counts.put(name, count.get()));
+        return Collections.unmodifiableMap(counts);
+    }
+
+    static int getRetryCount(ITestResult result) {
+        AtomicInteger count = retries.getOrDefault(suiteName(result), Collections.emptyMap()).get(testName(result));
+        return count != null ? count.get() : 0;
+    }
+
+    static String suiteName(ITestResult result) {
+        XmlTest test = result.getMethod().getXmlTest();
+        return test != null ? test.getSuite().getName() : "";
+    }
+
+    static String testName(ITestResult result) {
+        String name = result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName();
+        Object[] parameters = result.getParameters();
+        return parameters != null && parameters.length > 0 ? name + Arrays.toString(parameters) : name;
+    }
+}
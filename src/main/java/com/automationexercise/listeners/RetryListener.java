@@ -0,0 +1,104 @@
+package com.automationexercise.listeners;
+
+import com.automationexercise.utils.ConfigManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAnnotationTransformer;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.internal.annotations.DisabledRetryAnalyzer;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Installs {@link RetryAnalyzer} on every test that does not declare its own analyzer
+ * (unless {@code test.retry.max=0}), and reports each suite's retry counts at suite end, in the log and as
+ * {@code retries-<suite>.json} in {@code metrics.output.dir}.
+ */
+public class RetryListener implements IAnnotationTransformer, ITestListener, ISuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(RetryListener.class);
+
+    /** Tests that passed on retry, per suite name. */
+    private final Map<String, Set<String>> recovered = new ConcurrentHashMap<>();
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
+        if (ConfigManager.getInstance().getTestRetryMax() <= 0) {
+            return;
+        }
+        Class<?> declared = annotation.getRetryAnalyzerClass();
+        // @Test's retryAnalyzer defaults to TestNG's internal DisabledRetryAnalyzer (null before 7.0); comparing
+        // against that class is the only way to tell that a test declares no analyzer of its own
+        if (declared == null || declared == DisabledRetryAnalyzer.class) {
+            annotation.setRetryAnalyzer(RetryAnalyzer.class);
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        if (RetryAnalyzer.getRetryCount(result) > 0) {
+            recovered.computeIfAbsent(RetryAnalyzer.suiteName(result), ignored -> ConcurrentHashMap.newKeySet())
+                    .add(RetryAnalyzer.testName(result));
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        Map<String, Integer> counts = RetryAnalyzer.getRetryCounts(suite.getName());
+        if (counts.isEmpty()) {
+            return;
+        }
+        Set<String> recovered = this.recovered.getOrDefault(suite.getName(), Set.of());
+
+        int total = counts.values().stream().mapToInt(Integer::intValue).sum();
+        logger.info("Retried {} tests {} times after infrastructure failures, {} passed on retry",
+                counts.size(), total, recovered.size());
+
+        List<Map<String, Object>> tests = new ArrayList<>();
+        counts.forEach((name, retries) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("test", name);
+            row.put("retries", retries);
+            row.put("passedOnRetry", recovered.contains(name));
+            tests.add(row);
+            logger.info("  {}: {} retries, {}", name, retries, recovered.contains(name) ? "passed" : "failed");
+        });
+
+        ConfigManager config = ConfigManager.getInstance();
+        if (!config.isMetricsEnabled()) {
+            return;
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("suite", suite.getName());
+        report.put("totalRetries", total);
+        report.put("passedOnRetry", recovered.size());
+        report.put("tests", tests);
+
+        Path outputDir = Paths.get(config.getMetricsOutputDir());
+        try {
+            Files.createDirectories(outputDir);
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValue(outputDir.resolve("retries-" + suite.getName().replaceAll("[^\\w.-]", "_") + ".json")
+                            .toFile(), report);
+        } catch (IOException e) {
+            logger.error("Failed to write retry report to {}", outputDir, e);
+        }
+    }
+}
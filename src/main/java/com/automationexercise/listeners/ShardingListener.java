@@ -0,0 +1,161 @@
+package com.automationexercise.listeners;
+
+import com.automationexercise.utils.ConfigManager;
+import com.automationexercise.utils.DurationHistory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Splits the selected test methods into {@code shard.count} shards balanced by their recorded durations
+ * and runs only shard {@code shard.index} (0-based), e.g. one shard per CI job with {@code -Dshard.count=N}.
+ * Both are read from {@link ConfigManager}.
+ * Every shard computes the same assignment from the same history, longest tests first onto the least loaded shard;
+ * tests without history are estimated by {@link DurationEstimator}.
+ * Methods linked by {@code dependsOnMethods} stay in one shard. Durations of passed tests are merged
+ * into {@code test.durations.file} at suite end, with or without sharding; failures are left out because
+ * they are often cut short by an error.
+ */
+public class ShardingListener implements IMethodInterceptor, ITestListener, ISuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(ShardingListener.class);
+
+    static final String SHARD_INDEX_PROPERTY = "shard.index";
+    static final String SHARD_COUNT_PROPERTY = "shard.count";
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        ConfigManager config = ConfigManager.getInstance();
+        int count = config.getShardCount();
+        int index = config.getShardIndex();
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid shard " + index + " of " + count
+                    + ", expected 0 <= " + SHARD_INDEX_PROPERTY + " < " + SHARD_COUNT_PROPERTY);
+        }
+        if (count == 1 || methods.isEmpty()) {
+            return methods;
+        }
+
+        DurationEstimator estimator = new DurationEstimator(DurationHistory.getInstance(),
+                methods.stream().map(IMethodInstance::getMethod).collect(Collectors.toList()),
+                config.getTestDurationDefaultMillis());
+        ToDoubleFunction<List<IMethodInstance>> weight = unit -> unit.stream()
+                .mapToDouble(method -> estimator.estimateMillis(method.getMethod()))
+                .sum();
+
+        List<List<List<IMethodInstance>>> shards = partition(linkDependencies(methods), weight, count);
+        Set<IMethodInstance> selected = shards.get(index).stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toCollection(() -> Collections.newSetFromMap(new IdentityHashMap<>())));
+
+        double total = shards.stream().flatMap(List::stream).mapToDouble(weight).sum();
+        double mine = shards.get(index).stream().mapToDouble(weight).sum();
+        logger.info("Shard {} of {} in '{}' runs {} of {} methods, estimated {}s of {}s in total",
+                index + 1, count, context.getName(), selected.size(), methods.size(),
+                Math.round(mine / 1000), Math.round(total / 1000));
+
+        // keep the suite's own order within the shard
+        return methods.stream().filter(selected::contains).collect(Collectors.toList());
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        DurationHistory.getInstance().record(nameOf(result.getMethod()), result.getEndMillis() - result.getStartMillis());
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        try {
+            DurationHistory.getInstance().save();
+        } catch (IOException e) {
+            logger.error("Failed to update test duration history", e);
+        }
+    }
+
+    /**
+     * Longest-processing-time-first partitioning: units are placed, heaviest first, on the shard with the
+     * smallest load so far. The result is deterministic for the same units and weights.
+     *
+     * @param units  the indivisible units of work, in a stable order
+     * @param weight the estimated duration of a unit
+     * @param count  the number of shards
+     * @return the units of each shard
+     */
+    static <T> List<List<T>> partition(List<T> units, ToDoubleFunction<T> weight, int count) {
+        List<T> ordered = new ArrayList<>(units);
+        // stable sort, so equal weights keep their input order
+        ordered.sort(Comparator.comparingDouble(weight).reversed());
+
+        List<List<T>> shards = new ArrayList<>();
+        double[] loads = new double[count];
+        for (int i = 0; i < count; i++) {
+            shards.add(new ArrayList<>());
+        }
+        for (T unit : ordered) {
+            int lightest = 0;
+            for (int i = 1; i < count; i++) {
+                if (loads[i] < loads[lightest]) {
+                    lightest = i;
+                }
+            }
+            shards.get(lightest).add(unit);
+            loads[lightest] += weight.applyAsDouble(unit);
+        }
+        return shards;
+    }
+
+    /**
+     * Groups methods connected through {@code dependsOnMethods} into one unit, sorted by name otherwise.
+     */
+    private static List<List<IMethodInstance>> linkDependencies(List<IMethodInstance> methods) {
+        Map<String, String> parent = new HashMap<>();
+        for (IMethodInstance method : methods) {
+            parent.put(nameOf(method.getMethod()), nameOf(method.getMethod()));
+        }
+        for (IMethodInstance method : methods) {
+            for (String dependency : method.getMethod().getMethodsDependedUpon()) {
+                if (parent.containsKey(dependency)) {
+                    parent.put(root(parent, dependency), root(parent, nameOf(method.getMethod())));
+                }
+            }
+        }
+
+        Map<String, List<IMethodInstance>> units = new LinkedHashMap<>();
+        methods.stream()
+                .sorted(Comparator.comparing(method -> nameOf(method.getMethod())))
+                .forEach(method -> units.computeIfAbsent(root(parent, nameOf(method.getMethod())),
+                        ignored -> new ArrayList<>()).add(method));
+        return new ArrayList<>(units.values());
+    }
+
+    private static String root(Map<String, String> parent, String name) {
+        String current = name;
+        while (!parent.get(current).equals(current)) {
+            current = parent.get(current);
+        }
+        return current;
+    }
+
+    static String nameOf(ITestNGMethod method) {
+        return method.getQualifiedName();
+    }
+}
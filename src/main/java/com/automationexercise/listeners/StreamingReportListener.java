@@ -0,0 +1,125 @@
+package com.automationexercise.listeners;
+
+import com.automationexercise.utils.ArtifactWriter;
+import com.automationexercise.utils.ConfigManager;
+import com.automationexercise.utils.ReportRenderer;
+import com.automationexercise.utils.TestEventLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams test starts, results and failures to the {@link TestEventLog} as they happen and renders them into
+ * {@code report.html} every {@code report.render.interval.seconds} on a background thread, so a partial
+ * report is available during long parallel runs. Steps (page object actions) and failure artifacts are logged
+ * by {@link com.automationexercise.base.BasePage} and {@link com.automationexercise.utils.ArtifactWriter}.
+ */
+public class StreamingReportListener implements ITestListener, ISuiteListener {
+    private static final String STARTED_ATTRIBUTE = StreamingReportListener.class.getName() + ".started";
+    private static final int MAX_ERROR_FRAMES = 15;
+    private static final Duration ARTIFACT_WAIT = Duration.ofSeconds(30);
+    private static final Logger logger = LoggerFactory.getLogger(StreamingReportListener.class);
+
+    private final TestEventLog log = TestEventLog.getInstance();
+    private ScheduledExecutorService renderExecutor;
+    private ReportRenderer renderer;
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (!log.isEnabled()) {
+            return;
+        }
+        log.suiteStarted(suite.getName());
+        renderer = ReportRenderer.forEventLog(log);
+        long interval = Math.max(1, ConfigManager.getInstance().getReportRenderIntervalSeconds());
+        renderExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "report-renderer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        renderExecutor.scheduleWithFixedDelay(renderer::render, interval, interval, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (renderer == null) {
+            return;
+        }
+        log.suiteFinished(suite.getName());
+        renderExecutor.shutdownNow();
+        // the last failures' zips are still being written; the finished report takes no more links
+        if (!ArtifactWriter.getInstance().awaitPending(ARTIFACT_WAIT)) {
+            logger.warn("Failure artifacts still pending after {}s, the report may not link them",
+                    ARTIFACT_WAIT.toSeconds());
+        }
+        renderer.finish();
+    }
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        start(result);
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        finish(result, "PASSED");
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        finish(result, "FAILED");
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        finish(result, "FAILED");
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        // tests skipped for a failed dependency are never started
+        if (result.getAttribute(STARTED_ATTRIBUTE) == null) {
+            start(result);
+        }
+        finish(result, result.wasRetried() ? "RETRIED" : "SKIPPED");
+    }
+
+    private void start(ITestResult result) {
+        result.setAttribute(STARTED_ATTRIBUTE, Boolean.TRUE);
+        Object[] parameters = result.getParameters();
+        log.testStarted(result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName(),
+                parameters.length > 0 ? Arrays.toString(parameters) : null);
+    }
+
+    private void finish(ITestResult result, String status) {
+        log.testFinished(status, Math.max(0, result.getEndMillis() - result.getStartMillis()),
+                describe(result.getThrowable()));
+    }
+
+    /**
+     * Returns the exception with the top of its stack trace, or null.
+     */
+    static String describe(Throwable throwable) {
+        if (throwable == null) {
+            return null;
+        }
+        StringBuilder description = new StringBuilder(String.valueOf(throwable));
+        StackTraceElement[] frames = throwable.getStackTrace();
+        for (int i = 0; i < Math.min(frames.length, MAX_ERROR_FRAMES); i++) {
+            description.append("\n\tat ").append(frames[i]);
+        }
+        if (frames.length > MAX_ERROR_FRAMES) {
+            description.append("\n\t... ").append(frames.length - MAX_ERROR_FRAMES).append(" more");
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,30 @@
+package com.automationexercise.listeners;
+
+import com.automationexercise.utils.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies the suite XML's {@code <parameter>}s (e.g. {@code browser}, {@code headless}) as a layer of the
+ * {@link ConfigManager} configuration, before any test or other listener reads it. Environment variables and
+ * system properties still win. Register first; with several suites in one run, later suites win.
+ */
+public class SuiteConfigListener implements IAlterSuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(SuiteConfigListener.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        Map<String, String> parameters = new HashMap<>();
+        suites.forEach(suite -> parameters.putAll(suite.getParameters()));
+        if (!parameters.isEmpty()) {
+            ConfigManager.getInstance().applySuiteParameters(parameters);
+            logger.info("Applied suite parameters {} to the configuration", parameters.keySet());
+        }
+    }
+}
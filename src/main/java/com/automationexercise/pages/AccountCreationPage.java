@@ -4,77 +4,50 @@ import com.automationexercise.base.BasePage;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.ui.Select;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 public class AccountCreationPage extends BasePage {
 
     // Account Information
-    @FindBy(id = "id_gender1")
-    private WebElement titleMr;
-
-    @FindBy(id = "id_gender2")
-    private WebElement titleMrs;
-
-    @FindBy(id = "password")
-    private WebElement passwordInput;
-
-    @FindBy(id = "days")
-    private WebElement dobDaySelect;
-
-    @FindBy(id = "months")
-    private WebElement dobMonthSelect;
-
-    @FindBy(id = "years")
-    private WebElement dobYearSelect;
-
-    @FindBy(id = "newsletter")
-    private WebElement newsletterCheckbox;
-
-    @FindBy(id = "optin")
-    private WebElement offersCheckbox;
+    private static final String TITLE_MR = "#id_gender1";
+    private static final String TITLE_MRS = "#id_gender2";
+    private static final String PASSWORD_INPUT = "#password";
+    private static final String DOB_DAY_SELECT = "#days";
+    private static final String DOB_MONTH_SELECT = "#months";
+    private static final String DOB_YEAR_SELECT = "#years";
+    private static final String NEWSLETTER_CHECKBOX = "#newsletter";
+    private static final String OFFERS_CHECKBOX = "#optin";
 
     // Address Information
-    @FindBy(id = "first_name")
-    private WebElement firstNameInput;
-
-    @FindBy(id = "last_name")
-    private WebElement lastNameInput;
-
-    @FindBy(id = "company")
-    private WebElement companyInput;
-
-    @FindBy(id = "address1")
-    private WebElement address1Input;
-
-    @FindBy(id = "address2")
-    private WebElement address2Input;
-
-    @FindBy(id = "country")
-    private WebElement countrySelect;
-
-    @FindBy(id = "state")
-    private WebElement stateInput;
-
-    @FindBy(id = "city")
-    private WebElement cityInput;
-
-    @FindBy(id = "zipcode")
-    private WebElement zipcodeInput;
-
-    @FindBy(id = "mobile_number")
-    private WebElement mobileNumberInput;
+    private static final String FIRST_NAME_INPUT = "#first_name";
+    private static final String LAST_NAME_INPUT = "#last_name";
+    private static final String COMPANY_INPUT = "#company";
+    private static final String ADDRESS1_INPUT = "#address1";
+    private static final String ADDRESS2_INPUT = "#address2";
+    private static final String COUNTRY_SELECT = "#country";
+    private static final String STATE_INPUT = "#state";
+    private static final String CITY_INPUT = "#city";
+    private static final String ZIPCODE_INPUT = "#zipcode";
+    private static final String MOBILE_NUMBER_INPUT = "#mobile_number";
+
+    // Fields that must receive real keystrokes instead of scripted values (none on this form today)
+    private static final Set<String> KEYSTROKE_FIELDS = Collections.emptySet();
 
     @FindBy(xpath = "//button[text()='Create Account']")
-    private WebElement createAccountButton;
+    WebElement createAccountButton;
 
 //    @FindBy(xpath = "//b[contains(text(),'Account Created!')]")
 //    private WebElement accountCreatedText;
 
     @FindBy(xpath = "//*[@data-qa='account-created']")
-    private WebElement accountCreatedText;
+    WebElement accountCreatedText;
 
     @FindBy(xpath = "//*[@data-qa='continue-button']")
-    private WebElement continueButton;
+    WebElement continueButton;
 
     public AccountCreationPage(WebDriver driver) {
         super(driver);
@@ -83,63 +56,71 @@ public class AccountCreationPage extends BasePage {
     public void fillAccountInformation(String title, String password,
                                        String day, String month, String year,
                                        boolean newsletter, boolean offers) {
+        Map<String, String> fields = new LinkedHashMap<>();
 
         if (title != null && !title.isBlank()) {
             if ("Mr.".equalsIgnoreCase(title)) {
-                titleMr.click();
-                logger.debug("Selected title: Mr.");
+                fields.put(TITLE_MR, "true");
             } else if ("Mrs.".equalsIgnoreCase(title)) {
-                titleMrs.click();
-                logger.debug("Selected title: Mrs.");
+                fields.put(TITLE_MRS, "true");
             } else {
                 logger.debug("Skipped title selection (invalid value: {})", title);
             }
         }
 
-        sendKeysIfPresent(passwordInput, password);
-
-        selectByValueIfPresent(dobDaySelect, day);
-        selectByValueIfPresent(dobMonthSelect, month);
-        selectByValueIfPresent(dobYearSelect, year);
+        fields.put(PASSWORD_INPUT, password);
+        fields.put(DOB_DAY_SELECT, day);
+        fields.put(DOB_MONTH_SELECT, month);
+        fields.put(DOB_YEAR_SELECT, year);
 
-        if (newsletter && !newsletterCheckbox.isSelected()) {
-            newsletterCheckbox.click();
-            logger.debug("Checked newsletter checkbox");
+        // only ever check the boxes, like clicking them would
+        if (newsletter) {
+            fields.put(NEWSLETTER_CHECKBOX, "true");
         }
-
-        if (offers && !offersCheckbox.isSelected()) {
-            offersCheckbox.click();
-            logger.debug("Checked offers checkbox");
+        if (offers) {
+            fields.put(OFFERS_CHECKBOX, "true");
         }
+
+        fillForm(fields, KEYSTROKE_FIELDS);
     }
 
     public void fillAddressDetails(String firstName, String lastName, String company,
                                    String mandatoryAddress, String nonMandatoryAddress, String country,
                                    String state, String city, String zipcode,
                                    String mobile) {
-
-        sendKeysIfPresent(firstNameInput, firstName);
-        sendKeysIfPresent(lastNameInput, lastName);
-        sendKeysIfPresent(companyInput, company);
-        sendKeysIfPresent(address1Input, mandatoryAddress);
-        sendKeysIfPresent(address2Input, nonMandatoryAddress);
-        selectByVisibleTextIfPresent(countrySelect, country);
-        sendKeysIfPresent(stateInput, state);
-        sendKeysIfPresent(cityInput, city);
-        sendKeysIfPresent(zipcodeInput, zipcode);
-        sendKeysIfPresent(mobileNumberInput, mobile);
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put(FIRST_NAME_INPUT, firstName);
+        fields.put(LAST_NAME_INPUT, lastName);
+        fields.put(COMPANY_INPUT, company);
+        fields.put(ADDRESS1_INPUT, mandatoryAddress);
+        fields.put(ADDRESS2_INPUT, nonMandatoryAddress);
+        fields.put(COUNTRY_SELECT, country);
+        fields.put(STATE_INPUT, state);
+        fields.put(CITY_INPUT, city);
+        fields.put(ZIPCODE_INPUT, zipcode);
+        fields.put(MOBILE_NUMBER_INPUT, mobile);
+
+        fillForm(fields, KEYSTROKE_FIELDS);
     }
 
     public void createAccount() {
-        createAccountButton.click();
+        click(createAccountButton);
     }
 
     public boolean isAccountCreated() {
         return isElementVisible(accountCreatedText);
     }
 
+    /**
+     * Check that the account was not created, settling once the form page has been stable
+     * for a short window instead of waiting the full timeout for the confirmation.
+     */
+    public boolean isAccountNotCreated() {
+        return !isElementVisible(accountCreatedText, Expectation.ABSENT);
+    }
+
     public void clickRegisteredUserContinueButton() {
-        continueButton.click();
+        click(continueButton);
     }
 
 }
@@ -0,0 +1,41 @@
+package com.automationexercise.pages;
+
+/**
+ * One row of the cart, read in a single round-trip by {@link CartPage#getCartItems()}
+ */
+public class CartItem {
+    private final String name;
+    private final String price;
+    private final int quantity;
+
+    public CartItem(String name, String price, int quantity) {
+        this.name = name;
+        this.price = price;
+        this.quantity = quantity;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getPrice() {
+        return price;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Check if this row is the expected product (name contains the given part, case-insensitive) and quantity;
+     * a row without a name matches nothing
+     */
+    public boolean matches(String expectedNamePart, int expectedQuantity) {
+        return name != null && name.toLowerCase().contains(expectedNamePart.toLowerCase()) && quantity == expectedQuantity;
+    }
+
+    @Override
+    public String toString() {
+        return "CartItem{name='" + name + "', price='" + price + "', quantity=" + quantity + "}";
+    }
+}
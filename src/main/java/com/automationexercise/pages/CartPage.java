@@ -5,21 +5,32 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class CartPage extends BasePage {
 
+    private static final String CART_ROW_SELECTOR = "#cart_info_table tbody tr";
+    private static final Map<String, String> CART_CELL_SELECTORS = new LinkedHashMap<>();
+
+    static {
+        CART_CELL_SELECTORS.put("name", "td.cart_description h4");
+        CART_CELL_SELECTORS.put("price", "td.cart_price p");
+        CART_CELL_SELECTORS.put("quantity", "td.cart_quantity button");
+    }
+
     @FindBy(css = "td.cart_description")
-    private WebElement productName;
+    WebElement productName;
 
     @FindBy(css = "td.cart_price p")
-    private WebElement productPrice;
+    WebElement productPrice;
 
     @FindBy(css = "td.cart_quantity button")
-    private WebElement productQuantity;
+    WebElement productQuantity;
 
     @FindBy(css = "tbody tr")
-    private List<WebElement> cartItems;
+    List<WebElement> cartItems;
 
 //    @FindBy(css = "td.cart_description p a")
 //    private WebElement productName;
@@ -32,36 +43,38 @@ public class CartPage extends BasePage {
 
     // Additional elements for enhanced functionality
     @FindBy(xpath = "//p[contains(text(), 'Cart is empty')]")
-    private WebElement emptyCartMessage;
+    WebElement emptyCartMessage;
 
     @FindBy(linkText = "Home")
-    private WebElement homeLink;
+    WebElement homeLink;
 
     public CartPage(WebDriver driver) {
         super(driver);
     }
 
 
+    /**
+     * Read every cart row (name, price, quantity) in a single round-trip
+     */
+    public List<CartItem> getCartItems() {
+        return snapshot(CART_ROW_SELECTOR, CART_CELL_SELECTORS, row -> new CartItem(
+                row.get("name"), row.get("price"), parseQuantity(row.get("quantity"))));
+    }
+
     /**
      * Enhanced method - flexible verification for search results
      */
     public boolean verifyProductInCartContains(String expectedNamePart, int expectedQuantity) {
-        if (isCartEmpty()) {
-            return false;
-        }
-
-        String name = getText(productName);
-        String qty = getText(productQuantity);
-
-        return name.toLowerCase().contains(expectedNamePart.toLowerCase())
-                && qty.equals(String.valueOf(expectedQuantity));
+        return getCartItems().stream().anyMatch(item -> item.matches(expectedNamePart, expectedQuantity));
     }
 
     /**
      * Check if cart is empty
      */
     public boolean isCartEmpty() {
-        return cartItems.isEmpty() || isElementVisible(emptyCartMessage);
+        // no rows may just mean they have not rendered yet, so the empty-cart message decides;
+        // a product row means it will not show up, so don't wait the full timeout for it
+        return isElementVisible(emptyCartMessage, Expectation.ABSENT, productName);
     }
 
     /**
@@ -91,4 +104,12 @@ public class CartPage extends BasePage {
     public String getCartProductQuantity() {
         return getText(productQuantity);
     }
+
+    private static int parseQuantity(String quantity) {
+        try {
+            return quantity == null ? 0 : Integer.parseInt(quantity.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
 }
\ No newline at end of file
@@ -1,27 +1,45 @@
 package com.automationexercise.pages;
 
 import com.automationexercise.base.BasePage;
+import com.automationexercise.utils.NetworkBlocker;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 
+import java.time.Duration;
+
 public class HomePage extends BasePage {
 
+    // The consent dialog is rendered by this script; it is not shown at all when the script is blocked
+    private static final String CONSENT_MANAGER_URL = "https://fundingchoicesmessages.google.com/";
+    // Rendered after the page has loaded, so give it a moment to show up
+    private static final Duration CONSENT_DIALOG_TIMEOUT = Duration.ofSeconds(3);
+
     @FindBy(xpath = "(//p[normalize-space()='Confirm choices'])[1]")
-    private WebElement dialogConsentButton;
+    WebElement dialogConsentButton;
 
     @FindBy(css = "a[href='/login']")
-    private WebElement signupLoginLink;
+    WebElement signupLoginLink;
 
     @FindBy(css = "a[href='/products']")
-    private WebElement productsLink;
+    WebElement productsLink;
 
     public HomePage(WebDriver driver) {
         super(driver);
     }
 
+    /**
+     * Confirms the consent dialog if it shows up within a few seconds; does nothing when it does not appear.
+     * Returns right away when the consent-manager script is blocked for this session.
+     */
     public void closeInitialDialog() {
-        click(dialogConsentButton);
+        if (NetworkBlocker.blocks(driver, CONSENT_MANAGER_URL)) {
+            logger.debug("Consent manager blocked, skipping the consent dialog");
+        } else if (isElementVisible(dialogConsentButton, CONSENT_DIALOG_TIMEOUT)) {
+            click(dialogConsentButton);
+        } else {
+            logger.debug("Consent dialog not shown, skipping");
+        }
     }
 
     public void goToSignupLogin() {
@@ -8,16 +8,16 @@ import org.openqa.selenium.support.FindBy;
 public class NavigationBar extends BasePage {
 
     @FindBy(xpath = "//a[contains(text(),'Logged in as')]")
-    private WebElement loggedInAsText;
+    WebElement loggedInAsText;
 
 //    @FindBy(xpath = "//a[text()='Logout']")
 //    private WebElement logoutButton;
 
     @FindBy(xpath = "//a[contains(text(), 'Logout')]")
-    private WebElement logoutButton;
+    WebElement logoutButton;
 
     @FindBy(xpath = "//a[contains(text(), 'Signup / Login')]")
-    private WebElement signupLoginNavigationLink;
+    WebElement signupLoginNavigationLink;
 
     public NavigationBar(WebDriver driver) {
         super(driver);
@@ -27,8 +27,16 @@ public class NavigationBar extends BasePage {
         return isElementVisible(loggedInAsText);
     }
 
+    /**
+     * Check that no user is logged in, without waiting the full timeout for the "Logged in as" text.
+     * Call once the page has reacted to the last action (e.g. an error message is shown).
+     */
+    public boolean isUserLoggedOut() {
+        return !isElementVisible(loggedInAsText, Expectation.ABSENT, signupLoginNavigationLink);
+    }
+
     public void logout() {
-        logoutButton.click();
+        click(logoutButton);
     }
 
     /**
@@ -0,0 +1,27 @@
+package com.automationexercise.pages;
+
+/**
+ * One product card of the product listing, read in a single round-trip by {@link ProductsPage#getProductCards()}
+ */
+public class ProductCard {
+    private final String name;
+    private final String price;
+
+    public ProductCard(String name, String price) {
+        this.name = name;
+        this.price = price;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getPrice() {
+        return price;
+    }
+
+    @Override
+    public String toString() {
+        return "ProductCard{name='" + name + "', price='" + price + "'}";
+    }
+}
@@ -5,50 +5,60 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ProductsPage extends BasePage {
 
+    private static final String PRODUCT_CARD_SELECTOR = ".features_items .product-image-wrapper";
+    private static final Map<String, String> PRODUCT_CELL_SELECTORS = new LinkedHashMap<>();
+
+    static {
+        PRODUCT_CELL_SELECTORS.put("name", ".productinfo p");
+        PRODUCT_CELL_SELECTORS.put("price", ".productinfo h2");
+    }
+
     @FindBy(id = "search_product")
-    private WebElement searchInput;
+    WebElement searchInput;
 
     @FindBy(id = "submit_search")
-    private WebElement searchButton;
+    WebElement searchButton;
 
     @FindBy(xpath = "//h2[contains(text(),'Searched Products')]")
-    private WebElement searchedProductsHeader;
+    WebElement searchedProductsHeader;
 
     @FindBy(css = ".features_items .view-product")
-    private WebElement firstViewProductButton;
+    WebElement firstViewProductButton;
 
     @FindBy(css = ".features_items .product-image-wrapper")
-    private List<WebElement> productItems;
+    List<WebElement> productItems;
 
     @FindBy(xpath = "//div[@class='features_items']//div[@class='productinfo text-center']")
-    private List<WebElement> productInfos;
+    List<WebElement> productInfos;
 
     // Specific elements for first product
     @FindBy(xpath = "(//div[@class='productinfo text-center']//p)[1]")
-    private WebElement firstProductName;
+    WebElement firstProductName;
 
     @FindBy(xpath = "(//div[@class='productinfo text-center']//h2)[1]")
-    private WebElement firstProductPrice;
+    WebElement firstProductPrice;
 
 //    @FindBy(css = ".features_items .productinfo h2")
 //    private WebElement firstProductPrice;
 
     @FindBy(xpath = "(//a[contains(@class, 'add-to-cart')])[1]")
-    private WebElement firstAddToCartButton;
+    WebElement firstAddToCartButton;
 
     // Modal elements for add to cart functionality
     @FindBy(css = ".modal")
-    private WebElement addToCartModal;
+    WebElement addToCartModal;
 
     @FindBy(xpath = "//a[@href='/view_cart']")
-    private WebElement viewCartFromModal;
+    WebElement viewCartFromModal;
 
     @FindBy(xpath = "//button[contains(text(), 'Continue Shopping')]")
-    private WebElement continueShoppingButton;
+    WebElement continueShoppingButton;
 
 
     public ProductsPage(WebDriver driver) {
@@ -71,6 +81,14 @@ public class ProductsPage extends BasePage {
         return productItems.size();
     }
 
+    /**
+     * Read every product card (name, price) in a single round-trip
+     */
+    public List<ProductCard> getProductCards() {
+        return snapshot(PRODUCT_CARD_SELECTOR, PRODUCT_CELL_SELECTORS,
+                row -> new ProductCard(row.get("name"), row.get("price")));
+    }
+
     /**
      * Get first product name from search results
      */
@@ -82,12 +100,14 @@ public class ProductsPage extends BasePage {
      * Verify search results contain the searched term
      */
     public boolean doSearchResultsContainTerm(String searchTerm) {
-        if (!isSearchResultsVisible() || getProductCount() == 0) {
+        if (!isSearchResultsVisible()) {
             return false;
         }
 
-        String firstProductName = getFirstProductName();
-        return firstProductName.toLowerCase().contains(searchTerm.toLowerCase());
+        List<ProductCard> cards = getProductCards();
+        // a card without a name cell comes back with a null name
+        String firstName = cards.isEmpty() ? null : cards.get(0).getName();
+        return firstName != null && firstName.toLowerCase().contains(searchTerm.toLowerCase());
     }
 
     /**
@@ -109,7 +129,7 @@ public class ProductsPage extends BasePage {
     }
 
     public String getFirstProductPrice() {
-        return firstProductPrice.getText().trim();
+        return getText(firstProductPrice).trim();
     }
 
 }
\ No newline at end of file
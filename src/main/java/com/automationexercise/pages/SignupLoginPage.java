@@ -9,37 +9,41 @@ public class SignupLoginPage extends BasePage {
 
     // --- Signup section
     @FindBy(name = "name")
-    private WebElement signupNameInput;
+    WebElement signupNameInput;
 
     @FindBy(xpath = "//form[@action='/signup']//input[@name='email']")
-    private WebElement signupEmailInput;
+    WebElement signupEmailInput;
 
     @FindBy(xpath = "//button[text()='Signup']")
-    private WebElement signupButton;
+    WebElement signupButton;
 
     // --- Login section
     @FindBy(xpath = "//form[@action='/login']//input[@name='email']")
-    private WebElement loginEmailInput;
+    WebElement loginEmailInput;
 
     @FindBy(xpath = "//form[@action='/login']//input[@name='password']")
-    private WebElement loginPasswordInput;
+    WebElement loginPasswordInput;
 
     @FindBy(xpath = "//button[text()='Login']")
-    private WebElement loginButton;
+    WebElement loginButton;
 
     // --- Error messages
     @FindBy(xpath = "//p[contains(text(), 'Your email or password is incorrect!')]")
-    private WebElement loginErrorMessage;
+    WebElement loginErrorMessage;
 
     @FindBy(xpath = "//p[contains(text(), 'Email Address already exist!')]")
-    private WebElement signupErrorMessage;
+    WebElement signupErrorMessage;
+
+    // --- Login success marker (competes with the login error message)
+    @FindBy(xpath = "//a[contains(text(),'Logged in as')]")
+    WebElement loggedInAsText;
 
     // --- Page verification
     @FindBy(xpath = "//h2[contains(text(), 'Login to your account')]")
-    private WebElement loginSectionHeader;
+    WebElement loginSectionHeader;
 
     @FindBy(xpath = "//h2[contains(text(), 'New User Signup!')]")
-    private WebElement signupSectionHeader;
+    WebElement signupSectionHeader;
 
 
     public SignupLoginPage(WebDriver driver) {
@@ -54,7 +58,7 @@ public class SignupLoginPage extends BasePage {
         signupNameInput.sendKeys(name);
         signupEmailInput.clear();
         signupEmailInput.sendKeys(email);
-        signupButton.click();
+        click(signupButton);
     }
 
     /**
@@ -65,14 +69,14 @@ public class SignupLoginPage extends BasePage {
         loginEmailInput.sendKeys(email);
         loginPasswordInput.clear();
         loginPasswordInput.sendKeys(password);
-        loginButton.click();
+        click(loginButton);
     }
 
     /**
-     * Check if login error message is displayed
+     * Check if login error message is displayed; returns early once the login succeeded instead
      */
     public boolean isLoginErrorDisplayed() {
-        return isElementVisible(loginErrorMessage);
+        return isElementVisible(loginErrorMessage, Expectation.VISIBLE, loggedInAsText);
     }
 
 
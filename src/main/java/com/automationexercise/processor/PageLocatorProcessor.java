@@ -0,0 +1,331 @@
+package com.automationexercise.processor;
+
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.How;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Generates a {@code <Page>_Locators} binder for every class with {@code @FindBy} fields and registers
+ * it as a {@code com.automationexercise.base.PageBinder} service, so pages are bound with plain field
+ * assignments instead of PageFactory reflection and proxies.
+ * Locators are validated while generating: a {@code @FindBy} must name exactly one strategy, XPath must
+ * compile and CSS selectors must be well-formed, otherwise the build fails with an error on the field.
+ */
+@SupportedAnnotationTypes({
+        "org.openqa.selenium.support.FindBy",
+        "org.openqa.selenium.support.FindBys",
+        "org.openqa.selenium.support.FindAll"
+})
+public class PageLocatorProcessor extends AbstractProcessor {
+    private static final String BINDER_INTERFACE = "com.automationexercise.base.PageBinder";
+    private static final String SERVICE_FILE = "META-INF/services/" + BINDER_INTERFACE;
+
+    private final Set<String> generatedBinders = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(FindBys.class)) {
+            error(element, "@FindBys is not supported by the generated page binders, use a single @FindBy");
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(FindAll.class)) {
+            error(element, "@FindAll is not supported by the generated page binders, use a single @FindBy");
+        }
+
+        Map<TypeElement, List<Binding>> pages = new LinkedHashMap<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(FindBy.class)) {
+            Binding binding = toBinding(element);
+            if (binding != null) {
+                pages.computeIfAbsent((TypeElement) element.getEnclosingElement(), page -> new ArrayList<>()).add(binding);
+            }
+        }
+        pages.forEach(this::writeBinder);
+
+        if (roundEnv.processingOver() && !generatedBinders.isEmpty()) {
+            writeServiceFile();
+        }
+        return false;
+    }
+
+    private Binding toBinding(Element element) {
+        if (element.getKind() != ElementKind.FIELD) {
+            error(element, "@FindBy is only supported on fields");
+            return null;
+        }
+        VariableElement field = (VariableElement) element;
+        Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC)
+                || modifiers.contains(Modifier.FINAL)) {
+            error(field, "@FindBy field must not be private, static or final so the generated binder can assign it");
+            return null;
+        }
+
+        String elementType;
+        if (isType(field.asType(), "org.openqa.selenium.WebElement")) {
+            elementType = "CachedElement";
+        } else if (isListOfWebElements(field.asType())) {
+            elementType = "CachedElementList";
+        } else {
+            error(field, "@FindBy field must be a WebElement or List<WebElement>");
+            return null;
+        }
+
+        String locator = toLocatorExpression(field, field.getAnnotation(FindBy.class));
+        return locator == null ? null : new Binding(field.getSimpleName().toString(), elementType, locator);
+    }
+
+    /**
+     * Returns the {@code By} expression for the annotation, or null after reporting an invalid locator.
+     */
+    private String toLocatorExpression(Element field, FindBy findBy) {
+        Map<String, String> strategies = new LinkedHashMap<>();
+        putIfSet(strategies, "id", findBy.id());
+        putIfSet(strategies, "name", findBy.name());
+        putIfSet(strategies, "className", findBy.className());
+        putIfSet(strategies, "cssSelector", findBy.css());
+        putIfSet(strategies, "tagName", findBy.tagName());
+        putIfSet(strategies, "linkText", findBy.linkText());
+        putIfSet(strategies, "partialLinkText", findBy.partialLinkText());
+        putIfSet(strategies, "xpath", findBy.xpath());
+        if (findBy.how() != How.UNSET) {
+            if (findBy.using().isEmpty()) {
+                error(field, "@FindBy(how = " + findBy.how() + ") needs a 'using' value");
+                return null;
+            }
+            strategies.put(strategyFor(findBy.how()), findBy.using());
+        }
+
+        if (strategies.size() != 1) {
+            error(field, "@FindBy must specify exactly one locator strategy, found " + strategies.keySet());
+            return null;
+        }
+
+        Map.Entry<String, String> strategy = strategies.entrySet().iterator().next();
+        String problem = validate(strategy.getKey(), strategy.getValue());
+        if (problem != null) {
+            error(field, "Invalid " + strategy.getKey() + " locator \"" + strategy.getValue() + "\": " + problem);
+            return null;
+        }
+
+        String value = processingEnv.getElementUtils().getConstantExpression(strategy.getValue());
+        return "idOrName".equals(strategy.getKey())
+                ? "new ByIdOrName(" + value + ")"
+                : "By." + strategy.getKey() + "(" + value + ")";
+    }
+
+    private static String strategyFor(How how) {
+        switch (how) {
+            case CLASS_NAME:
+                return "className";
+            case CSS:
+                return "cssSelector";
+            case ID:
+                return "id";
+            case ID_OR_NAME:
+                return "idOrName";
+            case LINK_TEXT:
+                return "linkText";
+            case NAME:
+                return "name";
+            case PARTIAL_LINK_TEXT:
+                return "partialLinkText";
+            case TAG_NAME:
+                return "tagName";
+            case XPATH:
+                return "xpath";
+            default:
+                throw new IllegalArgumentException("Unsupported locator strategy: " + how);
+        }
+    }
+
+    /**
+     * Returns a description of what is wrong with the locator, or null if it looks valid.
+     */
+    static String validate(String strategy, String value) {
+        if (value.isBlank()) {
+            return "locator is blank";
+        }
+        switch (strategy) {
+            case "xpath":
+                try {
+                    XPathFactory.newInstance().newXPath().compile(value);
+                    return null;
+                } catch (XPathExpressionException e) {
+                    return "not a valid XPath expression";
+                }
+            case "cssSelector":
+                return validateCss(value);
+            case "id":
+            case "name":
+            case "className":
+            case "tagName":
+                return value.trim().contains(" ") ? "must not contain whitespace" : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Basic well-formedness check: balanced brackets, parentheses and quotes, and no dangling combinators.
+     */
+    private static String validateCss(String selector) {
+        String trimmed = selector.trim();
+        if (",>+~".indexOf(trimmed.charAt(0)) >= 0 || ",>+~".indexOf(trimmed.charAt(trimmed.length() - 1)) >= 0) {
+            return "starts or ends with a combinator";
+        }
+
+        StringBuilder open = new StringBuilder();
+        char quote = 0;
+        for (char c : trimmed.toCharArray()) {
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '[' || c == '(') {
+                open.append(c);
+            } else if (c == ']' || c == ')') {
+                char expected = c == ']' ? '[' : '(';
+                if (open.length() == 0 || open.charAt(open.length() - 1) != expected) {
+                    return "unbalanced '" + c + "'";
+                }
+                open.setLength(open.length() - 1);
+            }
+        }
+        if (quote != 0) {
+            return "unterminated string";
+        }
+        return open.length() == 0 ? null : "unclosed '" + open.charAt(open.length() - 1) + "'";
+    }
+
+    private void writeBinder(TypeElement page, List<Binding> bindings) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(page).getQualifiedName().toString();
+        String pageName = page.getSimpleName().toString();
+        String binderName = pageName + "_Locators";
+        String qualifiedName = packageName.isEmpty() ? binderName : packageName + "." + binderName;
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, page);
+            try (Writer out = file.openWriter()) {
+                if (!packageName.isEmpty()) {
+                    out.write("package " + packageName + ";\n\n");
+                }
+                Set<String> imports = new TreeSet<>(List.of("com.automationexercise.base.ElementCache",
+                        "com.automationexercise.base.PageBinder", "org.openqa.selenium.By"));
+                for (Binding binding : bindings) {
+                    imports.add("com.automationexercise.base." + binding.elementType);
+                    if (binding.locator.startsWith("new ByIdOrName")) {
+                        imports.add("org.openqa.selenium.support.ByIdOrName");
+                    }
+                }
+                for (String type : imports) {
+                    out.write("import " + type + ";\n");
+                }
+                out.write("\n");
+                out.write("/**\n * Binds the {@code @FindBy} fields of {@link " + pageName + "}.\n"
+                        + " * Generated by " + getClass().getSimpleName() + ", do not edit.\n */\n");
+                out.write("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")\n");
+                out.write("public final class " + binderName + " implements PageBinder<" + pageName + "> {\n");
+                for (Binding binding : bindings) {
+                    out.write("    private static final By " + binding.constantName() + " = " + binding.locator + ";\n");
+                }
+                out.write("\n    @Override\n    public Class<" + pageName + "> pageType() {\n");
+                out.write("        return " + pageName + ".class;\n    }\n");
+                out.write("\n    @Override\n    public void bind(" + pageName + " page, ElementCache cache) {\n");
+                for (Binding binding : bindings) {
+                    out.write("        page." + binding.field + " = new " + binding.elementType + "(cache, "
+                            + binding.constantName() + ", \"" + pageName + "." + binding.field + "\");\n");
+                }
+                out.write("    }\n}\n");
+            }
+            generatedBinders.add(qualifiedName);
+        } catch (IOException e) {
+            error(page, "Could not generate " + qualifiedName + ": " + e.getMessage());
+        }
+    }
+
+    private void writeServiceFile() {
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer out = file.openWriter()) {
+                for (String binder : generatedBinders) {
+                    out.write(binder + "\n");
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not write " + SERVICE_FILE + ": " + e.getMessage());
+        }
+    }
+
+    private boolean isType(TypeMirror type, String qualifiedName) {
+        TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+        return erased.toString().equals(qualifiedName);
+    }
+
+    private boolean isListOfWebElements(TypeMirror type) {
+        if (!isType(type, "java.util.List") || !(type instanceof DeclaredType)) {
+            return false;
+        }
+        List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+        return arguments.size() == 1 && isType(arguments.get(0), "org.openqa.selenium.WebElement");
+    }
+
+    private static void putIfSet(Map<String, String> strategies, String strategy, String value) {
+        if (!value.isEmpty()) {
+            strategies.put(strategy, value);
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static final class Binding {
+        private final String field;
+        private final String elementType;
+        private final String locator;
+
+        private Binding(String field, String elementType, String locator) {
+            this.field = field;
+            this.elementType = elementType;
+            this.locator = locator;
+        }
+
+        private String constantName() {
+            return field.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+        }
+    }
+}
@@ -0,0 +1,543 @@
+package com.automationexercise.storefront;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Embedded stand-in for the automationexercise storefront, for network-free runs.
+ * Serves recorded copies of the home, products/search, cart, login/signup, account form and
+ * account-created pages from {@code src/main/resources/storefront/local}, and emulates the stateful
+ * endpoints (search, add-to-cart, signup, login/logout and the {@code /api} account calls) with
+ * in-memory state. Pages keep the markup the page objects locate, not the site's styling or scripts.
+ */
+public class LocalStorefront implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(LocalStorefront.class);
+
+    private static final String RESOURCES = "storefront/local/";
+    private static final String CSRF_COOKIE = "csrftoken";
+    private static final String SESSION_COOKIE = "sessionid";
+    private static final String[] MONTHS = {"January", "February", "March", "April", "May", "June", "July",
+            "August", "September", "October", "November", "December"};
+    private static final String[] COUNTRIES = {"India", "United States", "Canada", "Australia", "Israel",
+            "New Zealand", "Singapore"};
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, String> templates = new ConcurrentHashMap<>();
+    private final List<Product> catalog;
+
+    private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+    private final Map<String, String> emailsBySession = new ConcurrentHashMap<>();
+    private final Map<String, Map<Integer, Integer>> cartsByVisitor = new ConcurrentHashMap<>();
+
+    /**
+     * Starts the server on the loopback interface.
+     *
+     * @param port the port to listen on, 0 for any free port
+     * @throws UncheckedIOException if the server cannot be started
+     */
+    public LocalStorefront(int port) {
+        this.catalog = loadCatalog();
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start local storefront on port " + port, e);
+        }
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "local-storefront");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        logger.info("Local storefront listening on {}", getBaseUrl());
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            Request request = new Request(exchange);
+            String path = request.path;
+
+            if (path.equals("/")) {
+                home(request);
+            } else if (path.equals("/products")) {
+                products(request);
+            } else if (path.startsWith("/add_to_cart/")) {
+                addToCart(request, path.substring("/add_to_cart/".length()));
+            } else if (path.equals("/view_cart")) {
+                viewCart(request);
+            } else if (path.equals("/login")) {
+                login(request);
+            } else if (path.equals("/logout")) {
+                logout(request);
+            } else if (path.equals("/signup")) {
+                signup(request);
+            } else if (path.equals("/account_created")) {
+                sendPage(request, "Account Created", render("account_created.html", Collections.emptyMap()));
+            } else if (path.equals("/robots.txt")) {
+                send(request, 200, "text/plain; charset=utf-8", template("robots.txt"));
+            } else if (path.startsWith("/api/")) {
+                api(request, path.substring("/api/".length()));
+            } else {
+                send(request, 404, "text/plain; charset=utf-8", "Not found");
+            }
+        } catch (RuntimeException e) {
+            logger.error("Local storefront failed to handle {}", exchange.getRequestURI(), e);
+            exchange.sendResponseHeaders(500, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // --- pages
+
+    private void home(Request request) throws IOException {
+        sendPage(request, "", render("home.html", Map.of("products", renderProducts(catalog.subList(0, 6)))));
+    }
+
+    private void products(Request request) throws IOException {
+        String search = request.query.get("search");
+        List<Product> results = search == null ? catalog : search(search);
+
+        Map<String, String> values = new HashMap<>();
+        values.put("search", escape(search == null ? "" : search));
+        values.put("heading", search == null ? "All Products" : "Searched Products");
+        values.put("products", renderProducts(results));
+        sendPage(request, " - All Products", render("products.html", values));
+    }
+
+    private void addToCart(Request request, String productId) throws IOException {
+        Product product = findProduct(productId);
+        if (product == null) {
+            send(request, 404, "text/plain; charset=utf-8", "Product not found");
+            return;
+        }
+        cartsByVisitor.computeIfAbsent(request.visitorId(), visitor -> Collections.synchronizedMap(new LinkedHashMap<>()))
+                .merge(product.id, 1, Integer::sum);
+        send(request, 200, "text/plain; charset=utf-8", "Added " + product.name);
+    }
+
+    private void viewCart(Request request) throws IOException {
+        Map<Integer, Integer> cart = cartsByVisitor.getOrDefault(request.visitorId(), Collections.emptyMap());
+        StringBuilder rows = new StringBuilder();
+        synchronized (cart) {
+            cart.forEach((productId, quantity) -> {
+                Product product = findProduct(String.valueOf(productId));
+                Map<String, String> values = product.values();
+                values.put("quantity", String.valueOf(quantity));
+                values.put("total", "Rs. " + product.priceValue() * quantity);
+                rows.append(render("cart-row.html", values));
+            });
+        }
+
+        Map<String, String> values = new HashMap<>();
+        values.put("rows", rows.toString());
+        values.put("empty", rows.length() == 0 ? template("cart-empty.html") : "");
+        sendPage(request, " - Checkout", render("cart.html", values));
+    }
+
+    private void login(Request request) throws IOException {
+        if (!"POST".equals(request.method)) {
+            sendLoginPage(request, "", "");
+            return;
+        }
+        if (!request.hasValidCsrfToken()) {
+            send(request, 403, "text/html; charset=utf-8", "CSRF verification failed. Request aborted.");
+            return;
+        }
+
+        Account account = accounts.get(request.form.getOrDefault("email", ""));
+        if (account == null || !account.password.equals(request.form.get("password"))) {
+            sendLoginPage(request, "<p style=\"color: red;\">Your email or password is incorrect!</p>", "");
+            return;
+        }
+
+        startSession(request, account);
+        redirect(request, "/");
+    }
+
+    private void logout(Request request) throws IOException {
+        String sessionId = request.cookies.get(SESSION_COOKIE);
+        if (sessionId != null) {
+            emailsBySession.remove(sessionId);
+        }
+        request.exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=; Path=/; Max-Age=0");
+        redirect(request, "/login");
+    }
+
+    private void signup(Request request) throws IOException {
+        if (!"POST".equals(request.method)) {
+            redirect(request, "/login");
+            return;
+        }
+        if (!request.hasValidCsrfToken()) {
+            send(request, 403, "text/html; charset=utf-8", "CSRF verification failed. Request aborted.");
+            return;
+        }
+
+        if ("create_account".equals(request.form.get("form_type"))) {
+            createAccountFromForm(request);
+            return;
+        }
+
+        String name = request.form.getOrDefault("name", "");
+        String email = request.form.getOrDefault("email", "");
+        if (accounts.containsKey(email)) {
+            sendLoginPage(request, "", "<p style=\"color: red;\">Email Address already exist!</p>");
+            return;
+        }
+
+        Map<String, String> values = new HashMap<>();
+        values.put("csrf", request.csrfToken());
+        values.put("name", escape(name));
+        values.put("email", escape(email));
+        values.put("day_options", options(range(1, 31), null));
+        values.put("month_options", monthOptions());
+        values.put("year_options", options(range(1900, 2021), null));
+        values.put("country_options", options(List.of(COUNTRIES), COUNTRIES[0]));
+        sendPage(request, " - Signup", render("signup.html", values));
+    }
+
+    private void createAccountFromForm(Request request) throws IOException {
+        Map<String, String> form = request.form;
+        String email = form.getOrDefault("email_address", "");
+        for (String required : new String[]{"name", "password", "first_name", "last_name", "address1",
+                "state", "city", "zipcode", "mobile_number"}) {
+            if (form.getOrDefault(required, "").isBlank() || email.isBlank()) {
+                send(request, 400, "text/html; charset=utf-8", "Missing required field: " + required);
+                return;
+            }
+        }
+
+        Account account = new Account(form.get("name"), email, form.get("password"));
+        if (accounts.putIfAbsent(email, account) != null) {
+            sendLoginPage(request, "", "<p style=\"color: red;\">Email Address already exist!</p>");
+            return;
+        }
+        startSession(request, account);
+        redirect(request, "/account_created");
+    }
+
+    private void sendLoginPage(Request request, String loginError, String signupError) throws IOException {
+        Map<String, String> values = new HashMap<>();
+        values.put("csrf", request.csrfToken());
+        values.put("login_error", loginError);
+        values.put("signup_error", signupError);
+        sendPage(request, " - Signup / Login", render("login.html", values));
+    }
+
+    private void startSession(Request request, Account account) {
+        String sessionId = UUID.randomUUID().toString().replace("-", "");
+        emailsBySession.put(sessionId, account.email);
+        request.exchange.getResponseHeaders().add("Set-Cookie",
+                SESSION_COOKIE + "=" + sessionId + "; Path=/; Max-Age=1209600; HttpOnly; SameSite=Lax");
+    }
+
+    // --- account API, answering HTTP 200 with the outcome in responseCode like the real API
+
+    private void api(Request request, String endpoint) throws IOException {
+        Map<String, String> form = request.form;
+        String email = form.getOrDefault("email", "");
+        Account account = accounts.get(email);
+
+        switch (endpoint) {
+            case "createAccount":
+                if (!"POST".equals(request.method)) {
+                    sendApi(request, 405, "This request method is not supported.");
+                } else if (accounts.putIfAbsent(email, new Account(form.get("name"), email, form.get("password"))) != null) {
+                    sendApi(request, 400, "Email already exists!");
+                } else {
+                    sendApi(request, 201, "User created!");
+                }
+                break;
+            case "deleteAccount":
+                if (!"DELETE".equals(request.method)) {
+                    sendApi(request, 405, "This request method is not supported.");
+                } else if (account != null && account.password.equals(form.get("password"))
+                        && accounts.remove(email, account)) {
+                    sendApi(request, 200, "Account deleted!");
+                } else {
+                    sendApi(request, 404, "Account not found!");
+                }
+                break;
+            case "verifyLogin":
+                if (account != null && account.password.equals(form.get("password"))) {
+                    sendApi(request, 200, "User exists!");
+                } else {
+                    sendApi(request, 404, "User not found!");
+                }
+                break;
+            default:
+                sendApi(request, 404, "API not found!");
+        }
+    }
+
+    private void sendApi(Request request, int responseCode, String message) throws IOException {
+        send(request, 200, "application/json",
+                "{\"responseCode\": " + responseCode + ", \"message\": \"" + message + "\"}");
+    }
+
+    // --- rendering
+
+    private void sendPage(Request request, String title, String content) throws IOException {
+        // every page hands out the visitor's CSRF cookie, which the cart is keyed by
+        request.csrfToken();
+        Account account = request.account();
+        String accountLinks = account == null
+                ? template("nav-logged-out.html")
+                : render("nav-logged-in.html", Map.of("name", escape(account.name)));
+
+        Map<String, String> values = new HashMap<>();
+        values.put("title", title);
+        values.put("account_links", accountLinks.trim());
+        values.put("content", content);
+        send(request, 200, "text/html; charset=utf-8", render("layout.html", values));
+    }
+
+    private String renderProducts(List<Product> products) {
+        return products.stream()
+                .map(product -> render("product-card.html", product.values()))
+                .collect(Collectors.joining("\n        "));
+    }
+
+    private String render(String name, Map<String, String> values) {
+        String html = template(name);
+        for (Map.Entry<String, String> value : values.entrySet()) {
+            html = html.replace("{{" + value.getKey() + "}}", value.getValue());
+        }
+        return html;
+    }
+
+    private String template(String name) {
+        return templates.computeIfAbsent(name, LocalStorefront::readResource);
+    }
+
+    private static String options(List<String> values, String selected) {
+        return values.stream()
+                .map(value -> "<option value=\"" + escape(value) + "\"" + (value.equals(selected) ? " selected" : "")
+                        + ">" + escape(value) + "</option>")
+                .collect(Collectors.joining());
+    }
+
+    private static String monthOptions() {
+        StringBuilder options = new StringBuilder();
+        for (int month = 1; month <= MONTHS.length; month++) {
+            options.append("<option value=\"").append(month).append("\">").append(MONTHS[month - 1]).append("</option>");
+        }
+        return options.toString();
+    }
+
+    private static List<String> range(int from, int to) {
+        List<String> values = new ArrayList<>();
+        for (int i = from; i <= to; i++) {
+            values.add(String.valueOf(i));
+        }
+        return values;
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    // --- catalogue
+
+    private List<Product> search(String term) {
+        String needle = term.trim().toLowerCase(Locale.ROOT);
+        return catalog.stream()
+                .filter(product -> product.name.toLowerCase(Locale.ROOT).contains(needle)
+                        || product.category.toLowerCase(Locale.ROOT).contains(needle))
+                .collect(Collectors.toList());
+    }
+
+    private Product findProduct(String id) {
+        return catalog.stream().filter(product -> String.valueOf(product.id).equals(id)).findFirst().orElse(null);
+    }
+
+    private static List<Product> loadCatalog() {
+        List<Product> products = new ArrayList<>();
+        for (String line : readResource("products.csv").split("\n")) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split(",", 4);
+            products.add(new Product(Integer.parseInt(fields[0]), fields[1], fields[2], fields[3].trim()));
+        }
+        return Collections.unmodifiableList(products);
+    }
+
+    private static String readResource(String name) {
+        try (InputStream input = LocalStorefront.class.getClassLoader().getResourceAsStream(RESOURCES + name)) {
+            if (input == null) {
+                throw new RuntimeException("Storefront resource not found: " + RESOURCES + name);
+            }
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+                return reader.lines().collect(Collectors.joining("\n"));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + RESOURCES + name, e);
+        }
+    }
+
+    private static void redirect(Request request, String location) throws IOException {
+        request.exchange.getResponseHeaders().set("Location", location);
+        request.exchange.sendResponseHeaders(302, -1);
+    }
+
+    private static void send(Request request, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        request.exchange.getResponseHeaders().set("Content-Type", contentType);
+        request.exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = request.exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parseParameters(String encoded) {
+        Map<String, String> parameters = new HashMap<>();
+        if (encoded == null || encoded.isEmpty()) {
+            return parameters;
+        }
+        for (String pair : encoded.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq >= 0 ? pair.substring(0, eq) : pair;
+            String value = eq >= 0 ? pair.substring(eq + 1) : "";
+            parameters.putIfAbsent(URLDecoder.decode(key, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    /**
+     * One parsed request, issuing the CSRF cookie (which also identifies the visitor's cart) when missing.
+     */
+    private final class Request {
+        private final HttpExchange exchange;
+        private final String method;
+        private final String path;
+        private final Map<String, String> query;
+        private final Map<String, String> form;
+        private final Map<String, String> cookies = new HashMap<>();
+        private String csrfToken;
+
+        private Request(HttpExchange exchange) throws IOException {
+            this.exchange = exchange;
+            this.method = exchange.getRequestMethod();
+            URI uri = exchange.getRequestURI();
+            this.path = uri.getPath();
+            this.query = parseParameters(uri.getRawQuery());
+            this.form = parseParameters(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+
+            String cookieHeader = exchange.getRequestHeaders().getFirst("Cookie");
+            if (cookieHeader != null) {
+                for (String cookie : cookieHeader.split(";")) {
+                    int eq = cookie.indexOf('=');
+                    if (eq > 0) {
+                        cookies.put(cookie.substring(0, eq).trim(), cookie.substring(eq + 1).trim());
+                    }
+                }
+            }
+        }
+
+        private String csrfToken() {
+            if (csrfToken == null) {
+                csrfToken = cookies.get(CSRF_COOKIE);
+                if (csrfToken == null) {
+                    csrfToken = UUID.randomUUID().toString().replace("-", "");
+                    exchange.getResponseHeaders().add("Set-Cookie",
+                            CSRF_COOKIE + "=" + csrfToken + "; Path=/; Max-Age=31449600; SameSite=Lax");
+                }
+            }
+            return csrfToken;
+        }
+
+        private String visitorId() {
+            return csrfToken();
+        }
+
+        private boolean hasValidCsrfToken() {
+            String cookie = cookies.get(CSRF_COOKIE);
+            return cookie != null && cookie.equals(form.get("csrfmiddlewaretoken"));
+        }
+
+        private Account account() {
+            String sessionId = cookies.get(SESSION_COOKIE);
+            String email = sessionId == null ? null : emailsBySession.get(sessionId);
+            return email == null ? null : accounts.get(email);
+        }
+    }
+
+    private static final class Account {
+        private final String name;
+        private final String email;
+        private final String password;
+
+        private Account(String name, String email, String password) {
+            this.name = name;
+            this.email = email;
+            this.password = password;
+        }
+    }
+
+    private static final class Product {
+        private final int id;
+        private final String name;
+        private final String price;
+        private final String category;
+
+        private Product(int id, String name, String price, String category) {
+            this.id = id;
+            this.name = name;
+            this.price = price;
+            this.category = category;
+        }
+
+        private int priceValue() {
+            return Integer.parseInt(price.replaceAll("[^0-9]", ""));
+        }
+
+        private Map<String, String> values() {
+            Map<String, String> values = new HashMap<>();
+            values.put("id", String.valueOf(id));
+            values.put("name", escape(name));
+            values.put("price", escape(price));
+            values.put("category", escape(category));
+            return values;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.automationexercise.utils;
+
+import io.restassured.RestAssured;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thin client for the automationexercise account API ({@code /createAccount}, {@code /deleteAccount},
+ * {@code /verifyLogin}). The API always answers HTTP 200 and reports the outcome in a
+ * {@code responseCode} field of the JSON body.
+ */
+public class AccountApiClient {
+    private static final Logger logger = LoggerFactory.getLogger(AccountApiClient.class);
+
+    private final String apiUrl;
+
+    public AccountApiClient() {
+        this(ConfigManager.getInstance().getApiUrl());
+    }
+
+    /**
+     * @param apiUrl the API root, e.g. {@code https://automationexercise.com/api}
+     */
+    public AccountApiClient(String apiUrl) {
+        this.apiUrl = apiUrl.endsWith("/") ? apiUrl.substring(0, apiUrl.length() - 1) : apiUrl;
+    }
+
+    /**
+     * Registers a new account with default address details.
+     *
+     * @param credentials the email, password and name of the account
+     * @throws RuntimeException if the API does not confirm the creation
+     */
+    public void createAccount(UserCredentials credentials) {
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("name", credentials.getName());
+        form.put("email", credentials.getEmail());
+        form.put("password", credentials.getPassword());
+        form.put("title", "Mr");
+        form.put("birth_date", "1");
+        form.put("birth_month", "1");
+        form.put("birth_year", "1990");
+        form.put("firstname", "Test");
+        form.put("lastname", "User");
+        form.put("company", "");
+        form.put("address1", "123 Street");
+        form.put("address2", "");
+        form.put("country", "United States");
+        form.put("zipcode", "90001");
+        form.put("state", "California");
+        form.put("city", "Los Angeles");
+        form.put("mobile_number", "1234567890");
+
+        expect(post("/createAccount", form), 201, "create account " + credentials.getEmail());
+        logger.debug("Created account via API: {}", credentials.getEmail());
+    }
+
+    /**
+     * Deletes an account.
+     *
+     * @param credentials the email and password of the account
+     * @throws RuntimeException if the API does not confirm the deletion
+     */
+    public void deleteAccount(UserCredentials credentials) {
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("email", credentials.getEmail());
+        form.put("password", credentials.getPassword());
+
+        Response response = RestAssured.given()
+                .formParams(form)
+                .delete(apiUrl + "/deleteAccount");
+        expect(response, 200, "delete account " + credentials.getEmail());
+        logger.debug("Deleted account via API: {}", credentials.getEmail());
+    }
+
+    /**
+     * Checks whether the credentials belong to an existing account.
+     *
+     * @param credentials the email and password to verify
+     * @return true if the API accepts the credentials
+     */
+    public boolean verifyLogin(UserCredentials credentials) {
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("email", credentials.getEmail());
+        form.put("password", credentials.getPassword());
+
+        return responseCode(post("/verifyLogin", form)) == 200;
+    }
+
+    private Response post(String path, Map<String, String> form) {
+        return RestAssured.given()
+                .formParams(form)
+                .post(apiUrl + path);
+    }
+
+    private static void expect(Response response, int expectedCode, String action) {
+        int code = responseCode(response);
+        if (code != expectedCode) {
+            throw new RuntimeException("Failed to " + action + ": HTTP " + response.getStatusCode()
+                    + ", body " + response.asString());
+        }
+    }
+
+    private static int responseCode(Response response) {
+        if (response.getStatusCode() != 200) {
+            return response.getStatusCode();
+        }
+        try {
+            return JsonPath.from(response.asString()).getInt("responseCode");
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package com.automationexercise.utils;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Captures failure evidence (screenshot, DOM snapshot, browser console log, current URL) and writes it as one
+ * zip per failed test under {@code artifacts.output.dir}. The test thread only collects the raw data from the
+ * browser; decoding, compression and disk writes happen on a bounded background writer, so teardown does not
+ * wait on the disk when many tests fail at once. Captures are dropped when the writer queue is full or once
+ * {@code artifacts.max.size.mb} has been written in this run. A zip is added to the {@link TestEventLog} of
+ * its test once it is on disk.
+ */
+public class ArtifactWriter {
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactWriter.class);
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final boolean enabled;
+    private final Path outputDir;
+    private final long maxBytes;
+    private final ThreadPoolExecutor executor;
+    private final TestEventLog events;
+
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger dropped = new AtomicInteger();
+    private final AtomicBoolean consoleLogWarned = new AtomicBoolean();
+    private final Object pendingLock = new Object();
+    /** Captures queued or being written, guarded by {@link #pendingLock}. */
+    private int pending;
+
+    ArtifactWriter(boolean enabled, Path outputDir, long maxSizeMb, int queueCapacity, int threads,
+                   TestEventLog events) {
+        this.enabled = enabled;
+        this.events = events;
+        this.outputDir = outputDir;
+        this.maxBytes = maxSizeMb * 1024 * 1024;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(Math.max(1, threads), Math.max(1, threads), 0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                    Thread thread = new Thread(runnable, "artifact-writer-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Lazily initialized, thread-safe singleton (initialization-on-demand holder).
+     */
+    private static final class Holder {
+        private static final ArtifactWriter INSTANCE = fromConfig(ConfigManager.getInstance());
+    }
+
+    public static ArtifactWriter getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private static ArtifactWriter fromConfig(ConfigManager config) {
+        ArtifactWriter writer = new ArtifactWriter(config.isArtifactsEnabled(), Paths.get(config.getArtifactsOutputDir()),
+                config.getArtifactsMaxSizeMb(), config.getArtifactsQueueCapacity(), config.getArtifactsWriterThreads(),
+                TestEventLog.getInstance());
+        Runtime.getRuntime().addShutdownHook(new Thread(writer::shutdown, "artifact-writer-shutdown"));
+        return writer;
+    }
+
+    /**
+     * Collects the failure artifacts of a test from its browser and queues them for writing.
+     * Never throws: missing artifacts are left out of the zip.
+     *
+     * @param driver     the test's driver, decorated or not
+     * @param testName   the name of the failed test, used for the file name
+     * @param sinceMillis start of the test; older console entries of a reused session are left out
+     */
+    public void captureFailure(WebDriver driver, String testName, long sinceMillis) {
+        if (!enabled || driver == null) {
+            return;
+        }
+        if (bytesWritten.get() >= maxBytes) {
+            dropped.incrementAndGet();
+            logger.debug("Artifact size cap reached, not capturing {}", testName);
+            return;
+        }
+
+        long start = System.nanoTime();
+        // capture on the undecorated driver, so it is not recorded as test commands
+        Capture capture = collect(DriverFactory.unwrap(driver), testName, sinceMillis);
+        capture.testId = events.currentTestId();
+        CommandMetrics.record(CommandMetrics.Category.LIFECYCLE, "artifacts", System.nanoTime() - start);
+        submit(capture);
+    }
+
+    /**
+     * Queues collected artifacts for compression and writing without blocking.
+     *
+     * @return false if the queue is full and the artifacts were dropped
+     */
+    boolean submit(Capture capture) {
+        synchronized (pendingLock) {
+            pending++;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    write(capture);
+                } finally {
+                    finishPending();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            finishPending();
+            dropped.incrementAndGet();
+            logger.warn("Artifact writer is busy, dropping the artifacts of {}", capture.testName);
+            return false;
+        }
+    }
+
+    /**
+     * Waits until every queued capture has been written or dropped, e.g. before the report is finished.
+     *
+     * @return false if captures were still pending when the timeout ran out
+     */
+    public boolean awaitPending(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (pendingLock) {
+            while (pending > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(pendingLock, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private void finishPending() {
+        synchronized (pendingLock) {
+            pending--;
+            pendingLock.notifyAll();
+        }
+    }
+
+    /**
+     * Waits for queued artifacts to be written and stops the writer.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Artifact writer did not finish within {}s", SHUTDOWN_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (written.get() > 0 || dropped.get() > 0) {
+            logger.info("Wrote failure artifacts of {} tests ({} KB) to {}, dropped {}",
+                    written.get(), bytesWritten.get() / 1024, outputDir, dropped.get());
+        }
+    }
+
+    public int getWritten() {
+        return written.get();
+    }
+
+    public int getDropped() {
+        return dropped.get();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    private Capture collect(WebDriver driver, String testName, long sinceMillis) {
+        Capture capture = new Capture(testName);
+        try {
+            capture.url = driver.getCurrentUrl();
+        } catch (WebDriverException e) {
+            logger.debug("Could not read the URL of {}", testName, e);
+        }
+        try {
+            capture.screenshotBase64 = screenshot(driver);
+        } catch (WebDriverException | ClassCastException e) {
+            logger.debug("Could not take a screenshot of {}", testName, e);
+        }
+        try {
+            capture.dom = driver.getPageSource();
+        } catch (WebDriverException e) {
+            logger.debug("Could not read the DOM of {}", testName, e);
+        }
+        try {
+            capture.consoleLog = driver.manage().logs().get(LogType.BROWSER).getAll().stream()
+                    .filter(entry -> entry.getTimestamp() >= sinceMillis)
+                    .map(ArtifactWriter::format)
+                    .collect(Collectors.joining("\n"));
+        } catch (WebDriverException | UnsupportedOperationException e) {
+            // Firefox does not expose the browser log
+            if (consoleLogWarned.compareAndSet(false, true)) {
+                logger.warn("The browser console log is not available from {}, failure artifacts will not include "
+                        + "console.log", driver.getClass().getSimpleName());
+            }
+            logger.debug("Could not read the console log of {}", testName, e);
+        }
+        return capture;
+    }
+
+    /**
+     * Takes a JPEG over CDP where possible, which is several times cheaper to encode than a PNG;
+     * the base64 payload is decoded on the writer thread.
+     */
+    private static String screenshot(WebDriver driver) {
+        if (driver instanceof ChromiumDriver) {
+            Map<String, Object> result = ((ChromiumDriver) driver).executeCdpCommand("Page.captureScreenshot",
+                    Map.of("format", "jpeg", "quality", 80));
+            return String.valueOf(result.get("data"));
+        }
+        return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
+    }
+
+    private static String format(LogEntry entry) {
+        return Instant.ofEpochMilli(entry.getTimestamp()) + " " + entry.getLevel() + " " + entry.getMessage();
+    }
+
+    private void write(Capture capture) {
+        try {
+            byte[] zip = capture.toZip();
+            long total;
+            do {
+                total = bytesWritten.get();
+                if (total + zip.length > maxBytes) {
+                    dropped.incrementAndGet();
+                    logger.warn("Artifact size cap of {} MB reached, dropping the artifacts of {}",
+                            maxBytes / (1024 * 1024), capture.testName);
+                    return;
+                }
+            } while (!bytesWritten.compareAndSet(total, total + zip.length));
+
+            Files.createDirectories(outputDir);
+            Path file = outputDir.resolve(capture.fileName());
+            Files.write(file, zip);
+            written.incrementAndGet();
+            events.artifact(capture.testId, file);
+            logger.info("Saved failure artifacts of {} to {}", capture.testName, file);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to write the artifacts of {}", capture.testName, e);
+        }
+    }
+
+    /**
+     * Raw artifacts of one failure; fields the browser could not provide stay null.
+     */
+    static final class Capture {
+        private final String testName;
+        private final long capturedMillis = System.currentTimeMillis();
+        /** The {@link TestEventLog} id of the test, or null. */
+        String testId;
+        String url;
+        String screenshotBase64;
+        String dom;
+        String consoleLog;
+
+        Capture(String testName) {
+            this.testName = testName;
+        }
+
+        String fileName() {
+            return testName.replaceAll("[^A-Za-z0-9._-]", "_") + "-" + capturedMillis + ".zip";
+        }
+
+        byte[] toZip() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+                if (url != null) {
+                    add(zip, "url.txt", url.getBytes(StandardCharsets.UTF_8));
+                }
+                if (screenshotBase64 != null) {
+                    byte[] image = Base64.getDecoder().decode(screenshotBase64);
+                    // JPEG starts with FF D8, PNG with 89 'P'
+                    add(zip, image.length > 1 && (image[0] & 0xFF) == 0xFF ? "screenshot.jpg" : "screenshot.png", image);
+                }
+                if (dom != null) {
+                    add(zip, "dom.html", dom.getBytes(StandardCharsets.UTF_8));
+                }
+                if (consoleLog != null) {
+                    add(zip, "console.log", consoleLog.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            return bytes.toByteArray();
+        }
+
+        private static void add(ZipOutputStream zip, String name, byte[] content) throws IOException {
+            zip.putNextEntry(new ZipEntry(name));
+            zip.write(content);
+            zip.closeEntry();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.automationexercise.utils;
+
+import com.automationexercise.pages.NavigationBar;
+import com.automationexercise.pages.SignupLoginPage;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cache of authenticated sessions keyed by {@link UserCredentials}.
+ * Each user logs in once (over HTTP, or through the UI when {@code auth.login.mode=ui});
+ * later tests get the captured session cookies injected into their driver instead of
+ * typing credentials into {@link SignupLoginPage}. Expired sessions are refreshed transparently.
+ */
+public class AuthSessionCache {
+    private static final Logger logger = LoggerFactory.getLogger(AuthSessionCache.class);
+
+    private static final Pattern CSRF_INPUT = Pattern.compile(
+            "name=[\"']csrfmiddlewaretoken[\"']\\s+value=[\"']([^\"']+)[\"']");
+    private static final String SESSION_COOKIE = "sessionid";
+    private static final String LOGGED_IN_SCRIPT =
+            "return document.body != null && document.body.innerText.indexOf('Logged in as') >= 0;";
+
+    private final String baseUrl;
+    private final boolean uiLogin;
+    private final Duration maxAge;
+    private final Map<UserCredentials, AuthSession> sessions = new ConcurrentHashMap<>();
+
+    public AuthSessionCache() {
+        this(ConfigManager.getInstance().getBaseUrl(),
+                "ui".equalsIgnoreCase(ConfigManager.getInstance().getAuthLoginMode()),
+                Duration.ofSeconds(ConfigManager.getInstance().getAuthSessionMaxAge()));
+    }
+
+    public AuthSessionCache(String baseUrl, boolean uiLogin, Duration maxAge) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.uiLogin = uiLogin;
+        this.maxAge = maxAge;
+    }
+
+    private static final class Holder {
+        private static final AuthSessionCache INSTANCE = new AuthSessionCache();
+    }
+
+    public static AuthSessionCache getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Makes the driver authenticated as the given user and leaves it on the home page.
+     * Uses cached session cookies when available, so the only browser round-trip is one navigation.
+     *
+     * @param driver a driver on any page of the site
+     * @param user   the account to authenticate as
+     * @throws RuntimeException if the user cannot be logged in
+     */
+    public void loginAs(WebDriver driver, UserCredentials user) {
+        AuthSession session = sessions.get(user);
+        if (session == null || session.isExpired(maxAge)) {
+            if (uiLogin) {
+                sessions.put(user, loginOverUi(driver, user));
+                return;
+            }
+            session = refresh(user);
+        }
+
+        if (injectAndOpen(driver, session)) {
+            return;
+        }
+
+        logger.info("Cached session for {} was rejected, logging in again", user.getEmail());
+        sessions.remove(user, session);
+        if (uiLogin) {
+            sessions.put(user, loginOverUi(driver, user));
+        } else if (!injectAndOpen(driver, refresh(user))) {
+            throw new RuntimeException("Fresh session was not accepted for " + user.getEmail());
+        }
+    }
+
+    /**
+     * Returns a valid HTTP session for the user, logging in over HTTP if none is cached or it expired.
+     *
+     * @param user the account to authenticate as
+     * @return the session cookies
+     */
+    public List<Cookie> getSessionCookies(UserCredentials user) {
+        AuthSession session = sessions.get(user);
+        if (session == null || session.isExpired(maxAge)) {
+            session = refresh(user);
+        }
+        return session.cookies;
+    }
+
+    /**
+     * Drops the cached session of a user, e.g. after the test logged it out server-side.
+     */
+    public void invalidate(UserCredentials user) {
+        sessions.remove(user);
+    }
+
+    private AuthSession refresh(UserCredentials user) {
+        AuthSession session = loginOverHttp(user);
+        sessions.put(user, session);
+        return session;
+    }
+
+    /**
+     * Performs the site's form login over HTTP (CSRF token from the login page, then POST)
+     * and captures the resulting cookies.
+     */
+    AuthSession loginOverHttp(UserCredentials user) {
+        Response loginPage = RestAssured.given()
+                .get(baseUrl + "/login");
+
+        Matcher csrf = CSRF_INPUT.matcher(loginPage.asString());
+        if (!csrf.find()) {
+            throw new RuntimeException("CSRF token not found on " + baseUrl + "/login");
+        }
+
+        Response response = RestAssured.given()
+                .redirects().follow(false)
+                .cookies(loginPage.getCookies())
+                .header("Referer", baseUrl + "/login")
+                .formParam("csrfmiddlewaretoken", csrf.group(1))
+                .formParam("email", user.getEmail())
+                .formParam("password", user.getPassword())
+                .post(baseUrl + "/login");
+
+        List<Cookie> cookies = new ArrayList<>();
+        loginPage.getDetailedCookies().forEach(cookie -> cookies.add(toSeleniumCookie(cookie)));
+        response.getDetailedCookies().forEach(cookie -> {
+            cookies.removeIf(existing -> existing.getName().equals(cookie.getName()));
+            cookies.add(toSeleniumCookie(cookie));
+        });
+
+        if (cookies.stream().noneMatch(cookie -> SESSION_COOKIE.equals(cookie.getName()))) {
+            throw new RuntimeException("HTTP login failed for " + user.getEmail()
+                    + ": HTTP " + response.getStatusCode() + ", no session cookie issued");
+        }
+
+        logger.debug("Logged in {} over HTTP", user.getEmail());
+        return new AuthSession(cookies);
+    }
+
+    private AuthSession loginOverUi(WebDriver driver, UserCredentials user) {
+        driver.get(baseUrl + "/login");
+        new SignupLoginPage(driver).login(user.getEmail(), user.getPassword());
+        if (!new NavigationBar(driver).isUserLoggedIn()) {
+            throw new RuntimeException("UI login failed for " + user.getEmail());
+        }
+
+        logger.debug("Logged in {} through the UI", user.getEmail());
+        return new AuthSession(new ArrayList<>(driver.manage().getCookies()));
+    }
+
+    /**
+     * Replaces the driver's cookies with the session's and opens the home page.
+     *
+     * @return true if the page shows the user as logged in
+     */
+    private boolean injectAndOpen(WebDriver driver, AuthSession session) {
+        String currentUrl = driver.getCurrentUrl();
+        if (currentUrl == null || !currentUrl.startsWith(baseUrl)) {
+            // cookies can only be set for the origin the browser is on
+            driver.get(baseUrl + "/robots.txt");
+        }
+
+        driver.manage().deleteAllCookies();
+        session.cookies.forEach(cookie -> driver.manage().addCookie(cookie));
+        driver.get(baseUrl);
+
+        return Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(LOGGED_IN_SCRIPT));
+    }
+
+    private static Cookie toSeleniumCookie(io.restassured.http.Cookie cookie) {
+        return new Cookie.Builder(cookie.getName(), cookie.getValue())
+                .path(cookie.getPath() != null ? cookie.getPath() : "/")
+                .expiresOn(cookie.getExpiryDate())
+                .isSecure(cookie.isSecured())
+                .isHttpOnly(cookie.isHttpOnly())
+                .build();
+    }
+
+    /**
+     * Captured session cookies and when they were obtained.
+     */
+    static final class AuthSession {
+        private final List<Cookie> cookies;
+        private final Instant capturedAt = Instant.now();
+
+        private AuthSession(List<Cookie> cookies) {
+            this.cookies = Collections.unmodifiableList(cookies);
+        }
+
+        boolean isExpired(Duration maxAge) {
+            Instant now = Instant.now();
+            if (!capturedAt.plus(maxAge).isAfter(now)) {
+                return true;
+            }
+            Date soon = Date.from(now.plusSeconds(30));
+            return cookies.stream()
+                    .filter(cookie -> SESSION_COOKIE.equals(cookie.getName()))
+                    .anyMatch(cookie -> cookie.getExpiry() != null && cookie.getExpiry().before(soon));
+        }
+
+        List<Cookie> getCookies() {
+            return cookies;
+        }
+    }
+}
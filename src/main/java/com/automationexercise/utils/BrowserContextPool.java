@@ -0,0 +1,423 @@
+package com.automationexercise.utils;
+
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Runs up to {@code browser.contexts.per.process} tests in one Chrome or Edge process, each in its own
+ * browser context: an incognito-like profile with separate cookies, storage and cache.
+ * A host session launches the browser; every worker gets its own driver session attached to that browser
+ * through its debugger address and switched to a tab in a context created over CDP.
+ * Resetting a worker swaps in a fresh context and disposes the old one, which is both cheaper and more
+ * thorough than clearing cookies and storage. Worker sessions are kept and reused with new contexts.
+ * A process that {@link ResourceGovernor} finds over its memory or age limit takes no new workers and is
+ * quit once its last worker is released.
+ */
+public class BrowserContextPool {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserContextPool.class);
+
+    private final BiFunction<String, BrowserProfile, WebDriver> hostLauncher;
+    private final Attacher attacher;
+    private final Function<WebDriver, BrowserTarget> connector;
+    private final int contextsPerProcess;
+    private final ResourceGovernor governor;
+
+    private final Map<String, Deque<ContextSession>> idle = new ConcurrentHashMap<>();
+    private final Map<WebDriver, ContextSession> leased = new ConcurrentHashMap<>();
+    /** Guarded by {@code this}. */
+    private final List<SharedProcess> processes = new ArrayList<>();
+    private final Map<String, Object> launchLocks = new ConcurrentHashMap<>();
+
+    /**
+     * @param hostLauncher launches an undecorated browser session that owns the browser process
+     */
+    public BrowserContextPool(BiFunction<String, BrowserProfile, WebDriver> hostLauncher, ConfigManager config) {
+        this(hostLauncher, BrowserContextPool::attach, BrowserContextPool::connect,
+                config.getBrowserContextsPerProcess(), ResourceGovernor.getInstance());
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "browser-context-shutdown"));
+    }
+
+    /**
+     * @param attacher  attaches a worker session to a browser process
+     * @param connector opens the browser-level CDP connection of a host session
+     */
+    BrowserContextPool(BiFunction<String, BrowserProfile, WebDriver> hostLauncher, Attacher attacher,
+                       Function<WebDriver, BrowserTarget> connector, int contextsPerProcess, ResourceGovernor governor) {
+        this.hostLauncher = hostLauncher;
+        this.attacher = attacher;
+        this.connector = connector;
+        this.contextsPerProcess = Math.max(1, contextsPerProcess);
+        this.governor = governor;
+    }
+
+    /**
+     * Attaches a new driver session to a running browser.
+     */
+    @FunctionalInterface
+    interface Attacher {
+        WebDriver attach(String browser, BrowserProfile profile, String debuggerAddress);
+    }
+
+    /**
+     * Sends CDP commands to the browser target of a process, e.g. to create and dispose browser contexts.
+     */
+    @FunctionalInterface
+    interface BrowserTarget {
+        Map<String, Object> send(String method, Map<String, Object> params);
+    }
+
+    /**
+     * Returns true for browsers whose processes can host several contexts (Chromium over CDP).
+     */
+    public static boolean supports(String browser) {
+        String name = browser.toLowerCase();
+        return "chrome".equals(name) || "edge".equals(name);
+    }
+
+    /**
+     * Hands out a worker session in a fresh browser context, reusing an idle worker if there is one and
+     * otherwise attaching a new one to a browser process with spare capacity (launching one if needed).
+     *
+     * @param browser the browser type (chrome, edge)
+     * @param profile the launch profile of the browser process
+     * @return an instrumented {@link WebDriver} confined to its own context
+     * @throws RuntimeException if no browser can be launched or attached to
+     */
+    public WebDriver acquire(String browser, BrowserProfile profile) {
+        String key = browser.toLowerCase() + "/" + profile.getProfileName();
+        Deque<ContextSession> sessions = idle.computeIfAbsent(key, ignored -> new ConcurrentLinkedDeque<>());
+
+        ContextSession session;
+        while ((session = sessions.pollFirst()) != null && !session.isHealthy()) {
+            logger.warn("Discarding unhealthy {} context session", browser);
+            discard(session);
+        }
+        if (session == null) {
+            session = open(browser.toLowerCase(), profile, key);
+        }
+        leased.put(session.driver, session);
+        return session.driver;
+    }
+
+    /**
+     * Moves a leased session to a fresh, empty browser context.
+     *
+     * @return false if the driver is not leased from this pool or the context could not be replaced
+     */
+    public boolean reset(WebDriver driver) {
+        ContextSession session = leased.get(driver);
+        return session != null && session.renewContext();
+    }
+
+    /**
+     * Returns a session to the pool in a fresh context, or discards it if the context cannot be replaced.
+     */
+    public void release(WebDriver driver) {
+        ContextSession session = leased.remove(driver);
+        if (session == null) {
+            logger.warn("Releasing a driver that is not owned by the context pool, quitting it");
+            quitQuietly(driver);
+            return;
+        }
+        if (isRetiring(session.process)) {
+            discard(session);
+        } else if (session.renewContext()) {
+            idle.computeIfAbsent(session.process.key, ignored -> new ConcurrentLinkedDeque<>()).offerFirst(session);
+        } else {
+            logger.warn("Failed to renew the browser context, discarding the session");
+            discard(session);
+        }
+    }
+
+    public boolean owns(WebDriver driver) {
+        return leased.containsKey(driver);
+    }
+
+    /**
+     * Disposes every context and quits every worker session and browser process.
+     */
+    public void shutdown() {
+        idle.values().forEach(sessions -> {
+            ContextSession session;
+            while ((session = sessions.pollFirst()) != null) {
+                session.close();
+            }
+        });
+        leased.values().forEach(ContextSession::close);
+        leased.clear();
+        synchronized (this) {
+            processes.forEach(process -> quitQuietly(process.host));
+            processes.clear();
+        }
+    }
+
+    private ContextSession open(String browser, BrowserProfile profile, String key) {
+        SharedProcess process = reserve(browser, profile, key);
+        long start = System.nanoTime();
+        try {
+            WebDriver attached = attacher.attach(browser, profile, process.debuggerAddress);
+            ContextSession session = new ContextSession(process, attached);
+            if (!session.renewContext()) {
+                session.close();
+                throw new RuntimeException("Could not open a browser context in the shared " + browser + " process");
+            }
+            session.driver = CommandMetrics.instrument(attached);
+            CommandMetrics.record(CommandMetrics.Category.LIFECYCLE, "attach", System.nanoTime() - start);
+            logger.info("Attached {} session {} of {} to the shared browser at {}",
+                    browser, process.sessions, contextsPerProcess, process.debuggerAddress);
+            return session;
+        } catch (RuntimeException e) {
+            unreserve(process);
+            retireIfDead(process);
+            throw e;
+        }
+    }
+
+    /**
+     * Stops handing out a process whose browser no longer responds, e.g. after a crash.
+     */
+    private void retireIfDead(SharedProcess process) {
+        try {
+            process.host.getWindowHandle();
+        } catch (WebDriverException e) {
+            logger.warn("Shared browser at {} is not responding, launching a new one for later sessions",
+                    process.debuggerAddress);
+            synchronized (this) {
+                processes.remove(process);
+            }
+            quitQuietly(process.host);
+        }
+    }
+
+    /**
+     * Reserves a worker slot in a browser process with spare capacity, launching a new process if all are full.
+     */
+    private SharedProcess reserve(String browser, BrowserProfile profile, String key) {
+        // one launch per key at a time, so workers starting together share the first process
+        synchronized (launchLocks.computeIfAbsent(key, ignored -> new Object())) {
+            SharedProcess available = reserveExisting(key);
+            return available != null ? available : launch(browser, profile, key);
+        }
+    }
+
+    private synchronized SharedProcess reserveExisting(String key) {
+        for (SharedProcess process : processes) {
+            if (process.key.equals(key) && !process.retiring && process.sessions < contextsPerProcess) {
+                process.sessions++;
+                return process;
+            }
+        }
+        return null;
+    }
+
+    private SharedProcess launch(String browser, BrowserProfile profile, String key) {
+        long start = System.nanoTime();
+        WebDriver host = hostLauncher.apply(browser, profile);
+        SharedProcess process;
+        try {
+            process = new SharedProcess(key, host, debuggerAddress(host), connector.apply(host));
+        } catch (RuntimeException e) {
+            quitQuietly(host);
+            throw e;
+        }
+        CommandMetrics.record(CommandMetrics.Category.LIFECYCLE, "launch", System.nanoTime() - start);
+        logger.info("Launched shared {} process with profile {} for up to {} contexts",
+                browser, profile.getProfileName(), contextsPerProcess);
+
+        synchronized (this) {
+            process.sessions++;
+            processes.add(process);
+        }
+        return process;
+    }
+
+    private void unreserve(SharedProcess process) {
+        synchronized (this) {
+            process.sessions--;
+            if (!process.retiring || process.sessions > 0) {
+                return;
+            }
+            processes.remove(process);
+        }
+        logger.info("Quitting retired shared browser at {}", process.debuggerAddress);
+        quitQuietly(process.host);
+    }
+
+    /**
+     * Checks the shared process against the governor's limits, retiring it if it is over them.
+     */
+    private boolean isRetiring(SharedProcess process) {
+        if (!process.retiring) {
+            String overLimit = governor.recycleReason(process.host,
+                    Duration.ofNanos(System.nanoTime() - process.launchedNanos));
+            if (overLimit != null) {
+                logger.info("Retiring shared browser at {}, {}", process.debuggerAddress, overLimit);
+                synchronized (this) {
+                    process.retiring = true;
+                }
+            }
+        }
+        return process.retiring;
+    }
+
+    private void discard(ContextSession session) {
+        session.close();
+        unreserve(session.process);
+    }
+
+    /**
+     * Attaches with the options {@link DriverFactory} launches the browser with; chromedriver ignores the
+     * launch arguments of an attached session but applies its other settings, such as the console log.
+     */
+    private static WebDriver attach(String browser, BrowserProfile profile, String debuggerAddress) {
+        WebDriver driver = "edge".equals(browser)
+                ? new EdgeDriver(DriverFactory.edgeOptions(profile).setExperimentalOption("debuggerAddress", debuggerAddress))
+                : new ChromeDriver(DriverFactory.chromeOptions(profile).setExperimentalOption("debuggerAddress", debuggerAddress));
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        return driver;
+    }
+
+    private static BrowserTarget connect(WebDriver host) {
+        // no page session is created, so commands go to the browser target
+        DevTools devTools = ((HasDevTools) host).getDevTools();
+        return (method, params) -> devTools.send(new Command<>(method, params, input -> input.read(Json.MAP_TYPE)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String debuggerAddress(WebDriver host) {
+        for (String capability : new String[]{"goog:chromeOptions", "ms:edgeOptions"}) {
+            Object options = ((HasCapabilities) host).getCapabilities().getCapability(capability);
+            if (options instanceof Map && ((Map<String, Object>) options).get("debuggerAddress") != null) {
+                return String.valueOf(((Map<String, Object>) options).get("debuggerAddress"));
+            }
+        }
+        throw new RuntimeException("The browser did not report a debugger address, cannot share it between tests");
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            logger.debug("Error quitting session", e);
+        }
+    }
+
+    /**
+     * A browser process and the browser-level CDP connection of its host session.
+     */
+    private static final class SharedProcess {
+        private final String key;
+        private final WebDriver host;
+        private final String debuggerAddress;
+        private final BrowserTarget browser;
+        private final long launchedNanos = System.nanoTime();
+        /** Attached worker sessions, guarded by the pool. */
+        private int sessions;
+        /** Over the governor's limits: takes no new workers. */
+        private volatile boolean retiring;
+
+        private SharedProcess(String key, WebDriver host, String debuggerAddress, BrowserTarget browser) {
+            this.key = key;
+            this.host = host;
+            this.debuggerAddress = debuggerAddress;
+            this.browser = browser;
+        }
+
+        private Map<String, Object> send(String method, Map<String, Object> params) {
+            return browser.send(method, params);
+        }
+
+        private void disposeContext(String contextId) {
+            try {
+                send("Target.disposeBrowserContext", Map.of("browserContextId", contextId));
+            } catch (WebDriverException e) {
+                logger.debug("Could not dispose browser context {}", contextId, e);
+            }
+        }
+    }
+
+    /**
+     * A worker session attached to a shared process and confined to one browser context at a time.
+     */
+    private static final class ContextSession {
+        private final SharedProcess process;
+        /** The undecorated attached driver, used for the context plumbing. */
+        private final WebDriver attached;
+        private WebDriver driver;
+        private String contextId;
+
+        private ContextSession(SharedProcess process, WebDriver attached) {
+            this.process = process;
+            this.attached = attached;
+            this.driver = attached;
+        }
+
+        /**
+         * Opens a tab in a new browser context, switches the session to it and disposes the previous context
+         * together with its tabs, cookies and storage.
+         */
+        private boolean renewContext() {
+            long start = System.nanoTime();
+            String previous = contextId;
+            try {
+                contextId = String.valueOf(process.send("Target.createBrowserContext",
+                        Map.of("disposeOnDetach", false)).get("browserContextId"));
+                String target = String.valueOf(process.send("Target.createTarget",
+                        Map.of("url", "about:blank", "browserContextId", contextId)).get("targetId"));
+
+                String handle = attached.getWindowHandles().stream()
+                        .filter(candidate -> candidate.contains(target))
+                        .findFirst()
+                        .orElseThrow(() -> new WebDriverException("No window for browser context target " + target));
+                attached.switchTo().window(handle);
+                NetworkBlocker.attach(attached);
+            } catch (WebDriverException e) {
+                logger.debug("Failed to open a browser context", e);
+                return false;
+            } finally {
+                if (previous != null) {
+                    process.disposeContext(previous);
+                }
+            }
+            CommandMetrics.record(CommandMetrics.Category.LIFECYCLE, "context", System.nanoTime() - start);
+            return true;
+        }
+
+        private boolean isHealthy() {
+            try {
+                attached.getWindowHandle();
+                return true;
+            } catch (WebDriverException e) {
+                return false;
+            }
+        }
+
+        private void close() {
+            if (contextId != null) {
+                process.disposeContext(contextId);
+            }
+            // an attached session leaves the browser process running
+            quitQuietly(attached);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.automationexercise.utils;
+
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import java.util.Arrays;
+
+/**
+ * Named browser launch profiles, each with its own tuned browser options.
+ * Selected with {@code -Dbrowser.profile=...} or {@code browser.profile} in config.properties;
+ * when neither is set, {@code headless=true} selects {@link #HEADLESS_FAST} and otherwise
+ * {@link #HEADED_DEBUG} is used.
+ */
+public enum BrowserProfile {
+
+    /**
+     * Headless, fixed-size window, no GPU, extensions or background throttling.
+     */
+    HEADLESS_FAST("headless-fast", true, false),
+
+    /**
+     * Visible, maximized browser with default options, for watching and debugging tests.
+     */
+    HEADED_DEBUG("headed-debug", false, true),
+
+    /**
+     * {@link #HEADLESS_FAST} plus the sandbox and /dev/shm settings needed inside Docker.
+     */
+    CONTAINER("container", true, false);
+
+    private static final String WINDOW_WIDTH = "1920";
+    private static final String WINDOW_HEIGHT = "1080";
+
+    private static final String[] LOW_OVERHEAD_CHROMIUM_ARGS = {
+            "--window-size=" + WINDOW_WIDTH + "," + WINDOW_HEIGHT,
+            "--disable-gpu",
+            "--disable-extensions",
+            "--disable-background-networking",
+            "--disable-background-timer-throttling",
+            "--disable-backgrounding-occluded-windows",
+            "--disable-renderer-backgrounding",
+            "--disable-features=Translate,OptimizationHints,MediaRouter",
+            "--disable-component-update",
+            "--disable-default-apps",
+            "--disable-sync",
+            "--no-first-run",
+            "--no-default-browser-check",
+            "--mute-audio"
+    };
+
+    private final String profileName;
+    private final boolean headless;
+    private final boolean maximizeWindow;
+
+    BrowserProfile(String profileName, boolean headless, boolean maximizeWindow) {
+        this.profileName = profileName;
+        this.headless = headless;
+        this.maximizeWindow = maximizeWindow;
+    }
+
+    public String getProfileName() {
+        return profileName;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+     * Whether the window should be maximized after launch; headless profiles use a fixed window size instead.
+     */
+    public boolean shouldMaximizeWindow() {
+        return maximizeWindow;
+    }
+
+    /**
+     * Applies this profile to Chrome or Edge options.
+     */
+    public <T extends ChromiumOptions<?>> T apply(T options) {
+        if (this == HEADED_DEBUG) {
+            return options;
+        }
+
+        options.addArguments("--headless=new");
+        options.addArguments(Arrays.asList(LOW_OVERHEAD_CHROMIUM_ARGS));
+        if (this == CONTAINER) {
+            options.addArguments("--no-sandbox", "--disable-dev-shm-usage");
+        }
+        return options;
+    }
+
+    /**
+     * Applies this profile to Firefox options.
+     */
+    public FirefoxOptions apply(FirefoxOptions options) {
+        if (this == HEADED_DEBUG) {
+            return options;
+        }
+
+        options.addArguments("-headless", "--width=" + WINDOW_WIDTH, "--height=" + WINDOW_HEIGHT);
+        options.addPreference("layers.acceleration.disabled", true);
+        options.addPreference("gfx.webrender.software", true);
+        options.addPreference("media.hardware-video-decoding.enabled", false);
+        options.addPreference("extensions.update.enabled", false);
+        options.addPreference("app.update.enabled", false);
+        options.addPreference("browser.shell.checkDefaultBrowser", false);
+        options.addPreference("datareporting.policy.dataSubmissionEnabled", false);
+        options.addPreference("toolkit.telemetry.enabled", false);
+        options.addPreference("dom.timeout.enable_budget_timer_throttling", false);
+        options.addPreference("media.autoplay.default", 5);
+        if (this == CONTAINER) {
+            // fewer content processes keep shared memory use within a small /dev/shm
+            options.addPreference("dom.ipc.processCount", 2);
+        }
+        return options;
+    }
+
+    /**
+     * Resolves the profile to use: {@code browser.profile} if set, otherwise derived from {@code headless}
+     * (both from the layered {@link ConfigManager} configuration).
+     *
+     * @return the selected profile
+     * @throws IllegalArgumentException if the configured profile name is unknown
+     */
+    public static BrowserProfile resolve() {
+        ConfigManager config = ConfigManager.getInstance();
+
+        String name = config.getBrowserProfile();
+        if (name != null) {
+            return fromName(name);
+        }
+        return config.isHeadless() ? HEADLESS_FAST : HEADED_DEBUG;
+    }
+
+    public static BrowserProfile fromName(String name) {
+        for (BrowserProfile profile : values()) {
+            if (profile.profileName.equalsIgnoreCase(name)) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unknown browser profile: " + name
+                + " (supported: headless-fast, headed-debug, container)");
+    }
+}
@@ -0,0 +1,163 @@
+package com.automationexercise.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latency histograms of everything a test spends time on: every WebDriver/WebElement command (by command
+ * name, by the page object method that issued it and by test), waits and driver lifecycle steps.
+ * Drivers are instrumented with an {@link EventFiringDecorator}; recording a command costs a few
+ * nanoTime calls and a map lookup and allocates nothing on the hot path. Page object methods are
+ * marked once per page action by {@link com.automationexercise.base.BasePage} rather than looked up per command.
+ * Exported at suite end by {@link com.automationexercise.listeners.LatencyReportListener}.
+ */
+public final class CommandMetrics implements WebDriverListener {
+
+    public enum Category {
+        COMMAND, PAGE, TEST, WAIT, LIFECYCLE
+    }
+
+    private static final int MAX_CALL_DEPTH = 16;
+
+    private static final CommandMetrics LISTENER = new CommandMetrics();
+    private static final Map<Category, Map<String, LatencyHistogram>> histograms = new EnumMap<>(Category.class);
+    private static final ThreadLocal<CallState> callState = ThreadLocal.withInitial(CallState::new);
+
+    static {
+        for (Category category : Category.values()) {
+            histograms.put(category, new ConcurrentHashMap<>());
+        }
+    }
+
+    private CommandMetrics() {
+    }
+
+    /**
+     * Wraps a driver so that every command it and its elements execute is timed.
+     * Returns the driver unchanged when {@code metrics.enabled=false}.
+     */
+    public static WebDriver instrument(WebDriver driver) {
+        if (!ConfigManager.getInstance().isMetricsEnabled()) {
+            return driver;
+        }
+        return new EventFiringDecorator<>(LISTENER).decorate(driver);
+    }
+
+    public static void record(Category category, String name, long nanos) {
+        histogram(category, name).recordNanos(nanos);
+    }
+
+    /**
+     * Attributes the commands run by the current thread to a test until {@link #endTest()}.
+     */
+    public static void startTest(String testName) {
+        CallState state = callState.get();
+        state.test = histogram(Category.TEST, testName);
+        state.page = null;
+        state.pageMethod = null;
+    }
+
+    /**
+     * Stops attributing commands to the current test and page object method.
+     */
+    public static void endTest() {
+        CallState state = callState.get();
+        state.test = null;
+        state.page = null;
+        state.pageMethod = null;
+    }
+
+    /**
+     * Attributes the commands the current thread runs from now on to a page object method, until the next
+     * page method or the end of the test.
+     *
+     * @param pageMethod {@code Page.method}
+     */
+    public static void enterPageMethod(String pageMethod) {
+        CallState state = callState.get();
+        if (pageMethod.equals(state.pageMethod)) {
+            return;
+        }
+        state.pageMethod = pageMethod;
+        state.page = histogram(Category.PAGE, pageMethod);
+    }
+
+    /**
+     * Drops every recorded histogram, e.g. when a new suite starts. Call it while no test is running.
+     */
+    public static void reset() {
+        histograms.values().forEach(Map::clear);
+    }
+
+    /**
+     * Recorded histograms per category, ordered by name.
+     */
+    public static Map<Category, Map<String, LatencyHistogram>> snapshot() {
+        Map<Category, Map<String, LatencyHistogram>> snapshot = new EnumMap<>(Category.class);
+        histograms.forEach((category, byName) -> snapshot.put(category, Collections.unmodifiableMap(new TreeMap<>(byName))));
+        return snapshot;
+    }
+
+    private static LatencyHistogram histogram(Category category, String name) {
+        Map<String, LatencyHistogram> byName = histograms.get(category);
+        LatencyHistogram histogram = byName.get(name);
+        return histogram != null ? histogram : byName.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        CallState state = callState.get();
+        if (state.depth < MAX_CALL_DEPTH) {
+            state.startNanos[state.depth] = System.nanoTime();
+        }
+        state.depth++;
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method);
+    }
+
+    private static void finish(Method method) {
+        long end = System.nanoTime();
+        CallState state = callState.get();
+        if (state.depth == 0) {
+            return;
+        }
+        state.depth--;
+        if (state.depth >= MAX_CALL_DEPTH) {
+            return;
+        }
+
+        long nanos = end - state.startNanos[state.depth];
+        histogram(Category.COMMAND, method.getName()).recordNanos(nanos);
+        if (state.test != null) {
+            state.test.recordNanos(nanos);
+        }
+        if (state.page != null) {
+            state.page.recordNanos(nanos);
+        }
+    }
+
+    private static final class CallState {
+        private final long[] startNanos = new long[MAX_CALL_DEPTH];
+        private int depth;
+        private LatencyHistogram test;
+        private LatencyHistogram page;
+        private String pageMethod;
+    }
+}
@@ -1,98 +1,719 @@
 package com.automationexercise.utils;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Properties;
+import java.util.stream.Collectors;
 
+/**
+ * Test configuration, merged from these layers (later ones win):
+ * <ol>
+ *     <li>{@code config.properties}</li>
+ *     <li>{@code config-<profile>.properties} when a profile is selected ({@code config.profile})</li>
+ *     <li>the TestNG suite's parameters, applied by {@link com.automationexercise.listeners.SuiteConfigListener}</li>
+ *     <li>environment variables named {@code AE_} plus the key in upper case with {@code _} for dots,
+ *     e.g. {@code AE_HTTP_CACHE_MODE}</li>
+ *     <li>system properties, e.g. {@code -Dhttp.cache.mode=replay}</li>
+ * </ol>
+ * The layers are merged once into a {@link Snapshot}, which parses every known key into a final field, so the
+ * typed accessors cost a field read and are safe from any thread. The untyped {@link #getProperty(String)}
+ * accessors read the merged values; system properties and environment variables set later are not seen.
+ * Invalid values, including unknown browser profiles, login modes and cache modes, fail the run at startup
+ * with every problem listed. The configuration can still change during a run: suite parameters and
+ * {@link #overrideBaseUrl(String)} replace the snapshot, so read values when they are needed instead of
+ * keeping them.
+ */
 public class ConfigManager {
-    private static ConfigManager instance;
-    private Properties properties;
+    private static final Logger logger = LoggerFactory.getLogger(ConfigManager.class);
+
+    static final String ENV_PREFIX = "AE_";
+
+    private final Map<String, String> files;
+    /** Guarded by {@code this}; every change rebuilds the snapshot. */
+    private Map<String, String> suiteParameters = Collections.emptyMap();
+    private Map<String, String> runtimeOverrides = Collections.emptyMap();
+    private volatile Snapshot snapshot;
 
     private ConfigManager() {
-        loadProperties();
+        this.files = loadFiles();
+        this.snapshot = new Snapshot(files, suiteParameters, runtimeOverrides);
+    }
+
+    /**
+     * Lazily initialized, thread-safe singleton (initialization-on-demand holder).
+     */
+    private static final class Holder {
+        private static final ConfigManager INSTANCE = new ConfigManager();
     }
 
     public static ConfigManager getInstance() {
-        if (instance == null) {
-            instance = new ConfigManager();
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Loads config.properties, overlaid with config-&lt;profile&gt;.properties when a profile is selected
+     * ({@code -Dconfig.profile=local}, {@code AE_CONFIG_PROFILE} or {@code config.profile} in config.properties).
+     */
+    private Map<String, String> loadFiles() {
+        Properties properties = new Properties();
+        load(properties, "config.properties");
+
+        String profile = Optional.ofNullable(System.getProperty("config.profile"))
+                .or(() -> Optional.ofNullable(System.getenv(envName("config.profile"))))
+                .orElse(properties.getProperty("config.profile"));
+        if (profile != null && !profile.isBlank()) {
+            load(properties, "config-" + profile.trim() + ".properties");
         }
-        return instance;
+
+        Map<String, String> values = new HashMap<>();
+        properties.stringPropertyNames().forEach(key -> values.put(key, properties.getProperty(key)));
+        return Collections.unmodifiableMap(values);
     }
 
-    private void loadProperties() {
-        properties = new Properties();
-        try (InputStream input = getClass().getClassLoader().getResourceAsStream("config.properties")) {
+    private void load(Properties properties, String resource) {
+        try (InputStream input = getClass().getClassLoader().getResourceAsStream(resource)) {
             if (input != null) {
                 properties.load(input);
             } else {
-                throw new RuntimeException("config.properties file not found");
+                throw new RuntimeException(resource + " file not found");
             }
         } catch (IOException e) {
             throw new RuntimeException("Failed to load configuration", e);
         }
     }
 
+    static String envName(String key) {
+        return ENV_PREFIX + key.toUpperCase(Locale.ROOT).replace('.', '_').replace('-', '_');
+    }
+
+    /**
+     * Applies the parameters of the running suite as a configuration layer below environment variables
+     * and system properties.
+     *
+     * @throws RuntimeException if a parameter has an invalid value
+     */
+    public synchronized void applySuiteParameters(Map<String, String> parameters) {
+        snapshot = new Snapshot(files, Map.copyOf(parameters), runtimeOverrides);
+        suiteParameters = Map.copyOf(parameters);
+    }
+
+    /**
+     * Points the site and API URLs at another host for the rest of the run, e.g. the local storefront.
+     *
+     * @param baseUrl the new site root, without a trailing slash
+     */
+    public synchronized void overrideBaseUrl(String baseUrl) {
+        Map<String, String> overrides = new HashMap<>(runtimeOverrides);
+        overrides.put("base.url", baseUrl);
+        overrides.put("api.url", baseUrl + "/api");
+        runtimeOverrides = Collections.unmodifiableMap(overrides);
+        snapshot = new Snapshot(files, suiteParameters, runtimeOverrides);
+    }
+
     public String getProperty(String key) {
-        return properties.getProperty(key);
+        return snapshot.get(key);
     }
 
     public String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        String value = snapshot.get(key);
+        return value != null ? value : defaultValue;
     }
 
+    /**
+     * Reads an integer property.
+     *
+     * @throws IllegalArgumentException if the value is not an integer
+     */
     public int getIntProperty(String key, int defaultValue) {
-        try {
-            return Integer.parseInt(properties.getProperty(key));
-        } catch (Exception e) {
-            return defaultValue;
-        }
+        return snapshot.integer(key, defaultValue);
     }
 
+    /**
+     * Reads a boolean property ({@code true}/{@code false}, any case).
+     *
+     * @throws IllegalArgumentException if the value is neither
+     */
     public boolean getBooleanProperty(String key, boolean defaultValue) {
-        try {
-            return Boolean.parseBoolean(properties.getProperty(key));
-        } catch (Exception e) {
-            return defaultValue;
+        String value = snapshot.get(key);
+        return value == null ? defaultValue : Parser.parseBoolean(key, value);
+    }
+
+    /**
+     * Reads a comma-separated property as a list of trimmed, non-empty values.
+     */
+    public List<String> getListProperty(String key) {
+        return Parser.parseList(snapshot.get(key));
+    }
+
+    /**
+     * Returns the browser for a test: a system property or environment variable wins over the browser
+     * the test asks for, which wins over the suite parameter and the config files.
+     *
+     * @param requested the browser requested by the test, or null
+     */
+    public String getBrowser(String requested) {
+        if (snapshot.browserOverride != null || requested == null) {
+            return snapshot.browser;
         }
+        return requested;
     }
 
     public String getApiUrl() {
-        return getProperty("api.url");
+        return snapshot.apiUrl;
     }
 
     public String getBaseUrl() {
-        return getProperty("base.url");
+        return snapshot.baseUrl;
     }
 
     public String getBrowser() {
-        return getProperty("browser", "chrome");
+        return snapshot.browser;
     }
 
-    public boolean isHeadless() {
-        return getBooleanProperty("headless", false);
+    public String getBrowserProfile() {
+        return snapshot.browserProfile;
     }
 
-    public int getImplicitTimeout() {
-        return getIntProperty("implicit.timeout", 5);
+    public boolean isHeadless() {
+        return snapshot.headless;
     }
 
     public int getExplicitTimeout() {
-        return getIntProperty("explicit.timeout", 10);
+        return snapshot.explicitTimeout;
+    }
+
+    public int getWaitPollInitialMillis() {
+        return snapshot.waitPollInitialMillis;
+    }
+
+    public int getWaitPollMaxMillis() {
+        return snapshot.waitPollMaxMillis;
+    }
+
+    public double getWaitPollFactor() {
+        return snapshot.waitPollFactor;
+    }
+
+    public int getWaitSettleGraceMillis() {
+        return snapshot.waitSettleGraceMillis;
+    }
+
+    public int getWaitSettleStabilityMillis() {
+        return snapshot.waitSettleStabilityMillis;
+    }
+
+    /**
+     * Timeout budgets of the named wait conditions in seconds, defaulting to {@link #getExplicitTimeout()}.
+     */
+    public int getWaitBudgetClickable() {
+        return snapshot.waitBudgetClickable;
+    }
+
+    public int getWaitBudgetVisible() {
+        return snapshot.waitBudgetVisible;
+    }
+
+    public int getWaitBudgetSettled() {
+        return snapshot.waitBudgetSettled;
+    }
+
+    /**
+     * Retries of a test failing on infrastructure errors; 0 disables retries.
+     */
+    public int getTestRetryMax() {
+        return snapshot.testRetryMax;
+    }
+
+    public String getTestDurationsFile() {
+        return snapshot.testDurationsFile;
+    }
+
+    public int getTestDurationDefaultMillis() {
+        return snapshot.testDurationDefaultMillis;
+    }
+
+    /**
+     * Number of shards the suite is split into; 1 runs every test.
+     */
+    public int getShardCount() {
+        return snapshot.shardCount;
+    }
+
+    /**
+     * The 0-based shard this run executes.
+     */
+    public int getShardIndex() {
+        return snapshot.shardIndex;
     }
 
     public String getTestUserEmail() {
-        return getProperty("test.user.email");
+        return snapshot.testUserEmail;
     }
 
     public String getTestUserPassword() {
-        return getProperty("test.user.password");
+        return snapshot.testUserPassword;
     }
 
     public String getTestUserName() {
-        return getProperty("test.user.name");
+        return snapshot.testUserName;
     }
     public String getSearchProduct() {
-        return getProperty("search.product", "T-shirt");
+        return snapshot.searchProduct;
+    }
+
+    public int getUserPoolSize() {
+        return snapshot.userPoolSize;
+    }
+
+    public String getAuthLoginMode() {
+        return snapshot.authLoginMode;
+    }
+
+    public int getAuthSessionMaxAge() {
+        return snapshot.authSessionMaxAge;
+    }
+
+    public boolean isNetworkBlockingEnabled() {
+        return snapshot.networkBlockingEnabled;
+    }
+
+    public List<String> getNetworkBlockingDenyList() {
+        return snapshot.networkBlockingDenyList;
+    }
+
+    public List<String> getNetworkBlockingAllowList() {
+        return snapshot.networkBlockingAllowList;
+    }
+
+    public int getNetworkBlockingEstimatedBytes() {
+        return snapshot.networkBlockingEstimatedBytes;
+    }
+
+    /**
+     * The record/replay cache mode (off, record, replay).
+     */
+    public String getHttpCacheMode() {
+        return snapshot.httpCacheMode;
+    }
+
+    public String getHttpCacheDir() {
+        return snapshot.httpCacheDir;
+    }
+
+    public List<String> getHttpCacheResourceTypes() {
+        return snapshot.httpCacheResourceTypes;
+    }
+
+    public int getHttpCacheMaxSizeMb() {
+        return snapshot.httpCacheMaxSizeMb;
+    }
+
+    public int getHttpCacheMappedMaxMb() {
+        return snapshot.httpCacheMappedMaxMb;
+    }
+
+    public boolean isDriverPoolEnabled() {
+        return snapshot.driverPoolEnabled;
+    }
+
+    public int getDriverPoolSize() {
+        return snapshot.driverPoolSize;
+    }
+
+    public int getDriverPoolPrewarm() {
+        return snapshot.driverPoolPrewarm;
+    }
+
+    public int getDriverPoolMaxUses() {
+        return snapshot.driverPoolMaxUses;
+    }
+
+    public int getDriverPoolAcquireTimeout() {
+        return snapshot.driverPoolAcquireTimeout;
+    }
+
+    public int getBrowserContextsPerProcess() {
+        return snapshot.browserContextsPerProcess;
+    }
+
+    public boolean isGovernorEnabled() {
+        return snapshot.governorEnabled;
     }
 
+    public int getGovernorMaxMemoryMb() {
+        return snapshot.governorMaxMemoryMb;
+    }
+
+    public int getGovernorMaxAgeSeconds() {
+        return snapshot.governorMaxAgeSeconds;
+    }
+
+    public int getGovernorMinFreeMemoryMb() {
+        return snapshot.governorMinFreeMemoryMb;
+    }
+
+    public int getGovernorThrottleTimeoutSeconds() {
+        return snapshot.governorThrottleTimeoutSeconds;
+    }
+
+    public boolean isLocalStorefrontEnabled() {
+        return snapshot.localStorefrontEnabled;
+    }
+
+    public int getLocalStorefrontPort() {
+        return snapshot.localStorefrontPort;
+    }
+
+    public boolean isMetricsEnabled() {
+        return snapshot.metricsEnabled;
+    }
+
+    public String getMetricsOutputDir() {
+        return snapshot.metricsOutputDir;
+    }
+
+    public String getLogsOutputDir() {
+        return snapshot.logsOutputDir;
+    }
+
+    public boolean isReportEnabled() {
+        return snapshot.reportEnabled;
+    }
+
+    public String getReportOutputDir() {
+        return snapshot.reportOutputDir;
+    }
+
+    public int getReportRenderIntervalSeconds() {
+        return snapshot.reportRenderIntervalSeconds;
+    }
+
+    public int getReportMaxStepsPerTest() {
+        return snapshot.reportMaxStepsPerTest;
+    }
+
+    public boolean isArtifactsEnabled() {
+        return snapshot.artifactsEnabled;
+    }
+
+    public String getArtifactsOutputDir() {
+        return snapshot.artifactsOutputDir;
+    }
+
+    public int getArtifactsMaxSizeMb() {
+        return snapshot.artifactsMaxSizeMb;
+    }
+
+    public int getArtifactsQueueCapacity() {
+        return snapshot.artifactsQueueCapacity;
+    }
+
+    public int getArtifactsWriterThreads() {
+        return snapshot.artifactsWriterThreads;
+    }
+
+    /**
+     * The configuration layers at one point of the run, with every known key parsed into a final field.
+     */
+    static final class Snapshot {
+        /** Every layer merged, blank values removed. */
+        private final Map<String, String> values;
+
+        private final String browserOverride;
+        private final String apiUrl;
+        private final String baseUrl;
+        private final String browser;
+        private final String browserProfile;
+        private final boolean headless;
+        private final int explicitTimeout;
+        private final int waitPollInitialMillis;
+        private final int waitPollMaxMillis;
+        private final int waitSettleGraceMillis;
+        private final int waitSettleStabilityMillis;
+        private final int waitBudgetClickable;
+        private final int waitBudgetVisible;
+        private final int waitBudgetSettled;
+        private final String testDurationsFile;
+        private final int testDurationDefaultMillis;
+        private final int shardCount;
+        private final int shardIndex;
+        private final String testUserEmail;
+        private final String testUserPassword;
+        private final String testUserName;
+        private final String searchProduct;
+        private final int userPoolSize;
+        private final String authLoginMode;
+        private final int authSessionMaxAge;
+        private final boolean networkBlockingEnabled;
+        private final List<String> networkBlockingDenyList;
+        private final List<String> networkBlockingAllowList;
+        private final int networkBlockingEstimatedBytes;
+        private final String httpCacheDir;
+        private final List<String> httpCacheResourceTypes;
+        private final int httpCacheMaxSizeMb;
+        private final int httpCacheMappedMaxMb;
+        private final boolean driverPoolEnabled;
+        private final int driverPoolSize;
+        private final int driverPoolPrewarm;
+        private final int driverPoolMaxUses;
+        private final int driverPoolAcquireTimeout;
+        private final int browserContextsPerProcess;
+        private final boolean governorEnabled;
+        private final int governorMaxMemoryMb;
+        private final int governorMaxAgeSeconds;
+        private final int governorMinFreeMemoryMb;
+        private final int governorThrottleTimeoutSeconds;
+        private final boolean localStorefrontEnabled;
+        private final int localStorefrontPort;
+        private final boolean metricsEnabled;
+        private final String metricsOutputDir;
+        private final String logsOutputDir;
+        private final boolean reportEnabled;
+        private final String reportOutputDir;
+        private final int reportRenderIntervalSeconds;
+        private final int reportMaxStepsPerTest;
+        private final boolean artifactsEnabled;
+        private final String artifactsOutputDir;
+        private final int artifactsMaxSizeMb;
+        private final int artifactsQueueCapacity;
+        private final int artifactsWriterThreads;
+        private final double waitPollFactor;
+        private final int testRetryMax;
+        private final String httpCacheMode;
+
+        Snapshot(Map<String, String> files, Map<String, String> suiteParameters, Map<String, String> runtimeOverrides) {
+            this.values = merge(files, suiteParameters, runtimeOverrides);
+
+            Parser parser = new Parser(this);
+            browserOverride = Optional.ofNullable(System.getProperty("browser"))
+                    .or(() -> Optional.ofNullable(System.getenv(envName("browser"))))
+                    .filter(value -> !value.isBlank())
+                    .orElse(null);
+            apiUrl = parser.string("api.url", null);
+            baseUrl = parser.string("base.url", null);
+            browser = parser.string("browser", "chrome");
+            browserProfile = parser.choice("browser.profile", null, "headless-fast", "headed-debug", "container");
+            headless = parser.bool("headless", false);
+            explicitTimeout = parser.integer("explicit.timeout", 10);
+            waitPollInitialMillis = parser.integer("wait.poll.initial.ms", 10);
+            waitPollMaxMillis = parser.integer("wait.poll.max.ms", 250);
+            waitSettleGraceMillis = parser.integer("wait.settle.grace.ms", 150);
+            waitSettleStabilityMillis = parser.integer("wait.settle.stability.ms", 750);
+            waitBudgetClickable = parser.integer("wait.budget.clickable", explicitTimeout);
+            waitBudgetVisible = parser.integer("wait.budget.visible", explicitTimeout);
+            waitBudgetSettled = parser.integer("wait.budget.settled", explicitTimeout);
+            testDurationsFile = parser.string("test.durations.file", "test-durations.json");
+            testDurationDefaultMillis = parser.integer("test.durations.default.ms", 30000);
+            shardCount = parser.integer("shard.count", 1);
+            shardIndex = parser.integer("shard.index", 0);
+            testUserEmail = parser.string("test.user.email", null);
+            testUserPassword = parser.string("test.user.password", null);
+            testUserName = parser.string("test.user.name", null);
+            searchProduct = parser.string("search.product", "T-shirt");
+            userPoolSize = parser.integer("user.pool.size", 4);
+            authLoginMode = parser.choice("auth.login.mode", "http", "http", "ui");
+            authSessionMaxAge = parser.integer("auth.session.max.age", 1800);
+            networkBlockingEnabled = parser.bool("network.blocking.enabled", true);
+            networkBlockingDenyList = parser.list("network.blocking.deny");
+            networkBlockingAllowList = parser.list("network.blocking.allow");
+            networkBlockingEstimatedBytes = parser.integer("network.blocking.estimated.bytes.per.request", 40000);
+            httpCacheDir = parser.string("http.cache.dir", ".http-cache");
+            httpCacheResourceTypes = parser.list("http.cache.resource.types");
+            httpCacheMaxSizeMb = parser.integer("http.cache.max.size.mb", 256);
+            httpCacheMappedMaxMb = parser.integer("http.cache.mapped.max.mb", 64);
+            driverPoolEnabled = parser.bool("driver.pool.enabled", true);
+            driverPoolSize = parser.integer("driver.pool.size", 4);
+            driverPoolPrewarm = parser.integer("driver.pool.prewarm", 1);
+            driverPoolMaxUses = parser.integer("driver.pool.max.uses", 20);
+            driverPoolAcquireTimeout = parser.integer("driver.pool.acquire.timeout", 120);
+            browserContextsPerProcess = parser.integer("browser.contexts.per.process", 1);
+            governorEnabled = parser.bool("governor.enabled", true);
+            governorMaxMemoryMb = parser.integer("governor.max.memory.mb", 1500);
+            governorMaxAgeSeconds = parser.integer("governor.max.age.seconds", 1800);
+            governorMinFreeMemoryMb = parser.integer("governor.min.free.memory.mb", 1024);
+            governorThrottleTimeoutSeconds = parser.integer("governor.throttle.timeout.seconds", 120);
+            localStorefrontEnabled = parser.bool("storefront.local.enabled", false);
+            localStorefrontPort = parser.integer("storefront.local.port", 0);
+            metricsEnabled = parser.bool("metrics.enabled", true);
+            metricsOutputDir = parser.string("metrics.output.dir", "target/metrics");
+            logsOutputDir = parser.string("logs.output.dir", "target/logs");
+            reportEnabled = parser.bool("report.enabled", true);
+            reportOutputDir = parser.string("report.output.dir", "target/report");
+            reportRenderIntervalSeconds = parser.integer("report.render.interval.seconds", 5);
+            reportMaxStepsPerTest = parser.integer("report.max.steps.per.test", 200);
+            artifactsEnabled = parser.bool("artifacts.enabled", true);
+            artifactsOutputDir = parser.string("artifacts.output.dir", "target/artifacts");
+            artifactsMaxSizeMb = parser.integer("artifacts.max.size.mb", 200);
+            artifactsQueueCapacity = parser.integer("artifacts.queue.capacity", 32);
+            artifactsWriterThreads = parser.integer("artifacts.writer.threads", 2);
+            waitPollFactor = parser.decimal("wait.poll.factor", 1.5);
+            testRetryMax = parser.integer("test.retry.max", 1);
+            httpCacheMode = parser.choice("http.cache.mode", "off", "off", "record", "replay");
+            parser.failOnErrors();
+        }
+
+        /**
+         * Layers the files, suite parameters, {@code AE_} environment variables, system properties and runtime
+         * overrides, later ones winning. A blank value hides the layers below it and counts as unset.
+         */
+        private static Map<String, String> merge(Map<String, String> files, Map<String, String> suiteParameters,
+                Map<String, String> runtimeOverrides) {
+            Properties system = System.getProperties();
+            Map<String, String> environment = System.getenv();
+
+            Map<String, String> merged = new HashMap<>(files);
+            merged.putAll(suiteParameters);
+            Map<String, String> envKeys = new HashMap<>();
+            for (String key : merged.keySet()) {
+                envKeys.put(envName(key), key);
+            }
+            for (String key : system.stringPropertyNames()) {
+                envKeys.putIfAbsent(envName(key), key);
+            }
+            for (String key : runtimeOverrides.keySet()) {
+                envKeys.putIfAbsent(envName(key), key);
+            }
+            environment.forEach((name, value) -> {
+                if (name.startsWith(ENV_PREFIX)) {
+                    String key = envKeys.get(name);
+                    merged.put(key != null ? key : name.substring(ENV_PREFIX.length()).toLowerCase(Locale.ROOT)
+                            .replace('_', '.'), value);
+                }
+            });
+            system.stringPropertyNames().forEach(key -> merged.put(key, system.getProperty(key)));
+            merged.putAll(runtimeOverrides);
+
+            merged.values().removeIf(String::isBlank);
+            merged.replaceAll((key, value) -> value.trim());
+            return Collections.unmodifiableMap(merged);
+        }
+
+        /**
+         * Returns the value of the highest layer that sets the key, or null.
+         */
+        String get(String key) {
+            return values.get(key);
+        }
+
+        int integer(String key, int defaultValue) {
+            String value = get(key);
+            return value == null ? defaultValue : Parser.parseInt(key, value);
+        }
+    }
+
+    /**
+     * Parses typed values, collecting every invalid one so that a single error reports them all.
+     */
+    private static final class Parser {
+        private final Snapshot snapshot;
+        private final List<String> errors = new ArrayList<>();
+
+        private Parser(Snapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        private String string(String key, String defaultValue) {
+            String value = snapshot.get(key);
+            return value != null ? value : defaultValue;
+        }
+
+        private int integer(String key, int defaultValue) {
+            try {
+                return snapshot.integer(key, defaultValue);
+            } catch (IllegalArgumentException e) {
+                errors.add(e.getMessage());
+                return defaultValue;
+            }
+        }
+
+        private boolean bool(String key, boolean defaultValue) {
+            String value = snapshot.get(key);
+            try {
+                return value == null ? defaultValue : parseBoolean(key, value);
+            } catch (IllegalArgumentException e) {
+                errors.add(e.getMessage());
+                return defaultValue;
+            }
+        }
+
+        private double decimal(String key, double defaultValue) {
+            String value = snapshot.get(key);
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                return Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                errors.add(key + "='" + value + "' is not a number");
+                return defaultValue;
+            }
+        }
+
+        /**
+         * Reads a value that must be one of {@code allowed}, any case.
+         */
+        private String choice(String key, String defaultValue, String... allowed) {
+            String value = snapshot.get(key);
+            if (value == null) {
+                return defaultValue;
+            }
+            for (String option : allowed) {
+                if (option.equalsIgnoreCase(value)) {
+                    return option;
+                }
+            }
+            errors.add(key + "='" + value + "' is not one of " + String.join(", ", allowed));
+            return defaultValue;
+        }
+
+        private List<String> list(String key) {
+            return parseList(snapshot.get(key));
+        }
+
+        private void failOnErrors() {
+            if (!errors.isEmpty()) {
+                logger.error("Invalid configuration: {}", errors);
+                throw new RuntimeException("Invalid configuration: " + String.join("; ", errors));
+            }
+        }
+
+        static int parseInt(String key, String value) {
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(key + "='" + value + "' is not an integer", e);
+            }
+        }
+
+        static boolean parseBoolean(String key, String value) {
+            if ("true".equalsIgnoreCase(value)) {
+                return true;
+            }
+            if ("false".equalsIgnoreCase(value)) {
+                return false;
+            }
+            throw new IllegalArgumentException(key + "='" + value + "' is not true or false");
+        }
+
+        static List<String> parseList(String value) {
+            if (value == null) {
+                return Collections.emptyList();
+            }
+            return Arrays.stream(value.split(","))
+                    .map(String::trim)
+                    .filter(item -> !item.isEmpty())
+                    .collect(Collectors.toUnmodifiableList());
+        }
+    }
 }
@@ -1,62 +1,222 @@
 package com.automationexercise.utils;
 
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
 
 import java.time.Duration;
+import java.util.logging.Level;
 
 /**
- * WebDriver Factory with Selenium Manager
+ * WebDriver Factory with Selenium Manager.
+ * Sessions are served from a warm {@link DriverPool} unless {@code driver.pool.enabled=false}, or as isolated
+ * browser contexts sharing Chrome/Edge processes ({@link BrowserContextPool}) when
+ * {@code browser.contexts.per.process} is above 1.
+ * Drivers are instrumented with {@link CommandMetrics}; use {@link #unwrap(WebDriver)} for browser-specific APIs.
  */
 public class DriverFactory {
     private static final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
+    /** Browser/profile of a driver kept on the thread by {@link #retainDriver()}. */
+    private static final ThreadLocal<String> retainedThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<String> sessionKeyThreadLocal = new ThreadLocal<>();
+    private static volatile DriverPool pool;
+    private static volatile BrowserContextPool contextPool;
 
     public static WebDriver getDriver() {
         return driverThreadLocal.get();
     }
 
     public static WebDriver createDriver(String browser) {
+        return createDriver(browser, BrowserProfile.resolve());
+    }
+
+    /**
+     * Provides a WebDriver for the current thread launched with the given profile.
+     *
+     * @param browser the browser type (chrome, firefox, edge)
+     * @param profile the launch profile, see {@link BrowserProfile}
+     * @return the current thread's {@link WebDriver}
+     */
+    public static WebDriver createDriver(String browser, BrowserProfile profile) {
+        String sessionKey = browser.toLowerCase() + "/" + profile.getProfileName();
+        String retained = retainedThreadLocal.get();
+        if (retained != null) {
+            retainedThreadLocal.remove();
+            if (retained.equals(sessionKey)) {
+                CommandMetrics.record(CommandMetrics.Category.LIFECYCLE, "reuse", 0);
+                return driverThreadLocal.get();
+            }
+            quitDriver();
+        }
+
+        long start = System.nanoTime();
+        WebDriver driver;
+        if (usesBrowserContexts(browser)) {
+            driver = getContextPool().acquire(browser, profile);
+        } else if (ConfigManager.getInstance().isDriverPoolEnabled()) {
+            driver = getPool().acquire(browser, profile);
+        } else {
+            driver = launchDriver(browser, profile);
+        }
+        CommandMetrics.record(CommandMetrics.Category.LIFECYCLE, "acquire", System.nanoTime() - start);
+
+        driverThreadLocal.set(driver);
+        sessionKeyThreadLocal.set(sessionKey);
+        return driver;
+    }
+
+    /**
+     * Resets the current thread's driver (cookies, storage, extra windows) and keeps it for the next
+     * {@link #createDriver(String, BrowserProfile)} call on this thread with the same browser and profile,
+     * e.g. the retry of a failed test. Quits the driver instead if it cannot be reset.
+     */
+    public static void retainDriver() {
+        WebDriver driver = driverThreadLocal.get();
+        if (driver == null) {
+            return;
+        }
+        boolean reset = contextPool != null && contextPool.owns(driver)
+                ? contextPool.reset(driver)
+                : DriverPool.resetState(driver);
+        if (reset) {
+            retainedThreadLocal.set(sessionKeyThreadLocal.get());
+        } else {
+            quitDriver();
+        }
+    }
+
+    public static void quitDriver() {
+        WebDriver driver = driverThreadLocal.get();
+        retainedThreadLocal.remove();
+        if (driver != null) {
+            driverThreadLocal.remove();
+            sessionKeyThreadLocal.remove();
+            if (contextPool != null && contextPool.owns(driver)) {
+                contextPool.release(driver);
+            } else if (ConfigManager.getInstance().isDriverPoolEnabled()) {
+                getPool().release(driver);
+            } else {
+                driver.quit();
+            }
+        }
+    }
+
+    /**
+     * Launches a brand-new browser session with the given profile, bypassing the pool.
+     *
+     * @param browser the browser type (chrome, firefox, edge)
+     * @param profile the launch profile providing the tuned browser options
+     * @return the new {@link WebDriver}
+     * @throws IllegalArgumentException if the browser is not supported
+     */
+    static WebDriver launchDriver(String browser, BrowserProfile profile) {
+        long start = System.nanoTime();
+        WebDriver driver = launchBrowser(browser, profile);
+        NetworkBlocker.attach(driver);
+
+        CommandMetrics.record(CommandMetrics.Category.LIFECYCLE, "launch", System.nanoTime() - start);
+        return CommandMetrics.instrument(driver);
+    }
+
+    /**
+     * Launches a browser with the given profile, without request blocking or instrumentation.
+     *
+     * @throws IllegalArgumentException if the browser is not supported
+     */
+    static WebDriver launchBrowser(String browser, BrowserProfile profile) {
+        ResourceGovernor.getInstance().awaitMemory();
         WebDriver driver;
 
         switch (browser.toLowerCase()) {
             case "chrome":
-                ChromeOptions chromeOptions = new ChromeOptions();
-//                chromeOptions.addArguments("--no-sandbox", "--disable-dev-shm-usage");
-                driver = new ChromeDriver(chromeOptions);
+                driver = new ChromeDriver(chromeOptions(profile));
                 break;
 
             case "firefox":
-                FirefoxOptions firefoxOptions = new FirefoxOptions();
-                driver = new FirefoxDriver(firefoxOptions);
+                driver = new FirefoxDriver(profile.apply(new FirefoxOptions()));
                 break;
 
             case "edge":
-                EdgeOptions edgeOptions = new EdgeOptions();
-                driver = new EdgeDriver(edgeOptions);
+                driver = new EdgeDriver(edgeOptions(profile));
                 break;
 
             default:
                 throw new IllegalArgumentException("Browser not supported: " + browser);
         }
 
-        driver.manage().window().maximize();
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(
-                ConfigManager.getInstance().getImplicitTimeout()));
-
-        driverThreadLocal.set(driver);
+        if (profile.shouldMaximizeWindow()) {
+            driver.manage().window().maximize();
+        }
+        // all waiting is explicit (see BasePage/WaitEngine); implicit waits would compound with it
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
         return driver;
     }
 
-    public static void quitDriver() {
-        WebDriver driver = driverThreadLocal.get();
-        if (driver != null) {
-            driver.quit();
-            driverThreadLocal.remove();
+    /**
+     * Chrome options for a profile, shared by launched and {@link BrowserContextPool} worker sessions.
+     */
+    static ChromeOptions chromeOptions(BrowserProfile profile) {
+        return withConsoleLog(profile.apply(new ChromeOptions()));
+    }
+
+    /**
+     * Edge options for a profile, shared by launched and {@link BrowserContextPool} worker sessions.
+     */
+    static EdgeOptions edgeOptions(BrowserProfile profile) {
+        return withConsoleLog(profile.apply(new EdgeOptions()));
+    }
+
+    /**
+     * Keeps console warnings and errors in the browser log, read by {@link ArtifactWriter} when a test fails.
+     */
+    private static <T extends ChromiumOptions<?>> T withConsoleLog(T options) {
+        LoggingPreferences logs = new LoggingPreferences();
+        logs.enable(LogType.BROWSER, Level.WARNING);
+        options.setCapability(ChromeOptions.LOGGING_PREFS, logs);
+        return options;
+    }
+
+    /**
+     * Returns the browser driver behind an instrumented driver, e.g. for CDP access.
+     *
+     * @param driver a driver obtained from this factory
+     * @return the undecorated driver
+     */
+    public static WebDriver unwrap(WebDriver driver) {
+        return driver instanceof WrapsDriver ? ((WrapsDriver) driver).getWrappedDriver() : driver;
+    }
+
+    private static boolean usesBrowserContexts(String browser) {
+        return ConfigManager.getInstance().getBrowserContextsPerProcess() > 1 && BrowserContextPool.supports(browser);
+    }
+
+    private static BrowserContextPool getContextPool() {
+        if (contextPool == null) {
+            synchronized (DriverFactory.class) {
+                if (contextPool == null) {
+                    contextPool = new BrowserContextPool(DriverFactory::launchBrowser, ConfigManager.getInstance());
+                }
+            }
+        }
+        return contextPool;
+    }
+
+    private static DriverPool getPool() {
+        if (pool == null) {
+            synchronized (DriverFactory.class) {
+                if (pool == null) {
+                    pool = new DriverPool(DriverFactory::launchDriver, ConfigManager.getInstance());
+                }
+            }
         }
+        return pool;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,356 @@
+package com.automationexercise.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * Bounded pool of warm WebDriver sessions per browser and launch profile.
+ * Chromium sessions are reset instead of quit on release and recycled after a
+ * configurable number of uses, when they fail a health check or when
+ * {@link ResourceGovernor} finds them over their memory or age limit.
+ * Other browsers cannot clear the cookies of every site they visited, so their sessions
+ * are recycled on every release and the pool only keeps replacements launched ahead.
+ */
+public class DriverPool {
+    private static final Logger logger = LoggerFactory.getLogger(DriverPool.class);
+
+    /** How often a waiting acquire checks for a slot freed by a discarded session. */
+    private static final long AWAIT_SLICE_MILLIS = 250;
+
+    private final BiFunction<String, BrowserProfile, WebDriver> launcher;
+    private final int maxSessions;
+    private final int prewarm;
+    private final int maxUses;
+    private final long acquireTimeoutSeconds;
+    private final ResourceGovernor governor;
+
+    private final Map<String, BrowserSessions> pools = new ConcurrentHashMap<>();
+    private final Map<WebDriver, PooledSession> leased = new ConcurrentHashMap<>();
+    private final ExecutorService launchExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "driver-pool-launcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DriverPool(BiFunction<String, BrowserProfile, WebDriver> launcher, ConfigManager config) {
+        this.launcher = launcher;
+        this.maxSessions = Math.max(1, config.getDriverPoolSize());
+        this.prewarm = Math.min(Math.max(0, config.getDriverPoolPrewarm()), maxSessions);
+        this.maxUses = Math.max(1, config.getDriverPoolMaxUses());
+        this.acquireTimeoutSeconds = config.getDriverPoolAcquireTimeout();
+        this.governor = ResourceGovernor.getInstance();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "driver-pool-shutdown"));
+    }
+
+    /**
+     * Hands out a healthy session for the given browser and profile, launching a new one
+     * if the pool has spare capacity, otherwise waiting for a release.
+     *
+     * @param browser the browser type (chrome, firefox, edge)
+     * @param profile the launch profile of the session
+     * @return a ready-to-use {@link WebDriver}
+     * @throws RuntimeException if no session becomes available within the acquire timeout
+     */
+    public WebDriver acquire(String browser, BrowserProfile profile) {
+        String key = browser.toLowerCase() + "/" + profile.getProfileName();
+        BrowserSessions sessions = pools.computeIfAbsent(key,
+                ignored -> createBrowserSessions(browser.toLowerCase(), profile));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(acquireTimeoutSeconds);
+
+        while (true) {
+            PooledSession session = sessions.idle.pollFirst();
+            if (session == null && sessions.tryReserve()) {
+                session = launch(sessions);
+            }
+            if (session == null) {
+                session = awaitIdle(sessions, deadline);
+            }
+
+            if (isHealthy(session)) {
+                leased.put(session.driver, session);
+                logger.debug("Acquired {} session (use {} of {})", sessions.browser, session.uses + 1, maxUses);
+                return session.driver;
+            }
+
+            logger.warn("Discarding unhealthy {} session", sessions.browser);
+            discard(sessions, session);
+        }
+    }
+
+    /**
+     * Returns a session to the pool. The session is reset (cookies, storage, extra windows)
+     * and kept warm, or recycled if it reached its use or resource limits or cannot be reset.
+     *
+     * @param driver the driver previously obtained from {@link #acquire(String, BrowserProfile)}
+     */
+    public void release(WebDriver driver) {
+        PooledSession session = leased.remove(driver);
+        if (session == null) {
+            logger.warn("Releasing a driver that is not owned by the pool, quitting it");
+            quitQuietly(driver);
+            return;
+        }
+
+        BrowserSessions sessions = session.sessions;
+        session.uses++;
+
+        if (session.uses >= maxUses) {
+            logger.debug("Recycling {} session after {} uses", session.browser, session.uses);
+            discard(sessions, session);
+            replenish(sessions);
+            return;
+        }
+
+        String overLimit = governor.recycleReason(driver, Duration.ofNanos(System.nanoTime() - session.createdNanos));
+        if (overLimit != null) {
+            logger.info("Recycling {} session, {}", session.browser, overLimit);
+            discard(sessions, session);
+            replenish(sessions);
+            return;
+        }
+
+        if (!canReset(driver)) {
+            logger.debug("Recycling {} session, it cannot clear the cookies of other sites", session.browser);
+            discard(sessions, session);
+            replenish(sessions);
+            return;
+        }
+
+        if (!resetState(driver)) {
+            logger.warn("Failed to reset {} session, recycling it", session.browser);
+            discard(sessions, session);
+            replenish(sessions);
+            return;
+        }
+
+        sessions.idle.offerFirst(session);
+    }
+
+    /**
+     * Quits every pooled session, idle and leased.
+     */
+    public void shutdown() {
+        launchExecutor.shutdownNow();
+        for (BrowserSessions sessions : pools.values()) {
+            List<PooledSession> idle = new ArrayList<>();
+            sessions.idle.drainTo(idle);
+            idle.forEach(session -> quitQuietly(session.driver));
+        }
+        leased.keySet().forEach(DriverPool::quitQuietly);
+        leased.clear();
+    }
+
+    private BrowserSessions createBrowserSessions(String browser, BrowserProfile profile) {
+        BrowserSessions sessions = new BrowserSessions(browser, profile);
+        for (int i = 0; i < prewarm; i++) {
+            replenish(sessions);
+        }
+        return sessions;
+    }
+
+    /**
+     * Launches a session in the background so that it is warm by the time a test asks for it.
+     */
+    private void replenish(BrowserSessions sessions) {
+        if (sessions.idle.size() >= prewarm || !sessions.tryReserve()) {
+            return;
+        }
+        try {
+            launchExecutor.execute(() -> {
+                PooledSession session = launch(sessions);
+                if (session != null) {
+                    sessions.idle.offerLast(session);
+                }
+            });
+        } catch (RuntimeException e) {
+            sessions.open.decrementAndGet();
+        }
+    }
+
+    private PooledSession launch(BrowserSessions sessions) {
+        try {
+            WebDriver driver = launcher.apply(sessions.browser, sessions.profile);
+            logger.info("Launched pooled {} session with profile {} ({} of {})",
+                    sessions.browser, sessions.profile.getProfileName(), sessions.open.get(), maxSessions);
+            return new PooledSession(sessions, driver);
+        } catch (RuntimeException e) {
+            sessions.open.decrementAndGet();
+            logger.error("Failed to launch {} session", sessions.browser, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for a released session, or launches one when a discarded session frees a slot without a
+     * replacement being launched (e.g. with {@code driver.pool.prewarm=0}).
+     */
+    private PooledSession awaitIdle(BrowserSessions sessions, long deadline) {
+        try {
+            while (true) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new RuntimeException("No " + sessions.browser + " session available within "
+                            + acquireTimeoutSeconds + "s (pool size " + maxSessions + ")");
+                }
+                PooledSession session = sessions.idle.pollFirst(
+                        Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(AWAIT_SLICE_MILLIS)), TimeUnit.NANOSECONDS);
+                if (session != null) {
+                    return session;
+                }
+                if (sessions.tryReserve()) {
+                    return launch(sessions);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a " + sessions.browser + " session", e);
+        }
+    }
+
+    private void discard(BrowserSessions sessions, PooledSession session) {
+        sessions.open.decrementAndGet();
+        quitQuietly(session.driver);
+    }
+
+    private static boolean isHealthy(PooledSession session) {
+        try {
+            session.driver.getWindowHandle();
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns true if {@link #resetState(WebDriver)} can clear the session's state for every origin.
+     * WebDriver's deleteAllCookies only covers the current page's domain, so this takes CDP (Chromium).
+     */
+    static boolean canReset(WebDriver driver) {
+        return DriverFactory.unwrap(driver) instanceof ChromiumDriver;
+    }
+
+    /**
+     * Closes every window but one, clears cookies and web storage of every origin the session holds data for
+     * and parks it on about:blank. Returns false without touching the session if it cannot be reset.
+     *
+     * @see #canReset(WebDriver)
+     */
+    static boolean resetState(WebDriver pooledDriver) {
+        if (!canReset(pooledDriver)) {
+            return false;
+        }
+        // reset on the undecorated driver, so the cleanup is not recorded as test commands
+        ChromiumDriver driver = (ChromiumDriver) DriverFactory.unwrap(pooledDriver);
+        try {
+            Set<String> handles = driver.getWindowHandles();
+            List<String> ordered = new ArrayList<>(handles);
+            String keep = ordered.get(0);
+            for (String handle : ordered.subList(1, ordered.size())) {
+                driver.switchTo().window(handle).close();
+            }
+            driver.switchTo().window(keep);
+
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+
+            for (String origin : storedOrigins(driver)) {
+                driver.executeCdpCommand("Storage.clearDataForOrigin", Map.of("origin", origin, "storageTypes", "all"));
+            }
+            driver.executeCdpCommand("Network.clearBrowserCookies", Collections.emptyMap());
+
+            driver.get("about:blank");
+            return true;
+        } catch (WebDriverException e) {
+            logger.debug("Session reset failed", e);
+            return false;
+        }
+    }
+
+    /**
+     * Origins that may hold storage: the current page's and every origin with a cookie, third parties included.
+     */
+    @SuppressWarnings("unchecked")
+    private static Set<String> storedOrigins(ChromiumDriver driver) {
+        Set<String> origins = new LinkedHashSet<>();
+        Object current = ((JavascriptExecutor) driver).executeScript("return window.location.origin;");
+        if (current instanceof String && ((String) current).startsWith("http")) {
+            origins.add((String) current);
+        }
+        Object cookies = driver.executeCdpCommand("Network.getAllCookies", Collections.emptyMap()).get("cookies");
+        if (cookies instanceof List) {
+            for (Map<String, Object> cookie : (List<Map<String, Object>>) cookies) {
+                String domain = String.valueOf(cookie.get("domain"));
+                String host = domain.startsWith(".") ? domain.substring(1) : domain;
+                origins.add("https://" + host);
+                origins.add("http://" + host);
+            }
+        }
+        return origins;
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            logger.debug("Error quitting pooled session", e);
+        }
+    }
+
+    private final class BrowserSessions {
+        private final String browser;
+        private final BrowserProfile profile;
+        private final BlockingDeque<PooledSession> idle = new LinkedBlockingDeque<>();
+        private final AtomicInteger open = new AtomicInteger();
+
+        private BrowserSessions(String browser, BrowserProfile profile) {
+            this.browser = browser;
+            this.profile = profile;
+        }
+
+        private boolean tryReserve() {
+            int current;
+            do {
+                current = open.get();
+                if (current >= maxSessions) {
+                    return false;
+                }
+            } while (!open.compareAndSet(current, current + 1));
+            return true;
+        }
+    }
+
+    private static final class PooledSession {
+        private final BrowserSessions sessions;
+        private final String browser;
+        private final WebDriver driver;
+        private final long createdNanos = System.nanoTime();
+        private int uses;
+
+        private PooledSession(BrowserSessions sessions, WebDriver driver) {
+            this.sessions = sessions;
+            this.browser = sessions.browser;
+            this.driver = driver;
+        }
+    }
+}
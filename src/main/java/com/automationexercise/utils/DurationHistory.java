@@ -0,0 +1,165 @@
+package com.automationexercise.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-test-method duration history, persisted as JSON across runs so suites can be split into balanced shards.
+ * Each run's duration is blended into a moving average; the file is locked while merging so that shards
+ * running side by side on one machine do not lose each other's updates.
+ */
+public class DurationHistory {
+    private static final Logger logger = LoggerFactory.getLogger(DurationHistory.class);
+
+    /** Weight of the latest run in the moving average. */
+    private static final double SMOOTHING = 0.5;
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final TypeReference<TreeMap<String, Entry>> FORMAT = new TypeReference<TreeMap<String, Entry>>() { };
+
+    private final Path file;
+    private final Map<String, Entry> history;
+    private final Map<String, Long> recorded = new ConcurrentHashMap<>();
+
+    private DurationHistory(Path file, Map<String, Entry> history) {
+        this.file = file;
+        this.history = history;
+    }
+
+    /**
+     * Lazily initialized, thread-safe singleton (initialization-on-demand holder) reading {@code test.durations.file}.
+     */
+    private static final class Holder {
+        private static final DurationHistory INSTANCE =
+                load(Paths.get(ConfigManager.getInstance().getTestDurationsFile()));
+    }
+
+    public static DurationHistory getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Loads the history file; a missing or unreadable file gives an empty history.
+     *
+     * @param file the JSON history file
+     * @return the loaded history
+     */
+    public static DurationHistory load(Path file) {
+        if (!Files.exists(file)) {
+            return new DurationHistory(file, new TreeMap<>());
+        }
+        try {
+            return new DurationHistory(file, JSON.readValue(file.toFile(), FORMAT));
+        } catch (IOException e) {
+            logger.warn("Could not read test duration history {}, treating every test as unknown", file, e);
+            return new DurationHistory(file, new TreeMap<>());
+        }
+    }
+
+    public boolean contains(String test) {
+        return history.containsKey(test);
+    }
+
+    /**
+     * Returns the average duration of a test, or the fallback if it has never run.
+     *
+     * @param test the fully qualified test method name
+     */
+    public double estimateMillis(String test, double fallbackMillis) {
+        Entry entry = history.get(test);
+        return entry != null ? entry.averageMs : fallbackMillis;
+    }
+
+    /**
+     * Returns the median of all known averages, a reasonable guess for tests without history.
+     */
+    public double medianMillis(double fallbackMillis) {
+        if (history.isEmpty()) {
+            return fallbackMillis;
+        }
+        List<Double> averages = new ArrayList<>();
+        history.values().forEach(entry -> averages.add(entry.averageMs));
+        Collections.sort(averages);
+        int middle = averages.size() / 2;
+        return averages.size() % 2 == 1 ? averages.get(middle) : (averages.get(middle - 1) + averages.get(middle)) / 2;
+    }
+
+    /**
+     * Adds a duration of the current run; invocations of the same method (data providers) are summed.
+     */
+    public void record(String test, long millis) {
+        recorded.merge(test, millis, Long::sum);
+    }
+
+    /**
+     * Merges this run's durations into the file.
+     *
+     * @throws IOException if the file cannot be locked, read or written
+     */
+    public void save() throws IOException {
+        if (recorded.isEmpty()) {
+            return;
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+            TreeMap<String, Entry> merged = new TreeMap<>();
+            if (channel.size() > 0) {
+                ByteBuffer existing = ByteBuffer.allocate((int) channel.size());
+                while (existing.hasRemaining() && channel.read(existing) > 0) {
+                    logger.trace("Read {} bytes of {}", existing.position(), file);
+                }
+                merged = JSON.readValue(existing.array(), 0, existing.position(), FORMAT);
+            }
+
+            for (Map.Entry<String, Long> run : recorded.entrySet()) {
+                Entry previous = merged.get(run.getKey());
+                Entry entry = new Entry();
+                entry.averageMs = previous == null
+                        ? run.getValue()
+                        : SMOOTHING * run.getValue() + (1 - SMOOTHING) * previous.averageMs;
+                entry.averageMs = Math.round(entry.averageMs * 10) / 10.0;
+                entry.runs = previous == null ? 1 : previous.runs + 1;
+                merged.put(run.getKey(), entry);
+            }
+
+            byte[] content = JSON.writeValueAsBytes(merged);
+            channel.truncate(0);
+            channel.write(ByteBuffer.wrap(content), 0);
+            history.putAll(merged);
+        }
+        logger.info("Updated duration history of {} tests in {}", recorded.size(), file.toAbsolutePath());
+        recorded.clear();
+    }
+
+    /**
+     * Moving average of one test method; public fields for Jackson.
+     */
+    public static final class Entry {
+        public double averageMs;
+        public int runs;
+    }
+}
@@ -0,0 +1,270 @@
+package com.automationexercise.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Per-session request blocking for third-party ads, analytics and consent-manager traffic.
+ * Uses CDP Fetch interception on Chromium browsers: requests matching a deny pattern are failed
+ * before they leave the browser unless they also match an allow pattern.
+ * Patterns use {@code *} wildcards, e.g. {@code *doubleclick.net*}.
+ * A session has a single set of Fetch patterns, so the same interception also serves and records
+ * static assets through the {@link ResponseCache}.
+ */
+public class NetworkBlocker {
+    private static final Logger logger = LoggerFactory.getLogger(NetworkBlocker.class);
+
+    private static final Map<WebDriver, NetworkBlocker> blockers = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final List<Pattern> denyPatterns;
+    private final List<Pattern> allowPatterns;
+    private final long estimatedBytesPerRequest;
+    private final ResponseCache cache;
+    private final AtomicLong blockedRequests = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    private final AtomicLong cacheBytesServed = new AtomicLong();
+
+    private NetworkBlocker(List<String> denyPatterns, List<String> allowPatterns, long estimatedBytesPerRequest,
+                           ResponseCache cache) {
+        this.denyPatterns = denyPatterns.stream().map(NetworkBlocker::toRegex).collect(Collectors.toList());
+        this.allowPatterns = allowPatterns.stream().map(NetworkBlocker::toRegex).collect(Collectors.toList());
+        this.estimatedBytesPerRequest = estimatedBytesPerRequest;
+        this.cache = cache;
+    }
+
+    /**
+     * Enables request blocking and response caching on a freshly launched driver according to config.properties.
+     * Does nothing when blocking is disabled (or the deny list is empty) and {@code http.cache.mode=off},
+     * and logs a warning for browsers without CDP support (Firefox).
+     * Interception applies to the driver's current window; calling it again after the driver switched to another
+     * tab (e.g. a new browser context) moves the interception there.
+     *
+     * @param driver the driver to attach to
+     */
+    public static void attach(WebDriver driver) {
+        ConfigManager config = ConfigManager.getInstance();
+        List<String> deny = config.isNetworkBlockingEnabled()
+                ? config.getNetworkBlockingDenyList() : Collections.emptyList();
+        ResponseCache cache = ResponseCache.getInstance();
+        List<String> cachedTypes = cache.getMode() != ResponseCache.Mode.OFF
+                ? config.getHttpCacheResourceTypes() : Collections.emptyList();
+        if (deny.isEmpty() && cachedTypes.isEmpty()) {
+            return;
+        }
+        if (!(driver instanceof HasDevTools)) {
+            logger.warn("Request blocking and response caching are not supported for {}, "
+                    + "third-party requests will load", driver.getClass().getSimpleName());
+            return;
+        }
+
+        DevTools devTools = ((HasDevTools) driver).getDevTools();
+        if (blockers.remove(driver) != null) {
+            devTools.clearListeners();
+            devTools.disconnectSession();
+        }
+        NetworkBlocker blocker = new NetworkBlocker(deny, config.getNetworkBlockingAllowList(),
+                config.getNetworkBlockingEstimatedBytes(), cachedTypes.isEmpty() ? null : cache);
+        blocker.enable(devTools, driver.getWindowHandle(), deny, cachedTypes);
+        blockers.put(driver, blocker);
+        logger.debug("Blocking {} URL patterns and caching {} resource types for {}",
+                deny.size(), cachedTypes.size(), driver.getClass().getSimpleName());
+    }
+
+    /**
+     * Returns the counters of the driver's session collected since the last call and resets them,
+     * so each test sees its own numbers.
+     *
+     * @param driver the driver whose counters to read
+     * @return the counters, all zero if blocking is not active for the driver
+     */
+    public static Stats takeStats(WebDriver driver) {
+        NetworkBlocker blocker = blockers.get(DriverFactory.unwrap(driver));
+        if (blocker == null) {
+            return new Stats(0, 0, 0, 0, 0);
+        }
+        long blocked = blocker.blockedRequests.getAndSet(0);
+        return new Stats(blocked, blocked * blocker.estimatedBytesPerRequest, blocker.cacheHits.getAndSet(0),
+                blocker.cacheMisses.getAndSet(0), blocker.cacheBytesServed.getAndSet(0));
+    }
+
+    /**
+     * Returns true if requests to the URL are blocked in the driver's session, e.g. to skip waiting for
+     * content that a blocked script would render.
+     *
+     * @param driver the driver whose session to check
+     * @param url    the request URL
+     * @return false if blocking is not active for the driver or the URL is allowed
+     */
+    public static boolean blocks(WebDriver driver, String url) {
+        NetworkBlocker blocker = blockers.get(DriverFactory.unwrap(driver));
+        return blocker != null && blocker.isBlocked(url);
+    }
+
+    private void enable(DevTools devTools, String windowHandle, List<String> denyPatterns, List<String> cachedTypes) {
+        devTools.createSessionIfThereIsNotOne(windowHandle);
+
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        for (String deny : denyPatterns) {
+            patterns.add(Map.of("urlPattern", deny, "requestStage", "Request"));
+        }
+        for (String type : cachedTypes) {
+            patterns.add(Map.of("urlPattern", "*", "resourceType", type, "requestStage", "Request"));
+        }
+
+        devTools.addListener(new Event<Map<String, Object>>("Fetch.requestPaused",
+                input -> input.read(Json.MAP_TYPE)), event -> onRequestPaused(devTools, event));
+        devTools.send(new Command<Void>("Fetch.enable", Map.of("patterns", patterns)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onRequestPaused(DevTools devTools, Map<String, Object> event) {
+        String requestId = (String) event.get("requestId");
+        Map<String, Object> request = (Map<String, Object>) event.get("request");
+        String url = String.valueOf(request.get("url"));
+        String method = String.valueOf(request.get("method"));
+
+        try {
+            if (event.containsKey("responseStatusCode")) {
+                record(devTools, requestId, method, url, event);
+            } else if (isBlocked(url)) {
+                blockedRequests.incrementAndGet();
+                devTools.send(new Command<Void>("Fetch.failRequest",
+                        Map.of("requestId", requestId, "errorReason", "BlockedByClient")));
+                logger.trace("Blocked request: {}", url);
+            } else if (cache != null && cache.isCacheable(method)) {
+                serveFromCache(devTools, requestId, method, url);
+            } else {
+                devTools.send(new Command<Void>("Fetch.continueRequest", Map.of("requestId", requestId)));
+            }
+        } catch (RuntimeException e) {
+            // the page may have navigated away and discarded the request
+            logger.debug("Could not resolve intercepted request {}", url, e);
+        }
+    }
+
+    private void serveFromCache(DevTools devTools, String requestId, String method, String url) {
+        ResponseCache.CachedResponse cached = cache.lookup(method, url);
+        if (cached != null) {
+            cacheHits.incrementAndGet();
+            cacheBytesServed.addAndGet(cached.getBodySize());
+            devTools.send(new Command<Void>("Fetch.fulfillRequest", Map.of(
+                    "requestId", requestId,
+                    "responseCode", cached.getStatus(),
+                    "responseHeaders", cached.getHeaders(),
+                    "body", cached.getBodyBase64())));
+        } else if (cache.getMode() == ResponseCache.Mode.REPLAY) {
+            cacheMisses.incrementAndGet();
+            devTools.send(new Command<Void>("Fetch.failRequest",
+                    Map.of("requestId", requestId, "errorReason", "InternetDisconnected")));
+            logger.debug("Not in the HTTP cache, failed in replay mode: {}", url);
+        } else {
+            cacheMisses.incrementAndGet();
+            // pause again at the response stage so the body can be recorded
+            devTools.send(new Command<Void>("Fetch.continueRequest",
+                    Map.of("requestId", requestId, "interceptResponse", true)));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void record(DevTools devTools, String requestId, String method, String url, Map<String, Object> event) {
+        int status = ((Number) event.get("responseStatusCode")).intValue();
+        try {
+            if (cache != null && status == 200) {
+                Map<String, Object> body = devTools.send(new Command<>("Fetch.getResponseBody",
+                        Map.of("requestId", requestId), input -> input.read(Json.MAP_TYPE)));
+                String content = String.valueOf(body.get("body"));
+                byte[] bytes = Boolean.TRUE.equals(body.get("base64Encoded"))
+                        ? Base64.getDecoder().decode(content)
+                        : content.getBytes(StandardCharsets.UTF_8);
+                Object headers = event.get("responseHeaders");
+                cache.store(method, url, status, headers instanceof List
+                        ? (List<Map<String, String>>) headers : Collections.emptyList(), bytes);
+            }
+        } finally {
+            devTools.send(new Command<Void>("Fetch.continueRequest", Map.of("requestId", requestId)));
+        }
+    }
+
+    private boolean isBlocked(String url) {
+        return matchesAny(denyPatterns, url) && !matchesAny(allowPatterns, url);
+    }
+
+    private static boolean matchesAny(List<Pattern> patterns, String url) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(url).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Pattern toRegex(String wildcard) {
+        StringBuilder regex = new StringBuilder();
+        for (String part : wildcard.split("\\*", -1)) {
+            if (regex.length() > 0) {
+                regex.append(".*");
+            }
+            regex.append(Pattern.quote(part));
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    /**
+     * Blocked request and {@link ResponseCache} counters for one test.
+     * Blocked bodies are never downloaded, so bytes saved is an estimate based on
+     * {@code network.blocking.estimated.bytes.per.request}.
+     */
+    public static final class Stats {
+        private final long blockedRequests;
+        private final long estimatedBytesSaved;
+        private final long cacheHits;
+        private final long cacheMisses;
+        private final long cacheBytesServed;
+
+        Stats(long blockedRequests, long estimatedBytesSaved, long cacheHits, long cacheMisses, long cacheBytesServed) {
+            this.blockedRequests = blockedRequests;
+            this.estimatedBytesSaved = estimatedBytesSaved;
+            this.cacheHits = cacheHits;
+            this.cacheMisses = cacheMisses;
+            this.cacheBytesServed = cacheBytesServed;
+        }
+
+        public long getBlockedRequests() {
+            return blockedRequests;
+        }
+
+        public long getEstimatedBytesSaved() {
+            return estimatedBytesSaved;
+        }
+
+        public long getCacheHits() {
+            return cacheHits;
+        }
+
+        public long getCacheMisses() {
+            return cacheMisses;
+        }
+
+        public long getCacheBytesServed() {
+            return cacheBytesServed;
+        }
+    }
+}
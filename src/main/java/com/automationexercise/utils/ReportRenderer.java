@@ -0,0 +1,339 @@
+package com.automationexercise.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Builds {@code report.html} from a {@link TestEventLog} incrementally: every call reads only the events
+ * appended since the previous one and appends a section per finished test, so the report can be opened
+ * while a run is in progress. Only running tests are held in memory (at most {@code report.max.steps.per.test}
+ * steps each), which keeps memory flat however large the suite. Failed tests are held back until their
+ * teardown artifacts are logged or their thread moves on; artifacts written after that, such as failure zips
+ * from the background {@link ArtifactWriter}, are appended below. The totals are appended by {@link #finish()}.
+ */
+public class ReportRenderer {
+    private static final Logger logger = LoggerFactory.getLogger(ReportRenderer.class);
+
+    private static final int READ_CHUNK_BYTES = 64 * 1024;
+    private static final String HEADER = "<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>Test report</title>\n"
+            + "<style>body{font-family:sans-serif;margin:1em 2em}details{border-left:4px solid #999;margin:4px 0;"
+            + "padding:2px 8px}.PASSED{border-color:#2a2}.FAILED{border-color:#d22}.SKIPPED,.RETRIED{border-color:#e90}"
+            + ".INCOMPLETE{border-color:#555}summary{cursor:pointer}.meta{color:#777;font-size:90%}"
+            + "pre{white-space:pre-wrap;background:#f6f6f6;padding:6px}ol{margin:4px 0}</style></head><body>\n"
+            + "<h1>Test report</h1>\n";
+
+    private final Path events;
+    private final Path html;
+    private final int maxSteps;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final Map<String, TestSection> running = new LinkedHashMap<>();
+    /** Finished failures waiting for their artifacts, by id. */
+    private final Map<String, TestSection> held = new LinkedHashMap<>();
+    /** Names of the rendered tests that were not passed, by id, for artifacts logged after them. */
+    private final Map<String, String> renderedFailures = new HashMap<>();
+    private final Map<String, Integer> totals = new LinkedHashMap<>();
+    private final ByteArrayOutputStream partialLine = new ByteArrayOutputStream();
+    private long offset;
+    private boolean started;
+    private boolean finished;
+
+    public ReportRenderer(Path events, Path html, int maxSteps) {
+        this.events = events;
+        this.html = html;
+        this.maxSteps = Math.max(0, maxSteps);
+    }
+
+    /**
+     * Creates a renderer for the event log of this run, writing {@code report.html} next to it.
+     */
+    public static ReportRenderer forEventLog(TestEventLog log) {
+        return new ReportRenderer(log.getFile(), log.getFile().resolveSibling("report.html"),
+                ConfigManager.getInstance().getReportMaxStepsPerTest());
+    }
+
+    /**
+     * Renders the events logged since the last call.
+     */
+    public synchronized void render() {
+        if (finished) {
+            return;
+        }
+        try {
+            List<JsonNode> newEvents = readNewEvents();
+            StringBuilder out = new StringBuilder();
+            newEvents.forEach(event -> apply(event, out));
+            append(out);
+        } catch (IOException e) {
+            logger.error("Failed to render the test report {}", html, e);
+        }
+    }
+
+    /**
+     * Renders the remaining events, held failures and unfinished tests, and appends the totals.
+     */
+    public synchronized void finish() {
+        render();
+        if (finished) {
+            return;
+        }
+        finished = true;
+        StringBuilder out = new StringBuilder();
+        held.values().forEach(section -> section.appendTo(out, html));
+        held.clear();
+        running.values().forEach(section -> {
+            section.status = "INCOMPLETE";
+            count(section.status);
+            section.appendTo(out, html);
+        });
+        running.clear();
+
+        out.append("<h2>Summary</h2>\n<p>");
+        totals.forEach((status, count) -> out.append("<span class=\"").append(status).append("\">")
+                .append(status).append(": ").append(count).append("</span> &nbsp; "));
+        out.append("</p>\n</body></html>\n");
+        try {
+            append(out);
+            logger.info("Test report written to {}", html.toAbsolutePath());
+        } catch (IOException e) {
+            logger.error("Failed to finish the test report {}", html, e);
+        }
+    }
+
+    private List<JsonNode> readNewEvents() throws IOException {
+        List<JsonNode> parsed = new ArrayList<>();
+        if (!Files.exists(events)) {
+            return parsed;
+        }
+        try (FileChannel channel = FileChannel.open(events, StandardOpenOption.READ)) {
+            if (channel.size() < offset) {
+                // the log was restarted
+                offset = 0;
+                partialLine.reset();
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(READ_CHUNK_BYTES);
+            int read;
+            while ((read = channel.read(buffer, offset)) > 0) {
+                offset += read;
+                byte[] bytes = buffer.array();
+                int lineStart = 0;
+                for (int i = 0; i < read; i++) {
+                    if (bytes[i] == '\n') {
+                        partialLine.write(bytes, lineStart, i - lineStart);
+                        parse(partialLine.toByteArray(), parsed);
+                        partialLine.reset();
+                        lineStart = i + 1;
+                    }
+                }
+                partialLine.write(bytes, lineStart, read - lineStart);
+                buffer.clear();
+            }
+        }
+        return parsed;
+    }
+
+    private void parse(byte[] line, List<JsonNode> parsed) {
+        if (line.length == 0) {
+            return;
+        }
+        try {
+            parsed.add(mapper.readTree(line));
+        } catch (IOException e) {
+            logger.debug("Skipping malformed report event: {}", new String(line, StandardCharsets.UTF_8));
+        }
+    }
+
+    private void apply(JsonNode event, StringBuilder out) {
+        String type = event.path("type").asText();
+        String id = event.path("id").asText(null);
+        long ts = event.path("ts").asLong();
+        switch (type) {
+            case "test-start":
+                String thread = event.path("thread").asText();
+                releaseHeld(section -> section.thread.equals(thread), out);
+                running.put(id, new TestSection(event.path("name").asText(), event.path("parameters").asText(null),
+                        thread, ts));
+                break;
+            case "step":
+                TestSection stepping = running.get(id);
+                if (stepping != null) {
+                    stepping.addStep(ts, event.path("text").asText(), maxSteps);
+                }
+                break;
+            case "test-end":
+                TestSection ended = running.remove(id);
+                if (ended != null) {
+                    ended.status = event.path("status").asText();
+                    ended.durationMillis = event.path("ms").asLong();
+                    ended.error = event.path("error").asText(null);
+                    count(ended.status);
+                    if ("PASSED".equals(ended.status)) {
+                        ended.appendTo(out, html);
+                    } else {
+                        held.put(id, ended);
+                        renderedFailures.put(id, ended.name);
+                    }
+                }
+                break;
+            case "artifact":
+                TestSection owner = held.containsKey(id) ? held.remove(id) : running.get(id);
+                if (owner != null) {
+                    owner.artifacts.add(event.path("path").asText());
+                    if (!running.containsKey(id)) {
+                        owner.appendTo(out, html);
+                    }
+                } else if (renderedFailures.containsKey(id)) {
+                    out.append("<p class=\"meta\">Artifact of ").append(escape(renderedFailures.get(id))).append(": ");
+                    appendLink(out, html, event.path("path").asText());
+                    out.append("</p>\n");
+                }
+                break;
+            case "suite-start":
+                out.append("<h2>").append(escape(event.path("suite").asText())).append("</h2>\n<p class=\"meta\">Started ")
+                        .append(Instant.ofEpochMilli(ts)).append("</p>\n");
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static void appendLink(StringBuilder out, Path html, String artifact) {
+        Path target = Paths.get(artifact);
+        String link = html.toAbsolutePath().getParent().relativize(target).toString().replace('\\', '/');
+        out.append("<a href=\"").append(escape(link)).append("\">")
+                .append(escape(target.getFileName().toString())).append("</a>");
+    }
+
+    private void releaseHeld(Predicate<TestSection> filter, StringBuilder out) {
+        Iterator<TestSection> iterator = held.values().iterator();
+        while (iterator.hasNext()) {
+            TestSection section = iterator.next();
+            if (filter.test(section)) {
+                section.appendTo(out, html);
+                iterator.remove();
+            }
+        }
+    }
+
+    private void count(String status) {
+        totals.merge(status, 1, Integer::sum);
+    }
+
+    private void append(CharSequence content) throws IOException {
+        if (!started) {
+            Files.createDirectories(html.toAbsolutePath().getParent());
+            Files.writeString(html, HEADER, StandardCharsets.UTF_8);
+            started = true;
+        }
+        if (content.length() == 0) {
+            return;
+        }
+        try (Writer writer = Files.newBufferedWriter(html, StandardCharsets.UTF_8, StandardOpenOption.APPEND)) {
+            writer.append(content);
+        }
+    }
+
+    static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (char c : text.toCharArray()) {
+            switch (c) {
+                case '<':
+                    escaped.append("&lt;");
+                    break;
+                case '>':
+                    escaped.append("&gt;");
+                    break;
+                case '&':
+                    escaped.append("&amp;");
+                    break;
+                case '"':
+                    escaped.append("&quot;");
+                    break;
+                default:
+                    escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * A test being rendered: its steps until it finishes, then its result and artifacts.
+     */
+    private static final class TestSection {
+        private final String name;
+        private final String parameters;
+        private final String thread;
+        private final long startMillis;
+        private final List<String> steps = new ArrayList<>();
+        private final List<String> artifacts = new ArrayList<>();
+        private int omittedSteps;
+        private String status = "INCOMPLETE";
+        private long durationMillis;
+        private String error;
+
+        private TestSection(String name, String parameters, String thread, long startMillis) {
+            this.name = name;
+            this.parameters = parameters;
+            this.thread = thread;
+            this.startMillis = startMillis;
+        }
+
+        private void addStep(long ts, String text, int maxSteps) {
+            if (steps.size() < maxSteps) {
+                steps.add(String.format(Locale.ROOT, "+%.1fs %s", (ts - startMillis) / 1000.0, text));
+            } else {
+                omittedSteps++;
+            }
+        }
+
+        private void appendTo(StringBuilder out, Path html) {
+            out.append("<details class=\"").append(status).append('"')
+                    .append("PASSED".equals(status) ? "" : " open").append("><summary><b>").append(status)
+                    .append("</b> ").append(escape(name));
+            if (parameters != null) {
+                out.append(' ').append(escape(parameters));
+            }
+            out.append(String.format(Locale.ROOT, " <span class=\"meta\">%.1f s, %s</span></summary>\n",
+                    durationMillis / 1000.0, escape(thread)));
+            if (!steps.isEmpty()) {
+                out.append("<ol>");
+                steps.forEach(step -> out.append("<li>").append(escape(step)).append("</li>"));
+                if (omittedSteps > 0) {
+                    out.append("<li>… ").append(omittedSteps).append(" more steps</li>");
+                }
+                out.append("</ol>\n");
+            }
+            if (error != null) {
+                out.append("<pre>").append(escape(error)).append("</pre>\n");
+            }
+            for (String artifact : artifacts) {
+                out.append("<p>");
+                appendLink(out, html, artifact);
+                out.append("</p>\n");
+            }
+            out.append("</details>\n");
+        }
+    }
+}
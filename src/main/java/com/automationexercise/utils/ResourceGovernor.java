@@ -0,0 +1,289 @@
+package com.automationexercise.utils;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Watches the browser processes behind the drivers: samples each browser's process tree (CPU time, memory,
+ * open handles) between tests, tells the pools to recycle sessions above {@code governor.max.memory.mb} or
+ * older than {@code governor.max.age.seconds}, and holds back new browsers while the agent has less than
+ * {@code governor.min.free.memory.mb} available (the container's cgroup limit if there is one).
+ * Memory is the proportional set size where the OS reports it, so pages shared between browser processes
+ * are not counted twice. Memory and handle counts need Linux {@code /proc}; elsewhere only age is enforced.
+ */
+public class ResourceGovernor {
+    private static final Logger logger = LoggerFactory.getLogger(ResourceGovernor.class);
+
+    private static final long MB = 1024L * 1024L;
+    private static final long THROTTLE_POLL_MILLIS = 500;
+
+    private final boolean enabled;
+    private final long maxMemoryBytes;
+    private final long maxAgeMillis;
+    private final long minFreeMemoryBytes;
+    private final long throttleTimeoutMillis;
+
+    private final Map<WebDriver, Optional<ProcessHandle>> browserProcesses = Collections.synchronizedMap(new WeakHashMap<>());
+
+    ResourceGovernor(boolean enabled, long maxMemoryMb, long maxAgeSeconds, long minFreeMemoryMb,
+                     long throttleTimeoutSeconds) {
+        this.enabled = enabled;
+        this.maxMemoryBytes = maxMemoryMb * MB;
+        this.maxAgeMillis = maxAgeSeconds * 1000;
+        this.minFreeMemoryBytes = minFreeMemoryMb * MB;
+        this.throttleTimeoutMillis = throttleTimeoutSeconds * 1000;
+    }
+
+    /**
+     * Lazily initialized, thread-safe singleton (initialization-on-demand holder).
+     */
+    private static final class Holder {
+        private static final ResourceGovernor INSTANCE = fromConfig(ConfigManager.getInstance());
+    }
+
+    public static ResourceGovernor getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private static ResourceGovernor fromConfig(ConfigManager config) {
+        return new ResourceGovernor(config.isGovernorEnabled(), config.getGovernorMaxMemoryMb(),
+                config.getGovernorMaxAgeSeconds(), config.getGovernorMinFreeMemoryMb(),
+                config.getGovernorThrottleTimeoutSeconds());
+    }
+
+    /**
+     * Samples the process tree of the browser behind a driver.
+     *
+     * @param driver a driver from {@link DriverFactory}, decorated or not
+     * @return the usage, or {@link Usage#UNKNOWN} if the browser process cannot be found
+     */
+    public Usage sample(WebDriver driver) {
+        return browserProcess(DriverFactory.unwrap(driver)).map(ResourceGovernor::sample).orElse(Usage.UNKNOWN);
+    }
+
+    /**
+     * Decides whether a session should be replaced before its next test.
+     *
+     * @param driver the session's driver
+     * @param age    how long the session has existed
+     * @return the reason to recycle, or null if the session is within its limits
+     */
+    public String recycleReason(WebDriver driver, Duration age) {
+        if (!enabled) {
+            return null;
+        }
+        if (maxAgeMillis > 0 && age.toMillis() > maxAgeMillis) {
+            return "age " + age.toSeconds() + "s over " + maxAgeMillis / 1000 + "s";
+        }
+        Usage usage = sample(driver);
+        logger.debug("Browser usage: {}", usage);
+        if (maxMemoryBytes > 0 && usage.getMemoryBytes() > maxMemoryBytes) {
+            return "memory " + usage.getMemoryBytes() / MB + " MB over " + maxMemoryBytes / MB + " MB";
+        }
+        return null;
+    }
+
+    /**
+     * Blocks a browser launch while available memory is below the floor, up to the throttle timeout,
+     * after which the launch goes ahead with a warning.
+     */
+    public void awaitMemory() {
+        if (!enabled || minFreeMemoryBytes <= 0) {
+            return;
+        }
+        long available = availableMemoryBytes();
+        if (available < 0 || available >= minFreeMemoryBytes) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        long deadline = System.currentTimeMillis() + throttleTimeoutMillis;
+        logger.info("Only {} MB of memory available, holding back a new browser", available / MB);
+        while (available >= 0 && available < minFreeMemoryBytes) {
+            if (System.currentTimeMillis() >= deadline) {
+                logger.warn("Still only {} MB of memory available after {}s, launching the browser anyway",
+                        available / MB, throttleTimeoutMillis / 1000);
+                break;
+            }
+            try {
+                Thread.sleep(THROTTLE_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for memory to launch a browser", e);
+            }
+            available = availableMemoryBytes();
+        }
+        CommandMetrics.record(CommandMetrics.Category.LIFECYCLE, "throttle", System.nanoTime() - start);
+    }
+
+    /**
+     * Returns the memory available to this agent: the headroom under the cgroup (v2) limit of a container,
+     * otherwise {@code MemAvailable} of the host, or -1 if neither can be read.
+     */
+    static long availableMemoryBytes() {
+        String limit = readFirstLine(Paths.get("/sys/fs/cgroup/memory.max"));
+        String current = readFirstLine(Paths.get("/sys/fs/cgroup/memory.current"));
+        if (limit != null && current != null && !"max".equals(limit)) {
+            try {
+                return Long.parseLong(limit) - Long.parseLong(current);
+            } catch (NumberFormatException e) {
+                logger.debug("Unexpected cgroup memory values {} / {}", current, limit);
+            }
+        }
+        long available = readKilobytes(Paths.get("/proc/meminfo"), "MemAvailable:");
+        return available >= 0 ? available * 1024 : -1;
+    }
+
+    private Optional<ProcessHandle> browserProcess(WebDriver driver) {
+        Optional<ProcessHandle> process = browserProcesses.get(driver);
+        if (process == null || process.map(handle -> !handle.isAlive()).orElse(false)) {
+            process = driver instanceof HasCapabilities
+                    ? findBrowserProcess(((HasCapabilities) driver).getCapabilities())
+                    : Optional.empty();
+            browserProcesses.put(driver, process);
+        }
+        return process;
+    }
+
+    /**
+     * Finds the browser's main process: Firefox reports its process id, Chrome and Edge report the
+     * profile directory they were started with, which identifies their main (non {@code --type=}) process.
+     */
+    @SuppressWarnings("unchecked")
+    static Optional<ProcessHandle> findBrowserProcess(Capabilities capabilities) {
+        Object pid = capabilities.getCapability("moz:processID");
+        if (pid instanceof Number) {
+            return ProcessHandle.of(((Number) pid).longValue());
+        }
+
+        for (String vendor : new String[]{"chrome", "msedge"}) {
+            Object details = capabilities.getCapability(vendor);
+            if (details instanceof Map && ((Map<String, Object>) details).get("userDataDir") != null) {
+                String flag = "--user-data-dir=" + ((Map<String, Object>) details).get("userDataDir");
+                return ProcessHandle.allProcesses()
+                        .filter(process -> process.info().arguments()
+                                .map(arguments -> isMainProcess(Arrays.asList(arguments), flag))
+                                .orElse(false))
+                        .findFirst();
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static boolean isMainProcess(List<String> arguments, String userDataDirFlag) {
+        return arguments.contains(userDataDirFlag) && arguments.stream().noneMatch(arg -> arg.startsWith("--type="));
+    }
+
+    /**
+     * Sums CPU time, memory and open handles over a process and all its descendants.
+     */
+    static Usage sample(ProcessHandle root) {
+        List<ProcessHandle> tree = Stream.concat(Stream.of(root), root.descendants())
+                .filter(ProcessHandle::isAlive)
+                .collect(Collectors.toList());
+
+        long cpuMillis = 0;
+        long memoryBytes = 0;
+        long handles = 0;
+        boolean procAvailable = Files.isDirectory(Paths.get("/proc", String.valueOf(root.pid())));
+        for (ProcessHandle process : tree) {
+            cpuMillis += process.info().totalCpuDuration().map(Duration::toMillis).orElse(0L);
+            if (procAvailable) {
+                memoryBytes += Math.max(0, memoryKilobytes(process.pid())) * 1024;
+                handles += openHandles(process.pid());
+            }
+        }
+        return new Usage(tree.size(), cpuMillis, procAvailable ? memoryBytes : -1, procAvailable ? handles : -1);
+    }
+
+    private static long memoryKilobytes(long pid) {
+        long pss = readKilobytes(Paths.get("/proc", String.valueOf(pid), "smaps_rollup"), "Pss:");
+        return pss >= 0 ? pss : readKilobytes(Paths.get("/proc", String.valueOf(pid), "status"), "VmRSS:");
+    }
+
+    private static long openHandles(long pid) {
+        try (Stream<Path> descriptors = Files.list(Paths.get("/proc", String.valueOf(pid), "fd"))) {
+            return descriptors.count();
+        } catch (IOException | SecurityException e) {
+            return 0;
+        }
+    }
+
+    private static long readKilobytes(Path file, String field) {
+        try (Stream<String> lines = Files.lines(file)) {
+            return lines.filter(line -> line.startsWith(field))
+                    .findFirst()
+                    .map(line -> Long.parseLong(line.substring(field.length()).replace("kB", "").trim()))
+                    .orElse(-1L);
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private static String readFirstLine(Path file) {
+        try (Stream<String> lines = Files.lines(file)) {
+            return lines.findFirst().map(String::trim).orElse(null);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Resource usage of one browser process tree; -1 for values the OS does not expose.
+     */
+    public static final class Usage {
+        public static final Usage UNKNOWN = new Usage(0, -1, -1, -1);
+
+        private final int processes;
+        private final long cpuMillis;
+        private final long memoryBytes;
+        private final long openHandles;
+
+        Usage(int processes, long cpuMillis, long memoryBytes, long openHandles) {
+            this.processes = processes;
+            this.cpuMillis = cpuMillis;
+            this.memoryBytes = memoryBytes;
+            this.openHandles = openHandles;
+        }
+
+        public int getProcesses() {
+            return processes;
+        }
+
+        public long getCpuMillis() {
+            return cpuMillis;
+        }
+
+        public long getMemoryBytes() {
+            return memoryBytes;
+        }
+
+        public long getOpenHandles() {
+            return openHandles;
+        }
+
+        @Override
+        public String toString() {
+            return processes + " processes, " + cpuMillis + " ms CPU, "
+                    + (memoryBytes >= 0 ? memoryBytes / MB + " MB" : "? MB") + ", "
+                    + (openHandles >= 0 ? openHandles : "?") + " open handles";
+        }
+    }
+}
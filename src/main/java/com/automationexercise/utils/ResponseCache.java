@@ -0,0 +1,452 @@
+package com.automationexercise.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Disk cache of browser responses shared by all sessions of the JVM and kept between runs.
+ * In {@code record} mode cached responses are served and misses are stored; in {@code replay} mode
+ * only cached responses are served and misses fail, so no asset is fetched from the network.
+ * The cache is bounded by {@code http.cache.max.size.mb} with least-recently-used eviction, and bodies
+ * served more than once are memory-mapped up to {@code http.cache.mapped.max.mb}.
+ * Sessions feed it through {@link NetworkBlocker}, which owns the CDP Fetch interception.
+ */
+public class ResponseCache {
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCache.class);
+
+    /** Hits after which an entry's body stays memory-mapped. */
+    private static final int HOT_HITS = 2;
+
+    /** Headers that describe the transfer rather than the decoded body, or carry session state. */
+    private static final Set<String> DROPPED_HEADERS = Set.of(
+            "content-encoding", "content-length", "transfer-encoding", "connection", "set-cookie");
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    public enum Mode {
+        OFF, RECORD, REPLAY;
+
+        static Mode parse(String value) {
+            if (value == null || value.isBlank()) {
+                return OFF;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown http.cache.mode: " + value
+                        + " (expected off, record or replay)");
+            }
+        }
+    }
+
+    private final Path directory;
+    private final Mode mode;
+    private final long maxBytes;
+    private final long maxMappedBytes;
+
+    /** Access-ordered, so iteration starts at the least recently used entry; guarded by {@code this}. */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+    private long mappedBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bytesServed = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    ResponseCache(Path directory, Mode mode, long maxBytes, long maxMappedBytes) {
+        this.directory = directory;
+        this.mode = mode;
+        this.maxBytes = maxBytes;
+        this.maxMappedBytes = maxMappedBytes;
+        if (mode != Mode.OFF) {
+            loadIndex();
+        }
+    }
+
+    /**
+     * Lazily initialized, thread-safe singleton (initialization-on-demand holder).
+     */
+    private static final class Holder {
+        private static final ResponseCache INSTANCE = fromConfig(ConfigManager.getInstance());
+    }
+
+    public static ResponseCache getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private static ResponseCache fromConfig(ConfigManager config) {
+        return new ResponseCache(Paths.get(config.getHttpCacheDir()), Mode.parse(config.getHttpCacheMode()),
+                config.getHttpCacheMaxSizeMb() * 1024L * 1024L, config.getHttpCacheMappedMaxMb() * 1024L * 1024L);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Only idempotent requests are cached.
+     */
+    public boolean isCacheable(String method) {
+        return mode != Mode.OFF && "GET".equalsIgnoreCase(method);
+    }
+
+    /**
+     * Looks up a cached response and counts the hit or miss.
+     *
+     * @return the cached response, or null if the request has not been recorded
+     */
+    public CachedResponse lookup(String method, String url) {
+        String key = keyOf(method, url);
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        try {
+            CachedResponse response = entry.read();
+            hits.incrementAndGet();
+            bytesServed.addAndGet(entry.bodySize);
+            return response;
+        } catch (IOException | UncheckedIOException e) {
+            // evicted by another session meanwhile, or removed from disk by hand
+            logger.debug("Dropping unreadable cache entry for {}", url, e);
+            remove(key);
+            misses.incrementAndGet();
+            return null;
+        }
+    }
+
+    /**
+     * Records a successful response. Does nothing in replay mode, for non-GET requests, other status
+     * codes, already cached requests and bodies that would not fit the cache.
+     *
+     * @param headers the response headers as CDP {@code {name, value}} entries
+     * @param body    the decoded response body
+     */
+    public void store(String method, String url, int status, List<Map<String, String>> headers, byte[] body) {
+        if (mode != Mode.RECORD || !isCacheable(method) || status != 200 || body.length > maxBytes / 4) {
+            return;
+        }
+        String key = keyOf(method, url);
+        synchronized (this) {
+            if (entries.containsKey(key)) {
+                return;
+            }
+        }
+
+        List<Map<String, String>> kept = headers.stream()
+                .filter(header -> !DROPPED_HEADERS.contains(String.valueOf(header.get("name")).toLowerCase(Locale.ROOT)))
+                .collect(Collectors.toList());
+        Map<String, Object> meta = new LinkedHashMap<>();
+        meta.put("method", method.toUpperCase(Locale.ROOT));
+        meta.put("url", url);
+        meta.put("status", status);
+        meta.put("headers", kept);
+
+        try {
+            Files.createDirectories(directory);
+            writeAtomically(bodyFile(key), body);
+            writeAtomically(metaFile(key), JSON.writeValueAsBytes(meta));
+        } catch (IOException e) {
+            logger.warn("Could not record {} in the HTTP cache", url, e);
+            return;
+        }
+
+        Entry entry = new Entry(key, body.length);
+        entry.response = new CachedResponse(status, kept, null);
+        synchronized (this) {
+            if (entries.putIfAbsent(key, entry) == null) {
+                totalBytes += entry.bodySize;
+                evictOverflow();
+            }
+        }
+        logger.trace("Recorded {} ({} bytes)", url, body.length);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getBytesServed() {
+        return bytesServed.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    synchronized long getMappedBytes() {
+        return mappedBytes;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Rebuilds the index from disk, least recently used first, and trims it to the size bound.
+     */
+    private void loadIndex() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<Path> bodies;
+        try (Stream<Path> files = Files.list(directory)) {
+            bodies = files.filter(file -> file.getFileName().toString().endsWith(".body"))
+                    .filter(file -> Files.exists(metaFile(keyOfFile(file))))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            logger.warn("Could not read HTTP cache directory {}, starting empty", directory, e);
+            return;
+        }
+
+        List<Entry> loaded = new ArrayList<>();
+        for (Path body : bodies) {
+            try {
+                Entry entry = new Entry(keyOfFile(body), Files.size(body));
+                entry.lastAccess = Files.getLastModifiedTime(body).toMillis();
+                loaded.add(entry);
+            } catch (IOException e) {
+                logger.debug("Skipping cache file {}", body, e);
+            }
+        }
+        loaded.sort(Comparator.comparingLong(entry -> entry.lastAccess));
+
+        synchronized (this) {
+            for (Entry entry : loaded) {
+                entries.put(entry.key, entry);
+                totalBytes += entry.bodySize;
+            }
+            evictOverflow();
+        }
+        logger.info("HTTP cache ({}) at {}: {} responses, {} KB", mode.name().toLowerCase(Locale.ROOT),
+                directory.toAbsolutePath(), entries.size(), totalBytes / 1024);
+    }
+
+    /** Caller holds the lock. */
+    private void evictOverflow() {
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Entry entry = eldest.next();
+            eldest.remove();
+            forget(entry);
+            evictions.incrementAndGet();
+        }
+    }
+
+    private synchronized void remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            forget(entry);
+        }
+    }
+
+    /** Caller holds the lock and has already removed the entry from the index. */
+    private void forget(Entry entry) {
+        totalBytes -= entry.bodySize;
+        if (entry.mapped != null) {
+            mappedBytes -= entry.bodySize;
+            entry.mapped = null;
+        }
+        try {
+            Files.deleteIfExists(bodyFile(entry.key));
+            Files.deleteIfExists(metaFile(entry.key));
+        } catch (IOException e) {
+            // a mapping that is still referenced can keep the file locked on some platforms
+            logger.debug("Could not delete cache entry {}", entry.key, e);
+        }
+    }
+
+    /** Reserves room for a mapped body, or returns false if the mapping budget is spent. */
+    private synchronized boolean reserveMapping(Entry entry) {
+        if (!entries.containsKey(entry.key) || mappedBytes + entry.bodySize > maxMappedBytes) {
+            return false;
+        }
+        mappedBytes += entry.bodySize;
+        return true;
+    }
+
+    private synchronized void releaseMapping(Entry entry) {
+        mappedBytes -= entry.bodySize;
+    }
+
+    private Path bodyFile(String key) {
+        return directory.resolve(key + ".body");
+    }
+
+    private Path metaFile(String key) {
+        return directory.resolve(key + ".json");
+    }
+
+    private static String keyOfFile(Path body) {
+        String name = body.getFileName().toString();
+        return name.substring(0, name.length() - ".body".length());
+    }
+
+    private static void writeAtomically(Path target, byte[] content) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, content);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    static String keyOf(String method, String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((method.toUpperCase(Locale.ROOT) + " " + url).getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * One indexed response. The status and headers are read from disk on first use; the body is read
+     * per hit until the entry turns hot, then served from a read-only mapping.
+     */
+    private final class Entry {
+        private final String key;
+        private final long bodySize;
+        private long lastAccess;
+        private int hitCount;
+        private volatile CachedResponse response;
+        private volatile ByteBuffer mapped;
+
+        Entry(String key, long bodySize) {
+            this.key = key;
+            this.bodySize = bodySize;
+        }
+
+        CachedResponse read() throws IOException {
+            CachedResponse meta = response;
+            if (meta == null) {
+                Map<String, Object> json = JSON.readValue(metaFile(key).toFile(),
+                        new TypeReference<Map<String, Object>>() { });
+                @SuppressWarnings("unchecked")
+                List<Map<String, String>> headers = (List<Map<String, String>>) json.get("headers");
+                meta = new CachedResponse(((Number) json.get("status")).intValue(), headers, null);
+                response = meta;
+                // persist the access for the next run's LRU order, once per entry and run
+                Files.setLastModifiedTime(bodyFile(key), FileTime.fromMillis(System.currentTimeMillis()));
+            }
+            return new CachedResponse(meta.status, meta.headers, body());
+        }
+
+        private ByteBuffer body() throws IOException {
+            ByteBuffer buffer = mapped;
+            if (buffer != null) {
+                return buffer.duplicate();
+            }
+
+            int hitsSoFar;
+            synchronized (this) {
+                hitsSoFar = ++hitCount;
+            }
+            if (hitsSoFar < HOT_HITS || !reserveMapping(this)) {
+                return ByteBuffer.wrap(Files.readAllBytes(bodyFile(key)));
+            }
+
+            synchronized (this) {
+                if (mapped == null) {
+                    try (FileChannel channel = FileChannel.open(bodyFile(key), StandardOpenOption.READ)) {
+                        mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, bodySize);
+                    } catch (IOException e) {
+                        releaseMapping(this);
+                        throw e;
+                    }
+                } else {
+                    releaseMapping(this);
+                }
+                return mapped.duplicate();
+            }
+        }
+    }
+
+    /**
+     * A cached response ready to be fulfilled.
+     */
+    public static final class CachedResponse {
+        private final int status;
+        private final List<Map<String, String>> headers;
+        private final ByteBuffer body;
+
+        CachedResponse(int status, List<Map<String, String>> headers, ByteBuffer body) {
+            this.status = status;
+            this.headers = headers != null ? Collections.unmodifiableList(headers) : Collections.emptyList();
+            this.body = body;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        /** Response headers as CDP {@code {name, value}} entries. */
+        public List<Map<String, String>> getHeaders() {
+            return headers;
+        }
+
+        public int getBodySize() {
+            return body.remaining();
+        }
+
+        public byte[] getBody() {
+            ByteBuffer copy = body.duplicate();
+            byte[] bytes = new byte[copy.remaining()];
+            copy.get(bytes);
+            return bytes;
+        }
+
+        public String getBodyBase64() {
+            return Base64.getEncoder().encodeToString(getBody());
+        }
+    }
+}
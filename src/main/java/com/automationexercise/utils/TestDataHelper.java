@@ -13,8 +13,12 @@ import java.util.UUID;
  */
 public class TestDataHelper extends BaseTest {
 
+    private static volatile UserPool userPool;
+
     /**
-     * Creates a new user account and returns the credentials
+     * Creates a new user account through the signup UI and returns the credentials.
+     * Prefer {@link #createNewUserAccountViaApi()} or {@link #leaseUser()} when the
+     * signup flow itself is not under test.
      */
     public static UserCredentials createNewUserAccount(WebDriver driver) {
         ConfigManager config = ConfigManager.getInstance();
@@ -61,4 +65,50 @@ public class TestDataHelper extends BaseTest {
         return new UserCredentials(uniqueEmail, password, name);
     }
 
+    /**
+     * Creates a new user account over the account API, without a browser.
+     * The caller owns the account and is responsible for deleting it if needed.
+     */
+    public static UserCredentials createNewUserAccountViaApi() {
+        ConfigManager config = ConfigManager.getInstance();
+
+        UserCredentials credentials = new UserCredentials(
+                "test_" + UUID.randomUUID() + "@example.com",
+                config.getTestUserPassword(),
+                config.getTestUserName());
+        new AccountApiClient().createAccount(credentials);
+
+        return credentials;
+    }
+
+    /**
+     * Leases a ready account from the shared API-provisioned pool.
+     * Return it with {@link #releaseUser(UserCredentials)} unless the test modified it.
+     */
+    public static UserCredentials leaseUser() {
+        return getUserPool().lease();
+    }
+
+    /**
+     * Returns a leased account to the shared pool.
+     */
+    public static void releaseUser(UserCredentials credentials) {
+        getUserPool().release(credentials);
+    }
+
+    private static UserPool getUserPool() {
+        if (userPool == null) {
+            synchronized (TestDataHelper.class) {
+                if (userPool == null) {
+                    ConfigManager config = ConfigManager.getInstance();
+                    UserPool pool = new UserPool(new AccountApiClient(),
+                            config.getTestUserName(), config.getTestUserPassword(), config.getUserPoolSize());
+                    Runtime.getRuntime().addShutdownHook(new Thread(pool::close, "user-pool-cleanup"));
+                    userPool = pool;
+                }
+            }
+        }
+        return userPool;
+    }
+
 }
@@ -0,0 +1,195 @@
+package com.automationexercise.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only log of test events (suite start/end, test start/end, steps, artifacts), one JSON object
+ * per line in {@code events.ndjson} under {@code report.output.dir}. Every event except steps is flushed as it
+ * happens, so the log (and the HTML that {@link ReportRenderer} builds from it) is readable during a run;
+ * steps are only rendered with the end of their test and go out with the next flushed event.
+ * Steps and artifacts are attributed to the test running on the calling thread.
+ */
+public class TestEventLog {
+    private static final Logger logger = LoggerFactory.getLogger(TestEventLog.class);
+
+    static final String FILE_NAME = "events.ndjson";
+
+    private final boolean enabled;
+    private final Path file;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final AtomicLong ids = new AtomicLong();
+    private final ThreadLocal<String> currentTest = new ThreadLocal<>();
+    private final ThreadLocal<String> lastStep = new ThreadLocal<>();
+    /** Opened on the first event, truncating the log of a previous run. Guarded by {@code this}. */
+    private Writer writer;
+    private boolean failed;
+
+    TestEventLog(boolean enabled, Path file) {
+        this.enabled = enabled;
+        this.file = file;
+    }
+
+    /**
+     * Lazily initialized, thread-safe singleton (initialization-on-demand holder).
+     */
+    private static final class Holder {
+        private static final TestEventLog INSTANCE = new TestEventLog(ConfigManager.getInstance().isReportEnabled(),
+                Paths.get(ConfigManager.getInstance().getReportOutputDir(), FILE_NAME));
+    }
+
+    public static TestEventLog getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public void suiteStarted(String suite) {
+        append(event("suite-start", null).with("suite", suite));
+    }
+
+    public void suiteFinished(String suite) {
+        append(event("suite-end", null).with("suite", suite));
+    }
+
+    /**
+     * Starts a test on the calling thread; later steps and artifacts of this thread belong to it.
+     */
+    public void testStarted(String name, String parameters) {
+        if (!enabled) {
+            return;
+        }
+        String id = String.valueOf(ids.incrementAndGet());
+        currentTest.set(id);
+        lastStep.remove();
+        append(event("test-start", id)
+                .with("name", name)
+                .with("parameters", parameters)
+                .with("thread", Thread.currentThread().getName()));
+    }
+
+    /**
+     * Finishes the calling thread's test. It stays current until the next start, so teardown artifacts
+     * are still attributed to it.
+     *
+     * @param status PASSED, FAILED, SKIPPED or RETRIED
+     * @param error  the failure message, or null
+     */
+    public void testFinished(String status, long durationMillis, String error) {
+        String id = currentTest.get();
+        if (!enabled || id == null) {
+            return;
+        }
+        append(event("test-end", id).with("status", status).with("ms", durationMillis).with("error", error));
+    }
+
+    /**
+     * Records a step of the calling thread's test, e.g. a page object action. A step repeating the previous
+     * one of the test is recorded once.
+     */
+    public void step(String text) {
+        String id = currentTest.get();
+        if (!enabled || id == null || text.equals(lastStep.get())) {
+            return;
+        }
+        lastStep.set(text);
+        append(event("step", id).with("text", text), false);
+    }
+
+    /**
+     * Records an artifact file of the calling thread's test.
+     */
+    public void artifact(Path path) {
+        artifact(currentTestId(), path);
+    }
+
+    /**
+     * Records an artifact file of a test, e.g. one written on a background thread.
+     *
+     * @param testId the test's {@link #currentTestId()} when the artifact was collected, or null to skip it
+     */
+    public void artifact(String testId, Path path) {
+        if (enabled && testId != null) {
+            append(event("artifact", testId).with("path", path.toAbsolutePath().toString()));
+        }
+    }
+
+    /**
+     * The id of the calling thread's current test, or null outside a test.
+     */
+    public String currentTestId() {
+        return currentTest.get();
+    }
+
+    private static Event event(String type, String id) {
+        Event event = new Event();
+        event.put("ts", System.currentTimeMillis());
+        event.put("type", type);
+        if (id != null) {
+            event.put("id", id);
+        }
+        return event;
+    }
+
+    private void append(Event event) {
+        append(event, true);
+    }
+
+    private void append(Event event, boolean flush) {
+        if (!enabled) {
+            return;
+        }
+        String line;
+        try {
+            line = mapper.writeValueAsString(event) + "\n";
+        } catch (JsonProcessingException e) {
+            logger.debug("Could not serialize report event {}", event, e);
+            return;
+        }
+        synchronized (this) {
+            if (failed) {
+                return;
+            }
+            try {
+                if (writer == null) {
+                    Files.createDirectories(file.getParent());
+                    writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+                }
+                writer.write(line);
+                if (flush) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                // one failure disables the log instead of failing every test
+                failed = true;
+                logger.error("Failed to write report event log {}, disabling it", file, e);
+            }
+        }
+    }
+
+    private static final class Event extends LinkedHashMap<String, Object> {
+        private Event with(String key, Object value) {
+            if (value != null) {
+                put(key, value);
+            }
+            return this;
+        }
+    }
+}
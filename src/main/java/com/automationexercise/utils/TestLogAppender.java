@@ -0,0 +1,144 @@
+package com.automationexercise.utils;
+
+import ch.qos.logback.classic.PatternLayout;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Logback appender that keeps the last {@code capacity} events of the running test in memory, one ring
+ * buffer per test thread, while the {@value #MDC_KEY} MDC key is set. Events are stored unformatted:
+ * {@link #flush(Path, String)} formats and writes them when a test fails, {@link #discard()} drops them when
+ * it passes, so passing tests never pay for message formatting or disk writes.
+ * Configured in {@code logback.xml} together with {@link TestLogFilter}.
+ */
+public class TestLogAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+    public static final String MDC_KEY = "test";
+
+    private static volatile TestLogAppender active;
+
+    private int capacity = 500;
+    private final ThreadLocal<Ring> rings = ThreadLocal.withInitial(() -> new Ring(capacity));
+    private String pattern = "%d{HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n";
+    private PatternLayout layout;
+
+    public void setCapacity(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    public void setPattern(String pattern) {
+        this.pattern = pattern;
+    }
+
+    @Override
+    public void start() {
+        layout = new PatternLayout();
+        layout.setContext(getContext());
+        layout.setPattern(pattern);
+        layout.start();
+        super.start();
+        active = this;
+    }
+
+    @Override
+    public void stop() {
+        if (active == this) {
+            active = null;
+        }
+        super.stop();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (event.getMDCPropertyMap().get(MDC_KEY) == null) {
+            return;
+        }
+        // thread name is resolved lazily, pin it while still on the logging thread
+        event.getThreadName();
+        rings.get().add(event);
+    }
+
+    /**
+     * Writes the current thread's buffered events to a file and clears the buffer.
+     *
+     * @param dir      the directory for the log file
+     * @param testName the test name, used for the file name
+     * @return the written file, or null if nothing was buffered or no appender is configured
+     * @throws IOException if the file cannot be written
+     */
+    public static Path flush(Path dir, String testName) throws IOException {
+        TestLogAppender appender = active;
+        if (appender == null) {
+            return null;
+        }
+        Ring ring = appender.rings.get();
+        if (ring.size == 0) {
+            return null;
+        }
+
+        Files.createDirectories(dir);
+        Path file = dir.resolve(testName.replaceAll("[^A-Za-z0-9._-]", "_") + "-" + System.currentTimeMillis() + ".log");
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            if (ring.dropped > 0) {
+                writer.write("... " + ring.dropped + " earlier events dropped\n");
+            }
+            for (int i = 0; i < ring.size; i++) {
+                writer.write(appender.layout.doLayout(ring.get(i)));
+            }
+        } finally {
+            ring.clear();
+        }
+        return file;
+    }
+
+    /**
+     * Drops the current thread's buffered events.
+     */
+    public static void discard() {
+        TestLogAppender appender = active;
+        if (appender != null) {
+            appender.rings.get().clear();
+        }
+    }
+
+    /**
+     * Fixed-size circular buffer that overwrites its oldest event when full.
+     */
+    private static final class Ring {
+        private final ILoggingEvent[] events;
+        private int start;
+        private int size;
+        private long dropped;
+
+        private Ring(int capacity) {
+            this.events = new ILoggingEvent[capacity];
+        }
+
+        private void add(ILoggingEvent event) {
+            if (size < events.length) {
+                events[(start + size++) % events.length] = event;
+            } else {
+                events[start] = event;
+                start = (start + 1) % events.length;
+                dropped++;
+            }
+        }
+
+        private ILoggingEvent get(int index) {
+            return events[(start + index) % events.length];
+        }
+
+        private void clear() {
+            Arrays.fill(events, null);
+            start = 0;
+            size = 0;
+            dropped = 0;
+        }
+    }
+}
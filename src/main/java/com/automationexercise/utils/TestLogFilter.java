@@ -0,0 +1,23 @@
+package com.automationexercise.utils;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Logback turbo filter that rejects debug and trace logging outside a test (no {@value TestLogAppender#MDC_KEY}
+ * MDC key), before an event is even created; inside a test they go to the {@link TestLogAppender} buffer.
+ */
+public class TestLogFilter extends TurboFilter {
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level.isGreaterOrEqual(Level.INFO) || MDC.get(TestLogAppender.MDC_KEY) != null) {
+            return FilterReply.NEUTRAL;
+        }
+        return FilterReply.DENY;
+    }
+}
@@ -1,5 +1,7 @@
 package com.automationexercise.utils;
 
+import java.util.Objects;
+
 /**
  * Simple class to hold user credentials
  */
@@ -25,4 +27,29 @@ public class UserCredentials {
     public String getName() {
         return name;
     }
+
+    /**
+     * Credentials are equal when they log in to the same account (email and password).
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UserCredentials)) {
+            return false;
+        }
+        UserCredentials that = (UserCredentials) o;
+        return email.equals(that.email) && password.equals(that.password);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(email, password);
+    }
+
+    @Override
+    public String toString() {
+        return "UserCredentials{email='" + email + "'}";
+    }
 }
@@ -0,0 +1,113 @@
+package com.automationexercise.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Pool of ready-made user accounts provisioned over the account API.
+ * Accounts are created in the background up to the configured size, leased
+ * exclusively to one test at a time and deleted when the pool is closed.
+ */
+public class UserPool implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(UserPool.class);
+
+    private final AccountApiClient apiClient;
+    private final String name;
+    private final String password;
+    private final BlockingQueue<UserCredentials> ready = new LinkedBlockingQueue<>();
+    private final Set<UserCredentials> leased = ConcurrentHashMap.newKeySet();
+    private final List<UserCredentials> created = new CopyOnWriteArrayList<>();
+    private final ExecutorService provisioner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-pool-provisioner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public UserPool(AccountApiClient apiClient, String name, String password, int size) {
+        this.apiClient = apiClient;
+        this.name = name;
+        this.password = password;
+
+        for (int i = 0; i < size; i++) {
+            provisioner.execute(this::prefill);
+        }
+    }
+
+    /**
+     * Takes a ready account out of the pool, provisioning one on the spot if none is ready.
+     *
+     * @return credentials of an existing account that no other test holds
+     */
+    public UserCredentials lease() {
+        UserCredentials user = ready.poll();
+        if (user == null) {
+            user = provision();
+        }
+        leased.add(user);
+        logger.debug("Leased user {}", user.getEmail());
+        return user;
+    }
+
+    /**
+     * Returns a leased account so another test can use it.
+     * Tests that change or delete the account must not release it.
+     *
+     * @param user credentials obtained from {@link #lease()}
+     */
+    public void release(UserCredentials user) {
+        if (leased.remove(user)) {
+            ready.offer(user);
+            logger.debug("Released user {}", user.getEmail());
+        }
+    }
+
+    /**
+     * Number of accounts ready to be leased without an API call.
+     */
+    public int readyCount() {
+        return ready.size();
+    }
+
+    /**
+     * Deletes every account this pool created.
+     */
+    @Override
+    public void close() {
+        provisioner.shutdownNow();
+        for (UserCredentials user : created) {
+            try {
+                apiClient.deleteAccount(user);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to delete pooled user {}", user.getEmail(), e);
+            }
+        }
+        created.clear();
+        ready.clear();
+        leased.clear();
+    }
+
+    private void prefill() {
+        try {
+            ready.offer(provision());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to pre-provision pooled user", e);
+        }
+    }
+
+    private UserCredentials provision() {
+        UserCredentials user = new UserCredentials("test_" + UUID.randomUUID() + "@example.com", password, name);
+        apiClient.createAccount(user);
+        created.add(user);
+        return user;
+    }
+}
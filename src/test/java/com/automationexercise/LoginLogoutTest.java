@@ -19,50 +19,46 @@ public class LoginLogoutTest extends BaseTest {
     public void testSuccessfulLoginAndLogout() {
         setUp();
 
-        // Step 1: Create a new user account
-        //TODO decide what approach we want for the login test - do we want to test only login with a hardcoded existing user?
-        // I don't like this approach as it is flaky (user expires, someone deletes /changes it, etc),
-        // but on the other hand it's redundant to register a new one each time, even if we prefer to generate each time our own test data
-
-        UserCredentials userCreds = TestDataHelper.createNewUserAccount(driver);
-
-        // Step 2: Logout the newly created user so we can test login functionality
-        // wtf and why is the user redirected to login/signup page instead of homepage after logout, regardless of place from which we have loggedout?
-        NavigationBar navBar = new NavigationBar(driver);
-        Assert.assertTrue(navBar.isUserLoggedIn(),
-                "User should be automatically logged in after registration");
-        navBar.logout();
-
-        // Verify logout was successful
-        Assert.assertTrue(navBar.isRedirectedToLoginPage(),
-                "User should be logged out after registration logout");
-
-        // Step 3: Enter valid login credentials
-        SignupLoginPage signupLoginPage = new SignupLoginPage(driver);
-        signupLoginPage.login(userCreds.getEmail(), userCreds.getPassword());
-
-        // Step 4: Verify the user is logged in successfully and username is displayed
-        Assert.assertTrue(navBar.isUserLoggedIn(),
-                "User is not logged in successfully");
-
-        // Step 5: Logout by clicking on the logout button
-        navBar.logout();
-
-        // Step 6: Verify the user is logged out successfully and "Signup / Login" link is visible
-        Assert.assertTrue(navBar.isRedirectedToLoginPage(),
-                "User is not logged out successfully - Signup/Login link not visible");
-
+        // Step 1: Lease a ready user account provisioned over the API
+        // (the signup UI itself is covered by UserRegistrationTest, so there is no need to drive it here)
+        UserCredentials userCreds = TestDataHelper.leaseUser();
+
+        try {
+            // Step 2: Navigate to the login page
+            HomePage homePage = new HomePage(getDriver());
+            homePage.closeInitialDialog();
+            homePage.goToSignupLogin();
+
+            // Step 3: Enter valid login credentials
+            SignupLoginPage signupLoginPage = new SignupLoginPage(getDriver());
+            signupLoginPage.login(userCreds.getEmail(), userCreds.getPassword());
+
+            // Step 4: Verify the user is logged in successfully and username is displayed
+            NavigationBar navBar = new NavigationBar(getDriver());
+            Assert.assertTrue(navBar.isUserLoggedIn(),
+                    "User is not logged in successfully");
+
+            // Step 5: Logout by clicking on the logout button
+            // wtf and why is the user redirected to login/signup page instead of homepage after logout, regardless of place from which we have loggedout?
+            navBar.logout();
+
+            // Step 6: Verify the user is logged out successfully and "Signup / Login" link is visible
+            Assert.assertTrue(navBar.isRedirectedToLoginPage(),
+                    "User is not logged out successfully - Signup/Login link not visible");
+        } finally {
+            TestDataHelper.releaseUser(userCreds);
+        }
     }
 
     @Test
     public void testCannotLoginWithInvalidCredentials() {
         setUp();
 
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         homePage.closeInitialDialog();
         homePage.goToSignupLogin();
 
-        SignupLoginPage signupLoginPage = new SignupLoginPage(driver);
+        SignupLoginPage signupLoginPage = new SignupLoginPage(getDriver());
         signupLoginPage.login("invalid@email.com", "wrongpassword");
 
         // Verify login fails
@@ -70,8 +66,8 @@ public class LoginLogoutTest extends BaseTest {
                 "Login error message should be displayed for invalid credentials");
 
         // Verify user is not logged in
-        NavigationBar navBar = new NavigationBar(driver);
-        Assert.assertFalse(navBar.isUserLoggedIn(),
+        NavigationBar navBar = new NavigationBar(getDriver());
+        Assert.assertTrue(navBar.isUserLoggedOut(),
                 "User should not be logged in with invalid credentials");
     }
 
@@ -79,16 +75,16 @@ public class LoginLogoutTest extends BaseTest {
     public void testCannotLoginWithEmptyFields() {
         setUp();
 
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         homePage.closeInitialDialog();
         homePage.goToSignupLogin();
 
-        SignupLoginPage signupLoginPage = new SignupLoginPage(driver);
+        SignupLoginPage signupLoginPage = new SignupLoginPage(getDriver());
         signupLoginPage.login("", ""); // Empty credentials
 
         // Verify user is not logged in
-        NavigationBar navBar = new NavigationBar(driver);
-        Assert.assertFalse(navBar.isUserLoggedIn(),
+        NavigationBar navBar = new NavigationBar(getDriver());
+        Assert.assertTrue(navBar.isUserLoggedOut(),
                 "User should not be logged in with empty credentials");
 
         // Verify still on login page
@@ -5,6 +5,8 @@ import com.automationexercise.pages.*;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.List;
+
 /**
  * Test class for product search and cart functionality
  */
@@ -15,12 +17,12 @@ public class ProductSearchAddToCartTest extends BaseTest {
         // Step 1: Navigate to the website
         setUp(); // default setUp() for chrome, or setUp("browserName") for other browsers
 
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         homePage.closeInitialDialog();
         homePage.goToProducts();
 
         // Step 2: Search for a specific product
-        ProductsPage productsPage = new ProductsPage(driver);
+        ProductsPage productsPage = new ProductsPage(getDriver());
 // String searchTerm = config.getSearchProduct(); // Gets default "T-shirt" from config.properties
         String searchTerm = "Top"; // could also be config.getSearchProduct()
         productsPage.searchProduct(searchTerm);
@@ -32,9 +34,10 @@ public class ProductSearchAddToCartTest extends BaseTest {
         Assert.assertTrue(productsPage.doSearchResultsContainTerm(searchTerm),
                 "Search results do not contain the searched term: " + searchTerm);
 
-        // Step 4: Capture first product details before adding to cart
-        String expectedName = productsPage.getFirstProductName();
-        String expectedPrice = productsPage.getFirstProductPrice();
+        // Step 4: Capture first product details before adding to cart (one round-trip for all cards)
+        ProductCard firstProduct = productsPage.getProductCards().get(0);
+        String expectedName = firstProduct.getName();
+        String expectedPrice = firstProduct.getPrice();
         int expectedQty = 1; // default quantity when first adding product
 
         // Step 5: Add first product to cart from search results and view cart via modal
@@ -42,34 +45,38 @@ public class ProductSearchAddToCartTest extends BaseTest {
         productsPage.viewCartFromModal();
 
         // Step 6: Navigate to the cart page and verify product details
-        CartPage cartPage = new CartPage(driver);
+        CartPage cartPage = new CartPage(getDriver());
 
         Assert.assertTrue(cartPage.isCartPageLoaded(),
                 "Cart page is not loaded");
 
-        Assert.assertFalse(cartPage.isCartEmpty(),
+        // Read all cart rows in one round-trip and assert against that snapshot
+        List<CartItem> cartItems = cartPage.getCartItems();
+
+        Assert.assertFalse(cartItems.isEmpty(),
                 "Cart should not be empty after adding product");
 
-        Assert.assertTrue(cartPage.verifyProductInCartContains(expectedName, expectedQty),
+        CartItem cartItem = cartItems.get(0);
+        Assert.assertTrue(cartItem.matches(expectedName, expectedQty),
                 "Product in cart does not match expected name or quantity");
 
-        Assert.assertEquals(cartPage.getCartProductPrice(), expectedPrice,
+        Assert.assertEquals(cartItem.getPrice(), expectedPrice,
                 "Product price in cart does not match the selected product");
 
         // Step 7: Log cart details for debugging
         logger.info("Product added to cart - Name: {}, Price: {}, Quantity: {}",
-                cartPage.getCartProductName(), cartPage.getCartProductPrice(), cartPage.getCartProductQuantity());
+                cartItem.getName(), cartItem.getPrice(), cartItem.getQuantity());
     }
 
     @Test
     public void testSearchWithNoResults() {
         setUp();
 
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         homePage.closeInitialDialog();
         homePage.goToProducts();
 
-        ProductsPage productsPage = new ProductsPage(driver);
+        ProductsPage productsPage = new ProductsPage(getDriver());
         String invalidSearchTerm = "invalidproduct12345xyz";
         productsPage.searchProduct(invalidSearchTerm);
 
@@ -85,11 +92,11 @@ public class ProductSearchAddToCartTest extends BaseTest {
     public void testSearchWithEmptyQuery() {
         setUp();
 
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         homePage.closeInitialDialog();
         homePage.goToProducts();
 
-        ProductsPage productsPage = new ProductsPage(driver);
+        ProductsPage productsPage = new ProductsPage(getDriver());
         productsPage.searchProduct(""); // Empty search
 
         Assert.assertTrue(productsPage.getProductCount() > 0,
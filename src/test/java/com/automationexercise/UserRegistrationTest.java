@@ -26,18 +26,18 @@ public class UserRegistrationTest extends BaseTest {
         // if I use the other setUp("driverType"))
         setUp();
         // Step 1: Navigate to homepage
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         homePage.closeInitialDialog();
         homePage.goToSignupLogin();
 
         // Step 2: Enter a new name in the registration form (not going to use the mail from config at this stage)
-        SignupLoginPage signupLoginPage = new SignupLoginPage(driver);
+        SignupLoginPage signupLoginPage = new SignupLoginPage(getDriver());
         String uniqueEmail = "test_" + UUID.randomUUID() + "@example.com";
         String name = config.getTestUserName();
         signupLoginPage.signup(name, uniqueEmail);
 
         // Step 3: Fill in all required fields
-        AccountCreationPage accountCreationPage = new AccountCreationPage(driver);
+        AccountCreationPage accountCreationPage = new AccountCreationPage(getDriver());
         accountCreationPage.fillAccountInformation(
                 null,
                 config.getTestUserPassword(),
@@ -63,7 +63,7 @@ public class UserRegistrationTest extends BaseTest {
         accountCreationPage.clickRegisteredUserContinueButton();
 
         // Step 6: Verify redirected to home page with user  logged in
-        NavigationBar navBar = new NavigationBar(driver);
+        NavigationBar navBar = new NavigationBar(getDriver());
         Assert.assertTrue(navBar.isUserLoggedIn(),
                 "User is not logged in after account creation.");
     }
@@ -72,18 +72,18 @@ public class UserRegistrationTest extends BaseTest {
     public void testCannotRegisterWithEmptyRequiredFields() {
         setUp();
 
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         homePage.closeInitialDialog();
         homePage.goToSignupLogin();
 
         // Step 1: Enter initial signup info
-        SignupLoginPage signupLoginPage = new SignupLoginPage(driver);
+        SignupLoginPage signupLoginPage = new SignupLoginPage(getDriver());
         String uniqueEmail = "test_" + UUID.randomUUID() + "@example.com";
         String name = config.getTestUserName();
         signupLoginPage.signup(name, uniqueEmail);
 
         // Step 2: Fill form with missing required fields
-        AccountCreationPage accountCreationPage = new AccountCreationPage(driver);
+        AccountCreationPage accountCreationPage = new AccountCreationPage(getDriver());
         accountCreationPage.fillAccountInformation(
                 null,
                 "", // Empty password
@@ -109,7 +109,7 @@ public class UserRegistrationTest extends BaseTest {
         accountCreationPage.createAccount();
 
         // Step 4: Verify account creation fails
-        Assert.assertFalse(accountCreationPage.isAccountCreated(),
+        Assert.assertTrue(accountCreationPage.isAccountNotCreated(),
                 "Account should not be created with missing required fields");
 
         // Verify user remains on the same page (account creation form)
@@ -0,0 +1,128 @@
+package com.automationexercise.base;
+
+import com.automationexercise.utils.Stubs;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for handle reuse, navigation invalidation and stale-element recovery of {@link CachedElement}
+ * and {@link CachedElementList}
+ */
+public class ElementCacheTest {
+
+    private static final By BUTTON = By.id("button");
+
+    private final AtomicInteger finds = new AtomicInteger();
+    private final AtomicBoolean stale = new AtomicBoolean();
+
+    @Test
+    public void testHandleIsFoundOnceAndReused() {
+        CachedElement element = new CachedElement(new ElementCache(stubDriver()), BUTTON, "Page.button");
+
+        element.getText();
+        element.getText();
+        element.isDisplayed();
+
+        Assert.assertEquals(finds.get(), 1, "Handle should be reused between calls");
+    }
+
+    @Test
+    public void testClickInvalidatesHandle() {
+        WebDriver driver = stubDriver();
+        CachedElement element = new CachedElement(new ElementCache(driver), BUTTON, "Page.button");
+
+        element.click();
+        element.getText();
+        Assert.assertEquals(finds.get(), 2, "Click may navigate, handle should be found again");
+
+        ElementCache.invalidate(driver);
+        element.getText();
+        Assert.assertEquals(finds.get(), 3, "Explicit invalidation should drop the handle");
+    }
+
+    @Test
+    public void testStaleHandleIsRefound() {
+        CachedElement element = new CachedElement(new ElementCache(stubDriver()), BUTTON, "Page.button");
+        element.getText();
+        long staleBefore = ElementCache.getStaleEvictions();
+
+        stale.set(true);
+        Assert.assertEquals(element.getText(), "text 2");
+        Assert.assertEquals(finds.get(), 2);
+        Assert.assertEquals(ElementCache.getStaleEvictions(), staleBefore + 1);
+    }
+
+    @Test
+    public void testStaleListIsRefound() {
+        CachedElementList list = new CachedElementList(new ElementCache(stubDriver()), BUTTON, "Page.rows");
+        WebElement second = list.get(1);
+        second.getText();
+
+        stale.set(true);
+        Assert.assertEquals(second.getText(), "text 2");
+        Assert.assertEquals(finds.get(), 2, "A stale list should be found again once");
+        Assert.assertEquals(second.toString(), "Page.rows[1] (By.id: button)");
+    }
+
+    @Test
+    public void testEmptyListIsFoundAgain() {
+        ElementCache cache = new ElementCache(Stubs.of(WebDriver.class)
+                .answer("findElements", args -> finds.incrementAndGet() == 1
+                        ? List.of() : List.of(stubElement(finds.get())))
+                .build());
+        finds.set(0);
+        CachedElementList rows = new CachedElementList(cache, BUTTON, "Page.rows");
+
+        Assert.assertTrue(rows.isEmpty());
+        Assert.assertEquals(rows.size(), 1, "rows rendered after an empty lookup should be found");
+        Assert.assertEquals(rows.size(), 1);
+        Assert.assertEquals(finds.get(), 2, "a non-empty list should be cached");
+    }
+
+    @Test
+    public void testToStringDoesNotTouchDriver() {
+        CachedElement element = new CachedElement(new ElementCache(stubDriver()), BUTTON, "Page.button");
+
+        Assert.assertEquals(element.toString(), "Page.button (By.id: button)");
+        Assert.assertEquals(finds.get(), 0);
+    }
+
+    private WebDriver stubDriver() {
+        finds.set(0);
+        stale.set(false);
+        return Stubs.of(WebDriver.class)
+                .answer("findElement", args -> stubElement(finds.incrementAndGet()))
+                .answer("findElements", args -> {
+                    int generation = finds.incrementAndGet();
+                    return List.of(stubElement(generation), stubElement(generation));
+                })
+                .build();
+    }
+
+    private WebElement stubElement(int generation) {
+        return Stubs.of(WebElement.class)
+                .answer("getText", args -> {
+                    failIfStale(generation);
+                    return "text " + generation;
+                })
+                .answer("isDisplayed", args -> {
+                    failIfStale(generation);
+                    return true;
+                })
+                .build();
+    }
+
+    private void failIfStale(int generation) {
+        if (stale.get() && generation == 1) {
+            throw new StaleElementReferenceException("detached");
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.automationexercise.base;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for the adaptive polling, budgets and timing statistics of {@link WaitEngine}
+ */
+public class WaitEngineTest {
+
+    private final WaitEngine waits = new WaitEngine(null);
+
+    @Test
+    public void testConditionMetAfterRetriesReturnsValue() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String value = waits.until("test-met", driver -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new NoSuchElementException("not yet");
+            }
+            return "found";
+        }, Duration.ofSeconds(2));
+
+        Assert.assertEquals(value, "found");
+        Assert.assertEquals(attempts.get(), 3, "Condition should be polled until met");
+        Assert.assertEquals(WaitEngine.getStats().get("test-met").getMetCount(), 1);
+    }
+
+    @Test
+    public void testBudgetExceededThrowsTimeout() {
+        long start = System.nanoTime();
+
+        Assert.assertThrows(TimeoutException.class,
+                () -> waits.until("test-timeout", driver -> false, Duration.ofMillis(300)));
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        Assert.assertTrue(elapsedMillis >= 300 && elapsedMillis < 1000,
+                "Wait should give up right after its budget, took " + elapsedMillis + " ms");
+        Assert.assertEquals(WaitEngine.getStats().get("test-timeout").getTimeoutCount(), 1);
+    }
+
+    @Test
+    public void testPollingBacksOff() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        Assert.assertThrows(TimeoutException.class,
+                () -> waits.until("test-backoff", driver -> attempts.incrementAndGet() < 0, Duration.ofSeconds(1)));
+
+        // fixed 10 ms polling would need ~100 attempts; backing off to 250 ms needs far fewer
+        Assert.assertTrue(attempts.get() > 5 && attempts.get() < 30,
+                "Unexpected number of polls: " + attempts.get());
+    }
+}
@@ -0,0 +1,80 @@
+package com.automationexercise.listeners;
+
+import com.automationexercise.utils.DurationHistory;
+import com.automationexercise.utils.Stubs;
+import org.testng.Assert;
+import org.testng.ITestNGMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests for the dependency-aware ordering of {@link LongestFirstScheduler} and the
+ * page-object-based estimates of {@link DurationEstimator}
+ */
+public class LongestFirstSchedulerTest {
+
+    @Test
+    public void testChainIncludesLongestDependent() {
+        ITestNGMethod setup = stubMethod("Flow.createAccount", PageCallsFixture.class, new String[0]);
+        ITestNGMethod checkout = stubMethod("Flow.checkout", PageCallsFixture.class, new String[]{"Flow.createAccount"});
+        ITestNGMethod search = stubMethod("Flow.search", PageCallsFixture.class, new String[0]);
+        Map<String, Double> durations = Map.of("Flow.createAccount", 5_000.0, "Flow.checkout", 20_000.0,
+                "Flow.search", 15_000.0);
+
+        Map<ITestNGMethod, Double> chains = LongestFirstScheduler.chainMillis(List.of(setup, checkout, search),
+                method -> durations.get(method.getQualifiedName()));
+
+        Assert.assertEquals(chains.get(setup), 25_000.0, "A short method that unblocks a long one should start first");
+        Assert.assertEquals(chains.get(checkout), 20_000.0);
+        Assert.assertEquals(chains.get(search), 15_000.0);
+    }
+
+    @Test
+    public void testPageObjectCallsAreReadFromBytecode() {
+        List<String> calls = DurationEstimator.pageCalls(
+                stubMethod("PageCallsFixture.loginWithEmptyFields", PageCallsFixture.class, new String[0]));
+
+        // calls made through helper methods of the class follow the method's own calls
+        Assert.assertEquals(calls, List.of("SignupLoginPage.login", "NavigationBar.isUserLoggedOut",
+                "HomePage.closeInitialDialog", "HomePage.goToSignupLogin"));
+    }
+
+    @Test
+    public void testUnseenMethodIsEstimatedFromSharedPageCalls() throws IOException {
+        Path file = Files.createTempFile("test-durations", ".json");
+        Files.delete(file);
+        try {
+            DurationHistory history = DurationHistory.load(file);
+            ITestNGMethod known = stubMethod(PageCallsFixture.class.getName() + ".loginWithInvalidCredentials",
+                    PageCallsFixture.class, new String[0]);
+            ITestNGMethod unseen = stubMethod(PageCallsFixture.class.getName() + ".loginWithEmptyFields",
+                    PageCallsFixture.class, new String[0]);
+            history.record(known.getQualifiedName(), 10_000);
+            history.save();
+
+            DurationEstimator estimator = new DurationEstimator(DurationHistory.load(file), List.of(known, unseen), 30_000);
+
+            Assert.assertEquals(estimator.estimateMillis(known), 10_000.0);
+            // the invalid credentials method makes 4 page calls, so each is worth 2.5 s; the unseen one makes 4 too
+            Assert.assertEquals(estimator.estimateMillis(unseen), 10_000.0, 0.1);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private ITestNGMethod stubMethod(String qualifiedName, Class<?> realClass, String[] dependsOn) {
+        return Stubs.of(ITestNGMethod.class)
+                .returns("getQualifiedName", qualifiedName)
+                .returns("getMethodName", qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1))
+                .returns("getRealClass", realClass)
+                .returns("getMethodsDependedUpon", dependsOn)
+                .returns("getGroupsDependedUpon", new String[0])
+                .returns("getGroups", new String[0])
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.automationexercise.listeners;
+
+import com.automationexercise.pages.HomePage;
+import com.automationexercise.pages.NavigationBar;
+import com.automationexercise.pages.SignupLoginPage;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Test-shaped methods whose page object calls {@link DurationEstimator} reads from bytecode; never run.
+ */
+class PageCallsFixture {
+    private WebDriver driver;
+
+    void loginWithInvalidCredentials() {
+        openLogin();
+        SignupLoginPage loginPage = new SignupLoginPage(driver);
+        loginPage.login("nobody@example.test", "wrong");
+        loginPage.isLoginErrorDisplayed();
+    }
+
+    void loginWithEmptyFields() {
+        openLogin();
+        new SignupLoginPage(driver).login("", "");
+        new NavigationBar(driver).isUserLoggedOut();
+    }
+
+    private void openLogin() {
+        HomePage homePage = new HomePage(driver);
+        homePage.closeInitialDialog();
+        homePage.goToSignupLogin();
+    }
+}
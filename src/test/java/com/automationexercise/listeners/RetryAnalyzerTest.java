@@ -0,0 +1,68 @@
+package com.automationexercise.listeners;
+
+import com.automationexercise.utils.Stubs;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.TimeoutException;
+import org.testng.Assert;
+import org.testng.IClass;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.net.ConnectException;
+
+/**
+ * Tests for failure classification and the retry budget of {@link RetryAnalyzer}
+ */
+public class RetryAnalyzerTest {
+
+    @Test
+    public void testFailuresAreClassified() {
+        Assert.assertEquals(RetryAnalyzer.classify(new AssertionError("expected [1] but found [2]")),
+                RetryAnalyzer.FailureType.ASSERTION);
+        Assert.assertEquals(RetryAnalyzer.classify(new TimeoutException("element not clickable")),
+                RetryAnalyzer.FailureType.INFRASTRUCTURE);
+        Assert.assertEquals(RetryAnalyzer.classify(new RuntimeException("API call failed", new ConnectException())),
+                RetryAnalyzer.FailureType.INFRASTRUCTURE);
+        Assert.assertEquals(RetryAnalyzer.classify(new InvalidSelectorException("bad xpath")),
+                RetryAnalyzer.FailureType.TEST_ERROR);
+        Assert.assertEquals(RetryAnalyzer.classify(new NullPointerException()),
+                RetryAnalyzer.FailureType.TEST_ERROR);
+    }
+
+    @Test
+    public void testInfrastructureFailureIsRetriedWithinBudget() {
+        RetryAnalyzer analyzer = new RetryAnalyzer();
+        ITestResult result = stubResult("testInfraRetry", new NoSuchSessionException("browser crashed"));
+
+        Assert.assertTrue(analyzer.retry(result), "First infrastructure failure should be retried");
+        Assert.assertFalse(analyzer.retry(result), "Retries should stop at test.retry.max");
+        Assert.assertEquals(RetryAnalyzer.getRetryCounts("RetrySuite").get("RetryAnalyzerTest.testInfraRetry"), Integer.valueOf(1));
+    }
+
+    @Test
+    public void testAssertionFailureIsNotRetried() {
+        RetryAnalyzer analyzer = new RetryAnalyzer();
+
+        Assert.assertFalse(analyzer.retry(stubResult("testAssertionRetry", new AssertionError("wrong total"))));
+        Assert.assertFalse(RetryAnalyzer.getRetryCounts("RetrySuite").containsKey("RetryAnalyzerTest.testAssertionRetry"));
+    }
+
+    private ITestResult stubResult(String methodName, Throwable failure) {
+        XmlSuite suite = new XmlSuite();
+        suite.setName("RetrySuite");
+        ITestNGMethod method = Stubs.of(ITestNGMethod.class)
+                .returns("getMethodName", methodName)
+                .returns("getXmlTest", new XmlTest(suite))
+                .build();
+        return Stubs.of(ITestResult.class)
+                .returns("getThrowable", failure)
+                .returns("getTestClass", Stubs.of(IClass.class).returns("getRealClass", RetryAnalyzerTest.class).build())
+                .returns("getMethod", method)
+                .returns("getParameters", new Object[0])
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.automationexercise.listeners;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests for the duration-balanced partitioning of {@link ShardingListener}
+ */
+public class ShardingListenerTest {
+
+    private static final Map<String, Double> DURATIONS = Map.of(
+            "validateUserRegistration", 48_000.0,
+            "testSuccessfulLoginAndLogout", 21_000.0,
+            "testSearchAndAddProductToCart", 19_000.0,
+            "testCannotLoginWithInvalidCredentials", 9_000.0,
+            "testCannotLoginWithEmptyFields", 8_000.0,
+            "testRegistrationWithExistingEmail", 12_000.0,
+            "testSearchWithNoResults", 6_000.0);
+
+    @Test
+    public void testShardsAreBalancedByDuration() {
+        List<List<String>> shards = ShardingListener.partition(List.copyOf(DURATIONS.keySet()), DURATIONS::get, 3);
+
+        double total = DURATIONS.values().stream().mapToDouble(Double::doubleValue).sum();
+        double slowest = shards.stream().mapToDouble(this::load).max().orElse(0);
+        // no shard can beat the longest single test, otherwise stay close to total / N
+        Assert.assertTrue(slowest <= Math.max(48_000.0, total / 3 * 1.2),
+                "Slowest shard takes " + slowest + " ms of " + total + " ms");
+        Assert.assertEquals(shards.stream().mapToInt(List::size).sum(), DURATIONS.size(), "Every test runs exactly once");
+    }
+
+    @Test
+    public void testPartitionIsDeterministic() {
+        List<String> tests = List.of("a", "b", "c", "d", "e");
+
+        List<List<String>> first = ShardingListener.partition(tests, test -> 1000, 2);
+        List<List<String>> second = ShardingListener.partition(tests, test -> 1000, 2);
+
+        Assert.assertEquals(first, second, "Every shard must compute the same assignment");
+        Assert.assertEquals(first, List.of(List.of("a", "c", "e"), List.of("b", "d")));
+    }
+
+    private double load(List<String> shard) {
+        return shard.stream().mapToDouble(DURATIONS::get).sum();
+    }
+}
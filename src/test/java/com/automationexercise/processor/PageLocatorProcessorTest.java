@@ -0,0 +1,37 @@
+package com.automationexercise.processor;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the build-time locator validation of {@link PageLocatorProcessor}
+ */
+public class PageLocatorProcessorTest {
+
+    @Test
+    public void testValidLocatorsPass() {
+        Assert.assertNull(PageLocatorProcessor.validate("xpath", "(//p[normalize-space()='Confirm choices'])[1]"));
+        Assert.assertNull(PageLocatorProcessor.validate("cssSelector", "a[href='/login']"));
+        Assert.assertNull(PageLocatorProcessor.validate("cssSelector", ".features_items .product-image-wrapper"));
+        Assert.assertNull(PageLocatorProcessor.validate("id", "search_product"));
+    }
+
+    @Test
+    public void testInvalidXPathIsReported() {
+        Assert.assertNotNull(PageLocatorProcessor.validate("xpath", "//input[@id="));
+        Assert.assertNotNull(PageLocatorProcessor.validate("xpath", "//div[contains(text(),'x']"));
+    }
+
+    @Test
+    public void testMalformedCssIsReported() {
+        Assert.assertNotNull(PageLocatorProcessor.validate("cssSelector", "a[href='/login'"));
+        Assert.assertNotNull(PageLocatorProcessor.validate("cssSelector", "td.cart_price >"));
+        Assert.assertNotNull(PageLocatorProcessor.validate("cssSelector", "a[href='/login]"));
+    }
+
+    @Test
+    public void testWhitespaceInSimpleLocatorIsReported() {
+        Assert.assertNotNull(PageLocatorProcessor.validate("className", "productinfo text-center"));
+        Assert.assertNotNull(PageLocatorProcessor.validate("id", " "));
+    }
+}
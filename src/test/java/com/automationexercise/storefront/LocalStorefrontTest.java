@@ -0,0 +1,141 @@
+package com.automationexercise.storefront;
+
+import com.automationexercise.utils.AccountApiClient;
+import com.automationexercise.utils.AuthSessionCache;
+import com.automationexercise.utils.UserCredentials;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import org.openqa.selenium.Cookie;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tests for the pages and stateful endpoints of the {@link LocalStorefront} stand-in, over plain HTTP
+ */
+public class LocalStorefrontTest {
+
+    private static final Pattern CSRF_INPUT = Pattern.compile("name=\"csrfmiddlewaretoken\" value=\"([^\"]+)\"");
+
+    private LocalStorefront storefront;
+    private String baseUrl;
+
+    @BeforeClass
+    public void start() {
+        storefront = new LocalStorefront(0);
+        baseUrl = storefront.getBaseUrl();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stop() {
+        storefront.close();
+    }
+
+    @Test
+    public void testSearchFiltersProducts() {
+        String results = RestAssured.given().queryParam("search", "Top").get(baseUrl + "/products").asString();
+        String noResults = RestAssured.given().queryParam("search", "invalidproduct12345xyz")
+                .get(baseUrl + "/products").asString();
+
+        Assert.assertTrue(results.contains("Searched Products"));
+        Assert.assertTrue(results.indexOf("<p>Blue Top</p>") < results.indexOf("<p>Winter Top</p>"));
+        Assert.assertFalse(results.contains("<p>Men Tshirt</p>"), "Non-matching products should be filtered out");
+        Assert.assertFalse(noResults.contains("productinfo"), "Unknown term should return no products");
+    }
+
+    @Test
+    public void testCartIsKeptPerVisitor() {
+        Map<String, String> visitor = RestAssured.given().get(baseUrl + "/products").getCookies();
+
+        RestAssured.given().cookies(visitor).get(baseUrl + "/add_to_cart/1");
+        RestAssured.given().cookies(visitor).get(baseUrl + "/add_to_cart/1");
+        String cart = RestAssured.given().cookies(visitor).get(baseUrl + "/view_cart").asString();
+        String otherCart = RestAssured.given().get(baseUrl + "/view_cart").asString();
+
+        Assert.assertTrue(cart.contains("Blue Top") && cart.contains("<button class=\"disabled\">2</button>"),
+                "Cart should hold the product twice");
+        Assert.assertTrue(otherCart.contains("Cart is empty!"), "Another visitor's cart should be empty");
+    }
+
+    @Test
+    public void testSignupCreatesAccountAndLogsIn() {
+        String email = "signup_" + UUID.randomUUID() + "@example.com";
+        Response loginPage = RestAssured.given().get(baseUrl + "/login");
+        String token = csrfToken(loginPage.asString());
+
+        String accountForm = RestAssured.given().cookies(loginPage.getCookies())
+                .formParam("csrfmiddlewaretoken", token).formParam("name", "Test User").formParam("email", email)
+                .post(baseUrl + "/signup").asString();
+        Assert.assertTrue(accountForm.contains("Enter Account Information"));
+
+        Map<String, String> form = new HashMap<>();
+        form.put("csrfmiddlewaretoken", token);
+        form.put("form_type", "create_account");
+        form.put("email_address", email);
+        form.put("name", "Test User");
+        form.put("password", "Test123!");
+        form.put("first_name", "Test");
+        form.put("last_name", "User");
+        form.put("address1", "123 Street");
+        form.put("state", "California");
+        form.put("city", "Los Angeles");
+        form.put("zipcode", "90001");
+        form.put("mobile_number", "1234567890");
+        Response created = RestAssured.given().redirects().follow(false).cookies(loginPage.getCookies())
+                .formParams(form).post(baseUrl + "/signup");
+
+        Assert.assertEquals(created.getStatusCode(), 302);
+        Assert.assertEquals(created.getHeader("Location"), "/account_created");
+        String home = RestAssured.given().cookies(loginPage.getCookies()).cookies(created.getCookies())
+                .get(baseUrl + "/").asString();
+        Assert.assertTrue(home.contains("Logged in as <b>Test User</b>"), "New account should be logged in");
+
+        String duplicate = RestAssured.given().cookies(loginPage.getCookies())
+                .formParam("csrfmiddlewaretoken", token).formParam("name", "Test User").formParam("email", email)
+                .post(baseUrl + "/signup").asString();
+        Assert.assertTrue(duplicate.contains("Email Address already exist!"));
+    }
+
+    @Test
+    public void testApiAccountsLogInOverHttp() {
+        UserCredentials user = new UserCredentials("api_" + UUID.randomUUID() + "@example.com", "Test123!", "Api User");
+        new AccountApiClient(baseUrl + "/api").createAccount(user);
+
+        List<Cookie> cookies = new AuthSessionCache(baseUrl, false, Duration.ofMinutes(30)).getSessionCookies(user);
+        Map<String, String> cookieValues = new HashMap<>();
+        cookies.forEach(cookie -> cookieValues.put(cookie.getName(), cookie.getValue()));
+
+        String home = RestAssured.given().cookies(cookieValues).get(baseUrl + "/").asString();
+        Assert.assertTrue(home.contains("Logged in as <b>Api User</b>"));
+        Assert.assertTrue(new AccountApiClient(baseUrl + "/api").verifyLogin(user));
+    }
+
+    @Test
+    public void testWrongPasswordShowsLoginError() {
+        Response loginPage = RestAssured.given().get(baseUrl + "/login");
+
+        Response response = RestAssured.given().cookies(loginPage.getCookies())
+                .formParam("csrfmiddlewaretoken", csrfToken(loginPage.asString()))
+                .formParam("email", "invalid@email.com").formParam("password", "wrongpassword")
+                .post(baseUrl + "/login");
+
+        Assert.assertEquals(response.getStatusCode(), 200);
+        Assert.assertTrue(response.asString().contains("Your email or password is incorrect!"));
+        Assert.assertNull(response.getCookie("sessionid"));
+    }
+
+    private static String csrfToken(String html) {
+        Matcher matcher = CSRF_INPUT.matcher(html);
+        Assert.assertTrue(matcher.find(), "Login page should carry a CSRF token");
+        return matcher.group(1);
+    }
+}
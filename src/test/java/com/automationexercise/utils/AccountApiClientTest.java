@@ -0,0 +1,71 @@
+package com.automationexercise.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+/**
+ * Tests for API-based user provisioning against a local stand-in of the account API
+ */
+public class AccountApiClientTest {
+
+    private AccountApiStub stub;
+    private AccountApiClient apiClient;
+
+    @BeforeMethod
+    public void startStub() throws IOException {
+        stub = new AccountApiStub();
+        apiClient = new AccountApiClient(stub.getApiUrl());
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    public void testCreateVerifyAndDeleteAccount() {
+        UserCredentials user = new UserCredentials("api_user@example.com", "Test123!", "Test User");
+
+        apiClient.createAccount(user);
+        Assert.assertTrue(stub.hasAccount(user.getEmail()), "Account should exist after creation");
+        Assert.assertTrue(apiClient.verifyLogin(user), "Created account should accept its credentials");
+
+        apiClient.deleteAccount(user);
+        Assert.assertFalse(stub.hasAccount(user.getEmail()), "Account should not exist after deletion");
+        Assert.assertFalse(apiClient.verifyLogin(user), "Deleted account should not accept its credentials");
+    }
+
+    @Test
+    public void testCannotCreateDuplicateAccount() {
+        UserCredentials user = new UserCredentials("duplicate@example.com", "Test123!", "Test User");
+        apiClient.createAccount(user);
+
+        Assert.assertThrows(RuntimeException.class, () -> apiClient.createAccount(user));
+    }
+
+    @Test
+    public void testUserPoolLeasesDistinctUsersAndCleansUp() throws InterruptedException {
+        UserPool pool = new UserPool(apiClient, "Test User", "Test123!", 2);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (pool.readyCount() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(pool.readyCount(), 2, "Pool should be pre-filled in the background");
+
+        UserCredentials first = pool.lease();
+        UserCredentials second = pool.lease();
+        Assert.assertNotEquals(first.getEmail(), second.getEmail(), "Leased users should be distinct");
+        Assert.assertTrue(apiClient.verifyLogin(first), "Leased user should exist");
+
+        pool.release(first);
+        Assert.assertSame(pool.lease(), first, "Released user should be leased again");
+
+        pool.close();
+        Assert.assertEquals(stub.accountCount(), 0, "Closing the pool should delete its accounts");
+    }
+}
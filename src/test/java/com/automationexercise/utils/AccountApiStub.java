@@ -0,0 +1,152 @@
+package com.automationexercise.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for the automationexercise account API.
+ * Emulates {@code /api/createAccount}, {@code /api/deleteAccount} and {@code /api/verifyLogin}
+ * with in-memory accounts, answering HTTP 200 with a {@code responseCode} in the body like the real API,
+ * plus the CSRF-protected {@code /login} form that issues a {@code sessionid} cookie.
+ */
+class AccountApiStub implements AutoCloseable {
+    private final HttpServer server;
+    private final Map<String, String> passwordsByEmail = new ConcurrentHashMap<>();
+    private final AtomicInteger logins = new AtomicInteger();
+
+    AccountApiStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/createAccount", this::createAccount);
+        server.createContext("/api/deleteAccount", this::deleteAccount);
+        server.createContext("/api/verifyLogin", this::verifyLogin);
+        server.createContext("/login", this::login);
+        server.start();
+    }
+
+    String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    String getApiUrl() {
+        return getBaseUrl() + "/api";
+    }
+
+    int loginCount() {
+        return logins.get();
+    }
+
+    boolean hasAccount(String email) {
+        return passwordsByEmail.containsKey(email);
+    }
+
+    int accountCount() {
+        return passwordsByEmail.size();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void createAccount(HttpExchange exchange) throws IOException {
+        Map<String, String> form = readForm(exchange);
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            respond(exchange, 405, "This request method is not supported.");
+        } else if (passwordsByEmail.putIfAbsent(form.get("email"), form.get("password")) != null) {
+            respond(exchange, 400, "Email already exists!");
+        } else {
+            respond(exchange, 201, "User created!");
+        }
+    }
+
+    private void deleteAccount(HttpExchange exchange) throws IOException {
+        Map<String, String> form = readForm(exchange);
+        if (!"DELETE".equals(exchange.getRequestMethod())) {
+            respond(exchange, 405, "This request method is not supported.");
+        } else if (passwordsByEmail.remove(form.get("email"), form.get("password"))) {
+            respond(exchange, 200, "Account deleted!");
+        } else {
+            respond(exchange, 404, "Account not found!");
+        }
+    }
+
+    private void verifyLogin(HttpExchange exchange) throws IOException {
+        Map<String, String> form = readForm(exchange);
+        String password = passwordsByEmail.get(form.get("email"));
+        if (password != null && password.equals(form.get("password"))) {
+            respond(exchange, 200, "User exists!");
+        } else {
+            respond(exchange, 404, "User not found!");
+        }
+    }
+
+    private void login(HttpExchange exchange) throws IOException {
+        if ("GET".equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().add("Set-Cookie", "csrftoken=stub-csrf; Path=/");
+            sendHtml(exchange, 200, "<form action=\"/login\" method=\"POST\">"
+                    + "<input type=\"hidden\" name=\"csrfmiddlewaretoken\" value=\"stub-form-token\">"
+                    + "</form>");
+            return;
+        }
+
+        Map<String, String> form = readForm(exchange);
+        String cookies = exchange.getRequestHeaders().getFirst("Cookie");
+        String password = passwordsByEmail.get(form.get("email"));
+        if (!"stub-form-token".equals(form.get("csrfmiddlewaretoken"))
+                || cookies == null || !cookies.contains("csrftoken=stub-csrf")) {
+            sendHtml(exchange, 403, "CSRF verification failed.");
+        } else if (password == null || !password.equals(form.get("password"))) {
+            sendHtml(exchange, 200, "<p>Your email or password is incorrect!</p>");
+        } else {
+            logins.incrementAndGet();
+            exchange.getResponseHeaders().add("Set-Cookie",
+                    "sessionid=" + UUID.randomUUID() + "; Path=/; Max-Age=1209600; HttpOnly");
+            exchange.getResponseHeaders().set("Location", "/");
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        }
+    }
+
+    private static Map<String, String> readForm(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        Map<String, String> form = new HashMap<>();
+        for (String pair : body.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                form.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return form;
+    }
+
+    private static void sendHtml(HttpExchange exchange, int status, String html) throws IOException {
+        byte[] body = html.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int responseCode, String message) throws IOException {
+        byte[] body = ("{\"responseCode\": " + responseCode + ", \"message\": \"" + message + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+}
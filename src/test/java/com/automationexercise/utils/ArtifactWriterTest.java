@@ -0,0 +1,113 @@
+package com.automationexercise.utils;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Tests for capturing and writing failure artifacts with {@link ArtifactWriter}
+ */
+public class ArtifactWriterTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', 1, 2, 3};
+
+    @Test
+    public void testFailureIsWrittenAsZip() throws IOException {
+        Path dir = Files.createTempDirectory("artifacts");
+        Path eventLog = Files.createTempFile("events", ".ndjson");
+        try {
+            TestEventLog events = new TestEventLog(true, eventLog);
+            events.testStarted("CartTest.testAddToCart", null);
+            ArtifactWriter writer = new ArtifactWriter(true, dir, 10, 4, 1, events);
+            writer.captureFailure(stubDriver(), "CartTest.testAddToCart", 0);
+            Assert.assertTrue(writer.awaitPending(Duration.ofSeconds(10)), "the capture should be written");
+
+            List<Path> files = list(dir);
+            Assert.assertEquals(files.size(), 1);
+            Assert.assertTrue(files.get(0).getFileName().toString().startsWith("CartTest.testAddToCart-"));
+
+            Map<String, byte[]> entries = unzip(files.get(0));
+            Assert.assertEquals(new String(entries.get("url.txt"), StandardCharsets.UTF_8), "https://example.test/cart");
+            Assert.assertEquals(entries.get("screenshot.png"), PNG);
+            Assert.assertEquals(new String(entries.get("dom.html"), StandardCharsets.UTF_8), "<html>cart</html>");
+            Assert.assertFalse(entries.containsKey("console.log"), "the stub has no console log");
+            Assert.assertEquals(writer.getWritten(), 1);
+            Assert.assertEquals(writer.getBytesWritten(), Files.size(files.get(0)));
+            Assert.assertTrue(Files.readString(eventLog).contains("\"type\":\"artifact\",\"id\":\"1\""),
+                    "the written zip should be logged for its test");
+            writer.shutdown();
+        } finally {
+            deleteRecursively(dir);
+            Files.delete(eventLog);
+        }
+    }
+
+    @Test
+    public void testCapturesBeyondSizeCapAreDropped() throws IOException {
+        Path dir = Files.createTempDirectory("artifacts");
+        Path eventLog = Files.createTempFile("events", ".ndjson");
+        try {
+            TestEventLog events = new TestEventLog(true, eventLog);
+            events.testStarted("CartTest.testAddToCart", null);
+            ArtifactWriter writer = new ArtifactWriter(true, dir, 0, 4, 1, events);
+            writer.captureFailure(stubDriver(), "CartTest.testAddToCart", 0);
+            writer.shutdown();
+
+            Assert.assertTrue(list(dir).isEmpty());
+            Assert.assertEquals(writer.getDropped(), 1);
+            Assert.assertFalse(Files.readString(eventLog).contains("artifact"), "dropped zips should not be linked");
+        } finally {
+            deleteRecursively(dir);
+            Files.delete(eventLog);
+        }
+    }
+
+    private static WebDriver stubDriver() {
+        return Stubs.of(WebDriver.class, TakesScreenshot.class)
+                .returns("getCurrentUrl", "https://example.test/cart")
+                .returns("getPageSource", "<html>cart</html>")
+                .answer("getScreenshotAs", args -> ((OutputType<?>) args[0]).convertFromPngBytes(PNG))
+                .strict()
+                .build();
+    }
+
+    private static List<Path> list(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+
+    private static Map<String, byte[]> unzip(Path file) throws IOException {
+        Map<String, byte[]> entries = new HashMap<>();
+        try (InputStream in = Files.newInputStream(file); ZipInputStream zip = new ZipInputStream(in)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), zip.readAllBytes());
+            }
+        }
+        return entries;
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        for (Path file : list(dir)) {
+            Files.delete(file);
+        }
+        Files.delete(dir);
+    }
+}
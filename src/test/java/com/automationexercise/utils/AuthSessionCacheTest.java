@@ -0,0 +1,64 @@
+package com.automationexercise.utils;
+
+import org.openqa.selenium.Cookie;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Tests for the HTTP login and session caching of {@link AuthSessionCache} against a local stand-in server
+ */
+public class AuthSessionCacheTest {
+
+    private final UserCredentials user = new UserCredentials("session_user@example.com", "Test123!", "Test User");
+
+    private AccountApiStub stub;
+
+    @BeforeMethod
+    public void startStub() throws IOException {
+        stub = new AccountApiStub();
+        new AccountApiClient(stub.getApiUrl()).createAccount(user);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    public void testSessionIsCapturedOnceAndReused() {
+        AuthSessionCache cache = new AuthSessionCache(stub.getBaseUrl(), false, Duration.ofMinutes(30));
+
+        List<Cookie> first = cache.getSessionCookies(user);
+        List<Cookie> second = cache.getSessionCookies(
+                new UserCredentials(user.getEmail(), user.getPassword(), user.getName()));
+
+        Assert.assertTrue(first.stream().anyMatch(cookie -> "sessionid".equals(cookie.getName())),
+                "Session cookie should be captured");
+        Assert.assertSame(second, first, "Equal credentials should reuse the cached session");
+        Assert.assertEquals(stub.loginCount(), 1, "User should log in only once");
+    }
+
+    @Test
+    public void testExpiredSessionIsRefreshed() {
+        AuthSessionCache cache = new AuthSessionCache(stub.getBaseUrl(), false, Duration.ZERO);
+
+        cache.getSessionCookies(user);
+        cache.getSessionCookies(user);
+
+        Assert.assertEquals(stub.loginCount(), 2, "Expired session should trigger a new login");
+    }
+
+    @Test
+    public void testInvalidCredentialsFailLogin() {
+        AuthSessionCache cache = new AuthSessionCache(stub.getBaseUrl(), false, Duration.ofMinutes(30));
+        UserCredentials wrongPassword = new UserCredentials(user.getEmail(), "wrongpassword", user.getName());
+
+        Assert.assertThrows(RuntimeException.class, () -> cache.getSessionCookies(wrongPassword));
+    }
+}
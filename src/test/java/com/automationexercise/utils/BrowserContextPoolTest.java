@@ -0,0 +1,186 @@
+package com.automationexercise.utils;
+
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tests for the worker slot accounting of {@link BrowserContextPool}, against fake browser processes
+ */
+public class BrowserContextPoolTest {
+
+    private final List<WebDriver> hosts = new ArrayList<>();
+    private final List<WebDriver> workers = new ArrayList<>();
+    private final Set<WebDriver> quit = ConcurrentHashMap.newKeySet();
+    private final Set<WebDriver> dead = ConcurrentHashMap.newKeySet();
+    private final Set<String> targets = ConcurrentHashMap.newKeySet();
+    private volatile boolean overLimit;
+    private volatile boolean failNextAttach;
+
+    @BeforeMethod
+    public void resetBrowsers() {
+        hosts.clear();
+        workers.clear();
+        quit.clear();
+        dead.clear();
+        targets.clear();
+        overLimit = false;
+        failNextAttach = false;
+    }
+
+    @Test
+    public void testWorkersShareAProcessUpToTheContextLimit() {
+        BrowserContextPool pool = pool(2);
+
+        pool.acquire("chrome", BrowserProfile.HEADLESS_FAST);
+        pool.acquire("chrome", BrowserProfile.HEADLESS_FAST);
+        Assert.assertEquals(hosts.size(), 1);
+
+        pool.acquire("chrome", BrowserProfile.HEADLESS_FAST);
+        Assert.assertEquals(hosts.size(), 2, "a full process should not take a third worker");
+        Assert.assertEquals(workers.size(), 3);
+    }
+
+    @Test
+    public void testReleasedWorkerIsReused() {
+        BrowserContextPool pool = pool(1);
+
+        WebDriver first = pool.acquire("chrome", BrowserProfile.HEADLESS_FAST);
+        pool.release(first);
+        WebDriver second = pool.acquire("chrome", BrowserProfile.HEADLESS_FAST);
+
+        Assert.assertSame(second, first);
+        Assert.assertEquals(hosts.size(), 1);
+        Assert.assertEquals(workers.size(), 1);
+    }
+
+    @Test
+    public void testUnhealthyWorkerFreesItsSlot() {
+        BrowserContextPool pool = pool(1);
+
+        pool.release(pool.acquire("chrome", BrowserProfile.HEADLESS_FAST));
+        dead.add(workers.get(0));
+        pool.acquire("chrome", BrowserProfile.HEADLESS_FAST);
+
+        Assert.assertTrue(quit.contains(workers.get(0)));
+        Assert.assertEquals(workers.size(), 2);
+        Assert.assertEquals(hosts.size(), 1, "the discarded worker's slot should be reused");
+    }
+
+    @Test
+    public void testRetiredProcessIsQuitAfterItsLastWorker() {
+        BrowserContextPool pool = pool(2);
+
+        WebDriver first = pool.acquire("chrome", BrowserProfile.HEADLESS_FAST);
+        WebDriver second = pool.acquire("chrome", BrowserProfile.HEADLESS_FAST);
+        overLimit = true;
+        pool.release(first);
+        Assert.assertFalse(quit.contains(hosts.get(0)), "a worker is still attached");
+
+        pool.acquire("chrome", BrowserProfile.HEADLESS_FAST);
+        Assert.assertEquals(hosts.size(), 2, "a retiring process should take no new workers");
+
+        pool.release(second);
+        Assert.assertTrue(quit.contains(hosts.get(0)));
+        Assert.assertFalse(quit.contains(hosts.get(1)));
+    }
+
+    @Test
+    public void testFailedAttachToDeadBrowserLaunchesANewOne() {
+        BrowserContextPool pool = pool(2);
+
+        pool.release(pool.acquire("chrome", BrowserProfile.HEADLESS_FAST));
+        pool.acquire("chrome", BrowserProfile.HEADLESS_FAST);
+        dead.add(hosts.get(0));
+        failNextAttach = true;
+        Assert.assertThrows(WebDriverException.class, () -> pool.acquire("chrome", BrowserProfile.HEADLESS_FAST));
+        Assert.assertTrue(quit.contains(hosts.get(0)));
+
+        pool.acquire("chrome", BrowserProfile.HEADLESS_FAST);
+        Assert.assertEquals(hosts.size(), 2);
+    }
+
+    @Test
+    public void testFailedAttachToLiveBrowserReleasesItsSlot() {
+        BrowserContextPool pool = pool(1);
+
+        failNextAttach = true;
+        Assert.assertThrows(WebDriverException.class, () -> pool.acquire("chrome", BrowserProfile.HEADLESS_FAST));
+        pool.acquire("chrome", BrowserProfile.HEADLESS_FAST);
+
+        Assert.assertEquals(hosts.size(), 1);
+        Assert.assertFalse(quit.contains(hosts.get(0)));
+    }
+
+    private BrowserContextPool pool(int contextsPerProcess) {
+        ResourceGovernor governor = new ResourceGovernor(false, 0, 0, 0, 0) {
+            @Override
+            public String recycleReason(WebDriver driver, Duration age) {
+                return overLimit ? "over the test limit" : null;
+            }
+        };
+        return new BrowserContextPool(this::launchHost, this::attachWorker, host -> this::sendToBrowser,
+                contextsPerProcess, governor);
+    }
+
+    private WebDriver launchHost(String browser, BrowserProfile profile) {
+        int index = hosts.size();
+        WebDriver host = Stubs.of(WebDriver.class, HasCapabilities.class)
+                .returns("getCapabilities", new ImmutableCapabilities("goog:chromeOptions",
+                        Map.of("debuggerAddress", "127.0.0.1:" + (9222 + index))))
+                .answer("getWindowHandle", args -> handle(hosts.get(index)))
+                .answer("quit", args -> quit.add(hosts.get(index)))
+                .build();
+        hosts.add(host);
+        return host;
+    }
+
+    private WebDriver attachWorker(String browser, BrowserProfile profile, String debuggerAddress) {
+        if (failNextAttach) {
+            failNextAttach = false;
+            throw new WebDriverException("cannot connect to " + debuggerAddress);
+        }
+        int index = workers.size();
+        WebDriver.TargetLocator locator = Stubs.of(WebDriver.TargetLocator.class).build();
+        WebDriver worker = Stubs.of(WebDriver.class)
+                .answer("getWindowHandles", args -> Set.copyOf(targets))
+                .answer("getWindowHandle", args -> handle(workers.get(index)))
+                .returns("switchTo", locator)
+                .answer("quit", args -> quit.add(workers.get(index)))
+                .build();
+        workers.add(worker);
+        return worker;
+    }
+
+    private Map<String, Object> sendToBrowser(String method, Map<String, Object> params) {
+        switch (method) {
+            case "Target.createBrowserContext":
+                return Map.of("browserContextId", UUID.randomUUID().toString());
+            case "Target.createTarget":
+                String target = UUID.randomUUID().toString();
+                targets.add(target);
+                return Map.of("targetId", target);
+            default:
+                return Map.of();
+        }
+    }
+
+    private String handle(WebDriver driver) {
+        if (dead.contains(driver)) {
+            throw new WebDriverException("session deleted because of page crash");
+        }
+        return "current";
+    }
+}
@@ -0,0 +1,51 @@
+package com.automationexercise.utils;
+
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests for browser launch profile selection and options
+ */
+public class BrowserProfileTest {
+
+    @Test
+    public void testHeadlessProfilesAddLowOverheadArguments() {
+        List<String> fast = chromeArgs(BrowserProfile.HEADLESS_FAST);
+        Assert.assertTrue(fast.contains("--headless=new"), "headless-fast should run headless");
+        Assert.assertTrue(fast.contains("--disable-gpu"), "headless-fast should disable the GPU");
+        Assert.assertTrue(fast.contains("--disable-renderer-backgrounding"),
+                "headless-fast should disable background throttling");
+        Assert.assertFalse(fast.contains("--no-sandbox"), "headless-fast should keep the sandbox");
+
+        List<String> container = chromeArgs(BrowserProfile.CONTAINER);
+        Assert.assertTrue(container.contains("--no-sandbox"), "container should disable the sandbox");
+        Assert.assertTrue(container.contains("--disable-dev-shm-usage"), "container should not use /dev/shm");
+    }
+
+    @Test
+    public void testHeadedDebugKeepsDefaultsAndMaximizes() {
+        Assert.assertTrue(chromeArgs(BrowserProfile.HEADED_DEBUG).isEmpty(),
+                "headed-debug should not change browser arguments");
+        Assert.assertTrue(BrowserProfile.HEADED_DEBUG.shouldMaximizeWindow(),
+                "headed-debug should maximize the window");
+        Assert.assertFalse(BrowserProfile.HEADLESS_FAST.shouldMaximizeWindow(),
+                "headless profiles should use a fixed window size");
+    }
+
+    @Test
+    public void testProfileLookupByName() {
+        Assert.assertEquals(BrowserProfile.fromName("Container"), BrowserProfile.CONTAINER);
+        Assert.assertThrows(IllegalArgumentException.class, () -> BrowserProfile.fromName("turbo"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> chromeArgs(BrowserProfile profile) {
+        Map<String, Object> chromeOptions = (Map<String, Object>) profile.apply(new ChromeOptions())
+                .asMap().get(ChromeOptions.CAPABILITY);
+        return (List<String>) chromeOptions.get("args");
+    }
+}
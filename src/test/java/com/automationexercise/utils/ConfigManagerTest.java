@@ -0,0 +1,81 @@
+package com.automationexercise.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests for layering and parsing the {@link ConfigManager} snapshot
+ */
+public class ConfigManagerTest {
+
+    @Test
+    public void testLaterLayersWin() {
+        Map<String, String> files = Map.of("explicit.timeout", "10", "headless", "false",
+                "config.test.layer", "file", "network.blocking.deny", " a.com, ,b.com ");
+        System.setProperty("config.test.layer", "system");
+        try {
+            ConfigManager.Snapshot snapshot = new ConfigManager.Snapshot(files,
+                    Map.of("headless", "true", "explicit.timeout", "20", "config.test.layer", "suite"),
+                    Map.of("base.url", "http://localhost:1234"));
+
+            Assert.assertEquals(snapshot.get("config.test.layer"), "system");
+            Assert.assertEquals(snapshot.integer("explicit.timeout", 0), 20);
+            Assert.assertEquals(snapshot.get("headless"), "true");
+            Assert.assertEquals(snapshot.get("base.url"), "http://localhost:1234");
+            Assert.assertEquals(snapshot.integer("wait.budget.clickable", 7), 7, "unset keys should use the default");
+        } finally {
+            System.clearProperty("config.test.layer");
+        }
+    }
+
+    @Test
+    public void testBlankValuesCountAsUnset() {
+        ConfigManager.Snapshot snapshot = new ConfigManager.Snapshot(Map.of("browser.profile", " ", "explicit.timeout", ""),
+                Map.of(), Map.of());
+
+        Assert.assertNull(snapshot.get("browser.profile"));
+        Assert.assertEquals(snapshot.integer("explicit.timeout", 10), 10);
+    }
+
+    @Test
+    public void testInvalidValuesFailWithEveryProblem() {
+        RuntimeException error = Assert.expectThrows(RuntimeException.class, () -> new ConfigManager.Snapshot(
+                Map.of("explicit.timeout", "ten", "headless", "yes", "wait.poll.factor", "fast"), Map.of(), Map.of()));
+
+        for (String key : List.of("explicit.timeout='ten'", "headless='yes'", "wait.poll.factor='fast'")) {
+            Assert.assertTrue(error.getMessage().contains(key), error.getMessage());
+        }
+    }
+
+    @Test
+    public void testSystemPropertiesAreReadOnce() {
+        ConfigManager.Snapshot snapshot = new ConfigManager.Snapshot(Map.of("config.test.layer", "file"), Map.of(),
+                Map.of());
+        System.setProperty("config.test.layer", "system");
+        try {
+            Assert.assertEquals(snapshot.get("config.test.layer"), "file",
+                    "a property set after the snapshot was built should not change it");
+        } finally {
+            System.clearProperty("config.test.layer");
+        }
+    }
+
+    @Test
+    public void testUnknownModesFailAtStartup() {
+        RuntimeException error = Assert.expectThrows(RuntimeException.class, () -> new ConfigManager.Snapshot(
+                Map.of("browser.profile", "fast", "auth.login.mode", "cookie", "http.cache.mode", "replay"),
+                Map.of("http.cache.mode", "playback"), Map.of()));
+
+        for (String key : List.of("browser.profile='fast'", "auth.login.mode='cookie'", "http.cache.mode='playback'")) {
+            Assert.assertTrue(error.getMessage().contains(key), error.getMessage());
+        }
+    }
+
+    @Test
+    public void testEnvironmentVariableNames() {
+        Assert.assertEquals(ConfigManager.envName("http.cache.mode"), "AE_HTTP_CACHE_MODE");
+    }
+}
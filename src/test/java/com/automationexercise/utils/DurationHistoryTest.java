@@ -0,0 +1,54 @@
+package com.automationexercise.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Tests for persisting and averaging test durations in {@link DurationHistory}
+ */
+public class DurationHistoryTest {
+
+    @Test
+    public void testDurationsAreAveragedAcrossRuns() throws IOException {
+        Path file = Files.createTempFile("test-durations", ".json");
+        Files.delete(file);
+        try {
+            DurationHistory firstRun = DurationHistory.load(file);
+            firstRun.record("LoginLogoutTest.testSuccessfulLoginAndLogout", 20_000);
+            firstRun.save();
+
+            DurationHistory secondRun = DurationHistory.load(file);
+            Assert.assertEquals(secondRun.estimateMillis("LoginLogoutTest.testSuccessfulLoginAndLogout", 0), 20_000.0);
+            secondRun.record("LoginLogoutTest.testSuccessfulLoginAndLogout", 10_000);
+            secondRun.record("UserRegistrationTest.validateUserRegistration", 30_000);
+            secondRun.save();
+
+            DurationHistory thirdRun = DurationHistory.load(file);
+            Assert.assertEquals(thirdRun.estimateMillis("LoginLogoutTest.testSuccessfulLoginAndLogout", 0), 15_000.0);
+            Assert.assertEquals(thirdRun.estimateMillis("UnknownTest.method", 5_000), 5_000.0);
+            Assert.assertEquals(thirdRun.medianMillis(0), 22_500.0);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testDataProviderInvocationsAreSummed() throws IOException {
+        Path file = Files.createTempFile("test-durations", ".json");
+        Files.delete(file);
+        try {
+            DurationHistory run = DurationHistory.load(file);
+            run.record("SearchTest.search", 1_000);
+            run.record("SearchTest.search", 2_000);
+            run.save();
+
+            Assert.assertEquals(DurationHistory.load(file).estimateMillis("SearchTest.search", 0), 3_000.0);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
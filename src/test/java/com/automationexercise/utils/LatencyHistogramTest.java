@@ -0,0 +1,46 @@
+package com.automationexercise.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for bucketing and percentile accuracy of {@link LatencyHistogram}
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketsCoverValuesInOrder() {
+        long previous = -1;
+        for (long micros : new long[]{0, 1, 15, 16, 17, 31, 32, 1_000, 65_535, 1_000_000, Long.MAX_VALUE / 1_000}) {
+            int index = LatencyHistogram.indexOf(micros);
+            Assert.assertTrue(LatencyHistogram.upperBoundOf(index) >= micros, "Bucket too small for " + micros);
+            Assert.assertTrue(index >= previous, "Buckets must grow with the value");
+            previous = index;
+        }
+    }
+
+    @Test
+    public void testPercentilesAreWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.recordNanos(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        Assert.assertEquals(histogram.getCount(), 100);
+        Assert.assertEquals(histogram.getPercentileMillis(0.50), 50, 50 * 0.07);
+        Assert.assertEquals(histogram.getPercentileMillis(0.95), 95, 95 * 0.07);
+        Assert.assertEquals(histogram.getPercentileMillis(0.99), 99, 99 * 0.07);
+        Assert.assertEquals(histogram.getMaxMillis(), 100.0);
+        Assert.assertEquals(histogram.getTotalMillis(), 5050.0);
+    }
+
+    @Test
+    public void testEmptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        Assert.assertEquals(histogram.getCount(), 0);
+        Assert.assertEquals(histogram.getPercentileMillis(0.99), 0.0);
+    }
+}
@@ -0,0 +1,79 @@
+package com.automationexercise.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Tests for streaming test events through {@link TestEventLog} into the HTML built by {@link ReportRenderer}
+ */
+public class ReportRendererTest {
+
+    @Test
+    public void testReportGrowsAsTestsFinish() throws IOException {
+        Path dir = Files.createTempDirectory("report");
+        try {
+            TestEventLog log = new TestEventLog(true, dir.resolve(TestEventLog.FILE_NAME));
+            ReportRenderer renderer = new ReportRenderer(log.getFile(), dir.resolve("report.html"), 1);
+
+            log.suiteStarted("Smoke");
+            log.testStarted("CartTest.testAddToCart", null);
+            log.step("ProductsPage.addFirstProductToCart");
+            log.step("CartPage.open");
+            log.step("CartPage.open");
+            log.testFinished("PASSED", 1200, null);
+            renderer.render();
+
+            String partial = Files.readString(dir.resolve("report.html"));
+            Assert.assertTrue(partial.contains("CartTest.testAddToCart"), "finished tests should be rendered mid-run");
+            Assert.assertTrue(partial.contains("ProductsPage.addFirstProductToCart"));
+            Assert.assertTrue(partial.contains("1 more steps"),
+                    "repeated steps should be logged once and steps beyond the limit summarized");
+            Assert.assertFalse(partial.contains("</html>"));
+
+            log.testStarted("LoginTest.testInvalidLogin", "[a<b]");
+            log.testFinished("FAILED", 800, "java.lang.AssertionError: <expected>");
+            renderer.render();
+            Assert.assertFalse(Files.readString(dir.resolve("report.html")).contains("LoginTest.testInvalidLogin"),
+                    "failures should wait for their artifacts");
+
+            String loginId = log.currentTestId();
+            log.artifact(dir.resolve("LoginTest.testInvalidLogin-1.zip"));
+            log.testStarted("SearchTest.testSearch", null);
+            log.artifact(loginId, dir.resolve("LoginTest.testInvalidLogin-2.zip"));
+            renderer.finish();
+
+            String report = Files.readString(dir.resolve("report.html"));
+            Assert.assertTrue(report.contains("href=\"LoginTest.testInvalidLogin-1.zip\""));
+            Assert.assertTrue(report.contains("href=\"LoginTest.testInvalidLogin-2.zip\""),
+                    "artifacts written after the test was rendered should still be linked");
+            Assert.assertTrue(report.contains("[a&lt;b]") && report.contains("&lt;expected&gt;"));
+            Assert.assertTrue(report.contains("INCOMPLETE</b> SearchTest.testSearch"));
+            Assert.assertTrue(report.contains("PASSED: 1") && report.contains("FAILED: 1"));
+            Assert.assertTrue(report.endsWith("</html>\n"));
+            Assert.assertEquals(count(report, "CartTest.testAddToCart"), 1, "tests should be rendered once");
+        } finally {
+            try (Stream<Path> files = Files.list(dir)) {
+                List<Path> paths = files.collect(Collectors.toList());
+                for (Path file : paths) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
+
+    private static int count(String text, String needle) {
+        int count = 0;
+        for (int i = text.indexOf(needle); i >= 0; i = text.indexOf(needle, i + 1)) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,66 @@
+package com.automationexercise.utils;
+
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Tests for process tree sampling and recycle decisions in {@link ResourceGovernor}
+ */
+public class ResourceGovernorTest {
+
+    @Test
+    public void testSampleSumsProcessTree() {
+        ResourceGovernor.Usage usage = ResourceGovernor.sample(ProcessHandle.current());
+
+        Assert.assertTrue(usage.getProcesses() >= 1);
+        Assert.assertTrue(usage.getCpuMillis() >= 0);
+        if (System.getProperty("os.name").toLowerCase().contains("linux")) {
+            Assert.assertTrue(usage.getMemoryBytes() > 0, "memory should be read from /proc");
+            Assert.assertTrue(usage.getOpenHandles() > 0, "open handles should be read from /proc");
+        }
+    }
+
+    @Test
+    public void testBrowserProcessIsFoundFromCapabilities() {
+        MutableCapabilities firefox = new MutableCapabilities();
+        firefox.setCapability("moz:processID", ProcessHandle.current().pid());
+        Assert.assertEquals(ResourceGovernor.findBrowserProcess(firefox).map(ProcessHandle::pid).orElse(-1L),
+                ProcessHandle.current().pid());
+
+        MutableCapabilities chrome = new MutableCapabilities();
+        chrome.setCapability("chrome", Map.of("userDataDir", "/tmp/no-such-profile-dir"));
+        Assert.assertFalse(ResourceGovernor.findBrowserProcess(chrome).isPresent());
+
+        Assert.assertFalse(ResourceGovernor.findBrowserProcess(new MutableCapabilities()).isPresent());
+    }
+
+    @Test
+    public void testSessionsAreRecycledByAge() {
+        WebDriver driver = stubDriver();
+        ResourceGovernor governor = new ResourceGovernor(true, 1500, 60, 0, 0);
+
+        Assert.assertNull(governor.recycleReason(driver, Duration.ofSeconds(30)));
+        Assert.assertNotNull(governor.recycleReason(driver, Duration.ofSeconds(90)));
+
+        ResourceGovernor disabled = new ResourceGovernor(false, 1500, 60, 0, 0);
+        Assert.assertNull(disabled.recycleReason(driver, Duration.ofSeconds(90)));
+    }
+
+    @Test
+    public void testThrottleGivesUpAfterTimeout() {
+        ResourceGovernor governor = new ResourceGovernor(true, 0, 0, Integer.MAX_VALUE, 0);
+
+        long start = System.nanoTime();
+        governor.awaitMemory();
+        Assert.assertTrue(Duration.ofNanos(System.nanoTime() - start).toSeconds() < 5);
+    }
+
+    private static WebDriver stubDriver() {
+        return Stubs.of(WebDriver.class).build();
+    }
+}
@@ -0,0 +1,125 @@
+package com.automationexercise.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Tests for recording, replaying, eviction and memory mapping of the {@link ResponseCache}
+ */
+public class ResponseCacheTest {
+
+    private static final List<Map<String, String>> HEADERS = List.of(
+            Map.of("name", "Content-Type", "value", "text/css"),
+            Map.of("name", "Content-Encoding", "value", "gzip"),
+            Map.of("name", "Set-Cookie", "value", "csrftoken=abc"));
+
+    private Path directory;
+
+    @BeforeMethod
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("response-cache");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Test
+    public void testRecordedResponseIsServedWithoutTransferHeaders() {
+        ResponseCache cache = new ResponseCache(directory, ResponseCache.Mode.RECORD, 1024 * 1024, 1024 * 1024);
+
+        Assert.assertNull(cache.lookup("GET", "https://example.com/site.css"));
+        cache.store("GET", "https://example.com/site.css", 200, HEADERS, body("body { color: red }"));
+        ResponseCache.CachedResponse cached = cache.lookup("GET", "https://example.com/site.css");
+
+        Assert.assertNotNull(cached);
+        Assert.assertEquals(cached.getStatus(), 200);
+        Assert.assertEquals(new String(cached.getBody(), StandardCharsets.UTF_8), "body { color: red }");
+        Assert.assertEquals(cached.getHeaders(), List.of(Map.of("name", "Content-Type", "value", "text/css")),
+                "Encoding and cookie headers must not be replayed");
+        Assert.assertEquals(cache.getHits(), 1);
+        Assert.assertEquals(cache.getMisses(), 1);
+    }
+
+    @Test
+    public void testRecordingsSurviveRestartAndReplayDoesNotWrite() {
+        new ResponseCache(directory, ResponseCache.Mode.RECORD, 1024 * 1024, 1024 * 1024)
+                .store("GET", "https://example.com/logo.png", 200, HEADERS, body("png"));
+
+        ResponseCache replay = new ResponseCache(directory, ResponseCache.Mode.REPLAY, 1024 * 1024, 1024 * 1024);
+        replay.store("GET", "https://example.com/other.png", 200, HEADERS, body("other"));
+
+        Assert.assertEquals(replay.size(), 1);
+        Assert.assertNotNull(replay.lookup("GET", "https://example.com/logo.png"));
+        Assert.assertNull(replay.lookup("GET", "https://example.com/other.png"));
+    }
+
+    @Test
+    public void testOnlySuccessfulGetResponsesAreRecorded() {
+        ResponseCache cache = new ResponseCache(directory, ResponseCache.Mode.RECORD, 1024 * 1024, 1024 * 1024);
+
+        cache.store("POST", "https://example.com/a.js", 200, HEADERS, body("a"));
+        cache.store("GET", "https://example.com/b.js", 404, HEADERS, body("b"));
+
+        Assert.assertEquals(cache.size(), 0);
+        Assert.assertFalse(cache.isCacheable("POST"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvictedWhenFull() {
+        ResponseCache cache = new ResponseCache(directory, ResponseCache.Mode.RECORD, 100, 100);
+
+        cache.store("GET", "https://example.com/1", 200, HEADERS, new byte[25]);
+        cache.store("GET", "https://example.com/2", 200, HEADERS, new byte[25]);
+        cache.store("GET", "https://example.com/3", 200, HEADERS, new byte[25]);
+        cache.lookup("GET", "https://example.com/1");
+        cache.store("GET", "https://example.com/4", 200, HEADERS, new byte[25]);
+        cache.store("GET", "https://example.com/5", 200, HEADERS, new byte[25]);
+
+        Assert.assertTrue(cache.getTotalBytes() <= 100, "Cache exceeded its bound: " + cache.getTotalBytes());
+        Assert.assertEquals(cache.getEvictions(), 1);
+        Assert.assertNull(cache.lookup("GET", "https://example.com/2"), "Least recently used entry should go first");
+        Assert.assertNotNull(cache.lookup("GET", "https://example.com/1"));
+        Assert.assertFalse(Files.exists(directory.resolve(ResponseCache.keyOf("GET", "https://example.com/2") + ".body")));
+    }
+
+    @Test
+    public void testHotBodiesAreMappedWithinBudget() {
+        ResponseCache cache = new ResponseCache(directory, ResponseCache.Mode.RECORD, 1024 * 1024, 10);
+        cache.store("GET", "https://example.com/small", 200, HEADERS, body("0123456789"));
+        cache.store("GET", "https://example.com/large", 200, HEADERS, body("0123456789ABCDEF"));
+
+        cache.lookup("GET", "https://example.com/small");
+        Assert.assertEquals(cache.getMappedBytes(), 0, "A single hit should not map the body");
+
+        ResponseCache.CachedResponse hot = cache.lookup("GET", "https://example.com/small");
+        cache.lookup("GET", "https://example.com/large");
+        cache.lookup("GET", "https://example.com/large");
+
+        Assert.assertEquals(cache.getMappedBytes(), 10, "Only bodies within the mapping budget should be mapped");
+        Assert.assertEquals(new String(hot.getBody(), StandardCharsets.UTF_8), "0123456789");
+        Assert.assertEquals(new String(cache.lookup("GET", "https://example.com/large").getBody(),
+                StandardCharsets.UTF_8), "0123456789ABCDEF");
+    }
+
+    private static byte[] body(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,86 @@
+package com.automationexercise.utils;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Interface stubs for unit tests, answering calls by method name.
+ * {@code equals}/{@code hashCode} use identity, so stubs work as map keys; other unanswered methods
+ * return null, or throw {@link UnsupportedOperationException} for {@link Builder#strict()} stubs.
+ */
+public final class Stubs {
+
+    private Stubs() {
+    }
+
+    /**
+     * Computes the result of a stubbed call from its arguments.
+     */
+    @FunctionalInterface
+    public interface Answer {
+        Object answer(Object[] args) throws Throwable;
+    }
+
+    /**
+     * Starts a stub of {@code type}, also implementing the extra interfaces (e.g. {@code TakesScreenshot}).
+     */
+    public static <T> Builder<T> of(Class<T> type, Class<?>... extraInterfaces) {
+        return new Builder<>(type, extraInterfaces);
+    }
+
+    public static final class Builder<T> {
+        private final Class<T> type;
+        private final Class<?>[] interfaces;
+        private final Map<String, Answer> answers = new HashMap<>();
+        private boolean strict;
+
+        private Builder(Class<T> type, Class<?>[] extraInterfaces) {
+            this.type = type;
+            this.interfaces = new Class<?>[extraInterfaces.length + 1];
+            this.interfaces[0] = type;
+            System.arraycopy(extraInterfaces, 0, interfaces, 1, extraInterfaces.length);
+        }
+
+        public Builder<T> returns(String method, Object value) {
+            return answer(method, args -> value);
+        }
+
+        public Builder<T> answer(String method, Answer answer) {
+            answers.put(method, answer);
+            return this;
+        }
+
+        /**
+         * Makes calls to methods without an answer fail instead of returning null.
+         */
+        public Builder<T> strict() {
+            strict = true;
+            return this;
+        }
+
+        public T build() {
+            Map<String, Answer> stubbed = new HashMap<>(answers);
+            boolean failUnanswered = strict;
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), interfaces, (proxy, method, args) -> {
+                Answer answer = stubbed.get(method.getName());
+                if (answer != null) {
+                    return answer.answer(args);
+                }
+                switch (method.getName()) {
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    case "toString":
+                        return "stub " + type.getSimpleName();
+                    default:
+                        if (failUnanswered) {
+                            throw new UnsupportedOperationException(method.getName());
+                        }
+                        return null;
+                }
+            }));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.automationexercise.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Tests for buffering test log output with {@link TestLogAppender} (configured in logback.xml)
+ */
+public class TestLogAppenderTest {
+    private static final Logger logger = LoggerFactory.getLogger(TestLogAppenderTest.class);
+
+    @AfterMethod(alwaysRun = true)
+    public void clearTestLog() {
+        TestLogAppender.discard();
+        MDC.remove(TestLogAppender.MDC_KEY);
+    }
+
+    @Test
+    public void testFailedTestLogIsWrittenWithLatestEvents() throws IOException {
+        MDC.put(TestLogAppender.MDC_KEY, "CartTest.testAddToCart");
+        for (int i = 0; i < 510; i++) {
+            logger.debug("Clicked element: {}", i);
+        }
+
+        Path dir = Files.createTempDirectory("logs");
+        Path file = TestLogAppender.flush(dir, "CartTest.testAddToCart");
+        try {
+            Assert.assertNotNull(file);
+            List<String> lines = Files.readAllLines(file);
+            Assert.assertEquals(lines.get(0), "... 10 earlier events dropped");
+            Assert.assertTrue(lines.get(1).endsWith("Clicked element: 10"), lines.get(1));
+            Assert.assertTrue(lines.get(lines.size() - 1).endsWith("Clicked element: 509"));
+            Assert.assertNull(TestLogAppender.flush(dir, "CartTest.testAddToCart"), "flush should clear the buffer");
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    public void testPassedTestLogIsDiscarded() throws IOException {
+        MDC.put(TestLogAppender.MDC_KEY, "CartTest.testAddToCart");
+        logger.debug("Sent keys '{}' to element: {}", "shirt", "searchInput");
+        TestLogAppender.discard();
+
+        Assert.assertNull(TestLogAppender.flush(Files.createTempDirectory("logs"), "CartTest.testAddToCart"));
+    }
+
+    @Test
+    public void testDebugOutsideTestsIsNotBuffered() throws IOException {
+        logger.debug("Initialized page: {}", "HomePage");
+
+        Assert.assertFalse(logger.isDebugEnabled(), "debug should be off outside a test");
+        Assert.assertNull(TestLogAppender.flush(Files.createTempDirectory("logs"), "none"));
+    }
+}